@@ -0,0 +1,138 @@
+package org.heigvd.analysis;
+
+import org.heigvd.entity.workout.IntensityZone;
+import org.heigvd.entity.workout.data_point.SampleSeries;
+import org.heigvd.entity.workout.details.WorkoutPlan;
+import org.heigvd.entity.workout.details.WorkoutPlanDetails;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compare la fréquence cardiaque enregistrée au plan d'un workout, bloc par bloc.
+ *
+ * Le plan est déroulé dans l'ordre ({@code blocId}, répétition, {@code blocDetailId}) en segments
+ * consécutifs à partir du début du workout. La série BPM est ensuite parcourue une seule fois :
+ * chaque échantillon est attribué au segment qui le contient et compte pour le temps qui le sépare
+ * de l'échantillon suivant (borné par {@link #MAX_SAMPLE_GAP_MS} pour ne pas compter les trous
+ * d'enregistrement).
+ */
+public final class BlockPerformanceEngine {
+
+    /** Durée maximale attribuée à un seul échantillon. */
+    public static final long MAX_SAMPLE_GAP_MS = 5_000;
+
+    private static final long DEFAULT_SAMPLE_MS = 1_000;
+
+    private BlockPerformanceEngine() {}
+
+    /**
+     * Résultat d'un segment du plan (un détail d'une répétition d'un bloc).
+     * Les valeurs BPM sont NaN si aucun échantillon ne tombe dans le segment.
+     */
+    public record BlockPerformance(int blocId, int repetition, int blocDetailId, IntensityZone intensityZone,
+                                   int startOffsetSec, int plannedDurationSec,
+                                   int plannedBpmMin, int plannedBpmMax,
+                                   int sampleCount, double meanBpm, double minBpm, double maxBpm,
+                                   int timeInZoneSec) {
+
+        /** Part de la durée planifiée passée dans la zone cible, entre 0 et 1. */
+        public double compliance() {
+            if (plannedDurationSec <= 0) {
+                return 0;
+            }
+            return Math.min(1.0, (double) timeInZoneSec / plannedDurationSec);
+        }
+    }
+
+    /**
+     * Analyse un workout.
+     * @param bpm série BPM enregistrée
+     * @param startMs début du workout (epoch-millis), aligné sur le début du premier bloc
+     * @param plans blocs planifiés
+     * @param fcMax fréquence cardiaque maximale de l'athlète
+     * @return un résultat par segment du plan, dans l'ordre chronologique
+     */
+    public static List<BlockPerformance> analyze(SampleSeries bpm, long startMs, List<WorkoutPlan> plans, int fcMax) {
+        List<BlockPerformance> results = new ArrayList<>();
+        if (plans == null || plans.isEmpty()) {
+            return results;
+        }
+
+        List<WorkoutPlan> orderedPlans = plans.stream()
+                .sorted(Comparator.comparingInt(WorkoutPlan::getBlocId))
+                .toList();
+
+        int n = bpm.size();
+        int i = bpm.lowerBound(startMs);
+        int offsetSec = 0;
+
+        for (WorkoutPlan plan : orderedPlans) {
+            List<WorkoutPlanDetails> details = plan.getDetails().stream()
+                    .sorted(Comparator.comparingInt(WorkoutPlanDetails::getBlocDetailId))
+                    .toList();
+
+            for (int repetition = 1; repetition <= Math.max(1, plan.getRepetitionCount()); repetition++) {
+                for (WorkoutPlanDetails detail : details) {
+                    IntensityZone zone = detail.getIntensityZone();
+                    int bpmMin = (int) Math.floor(fcMax * zone.getMinHr());
+                    int bpmMax = (int) Math.floor(fcMax * zone.getMaxHr());
+                    long endMs = startMs + (offsetSec + (long) detail.getDurationSec()) * 1000;
+
+                    int count = 0;
+                    double sum = 0;
+                    double min = Double.POSITIVE_INFINITY;
+                    double max = Double.NEGATIVE_INFINITY;
+                    long inZoneMs = 0;
+
+                    for (; i < n && bpm.epochMillis(i) < endMs; i++) {
+                        double value = bpm.value(i);
+                        if (Double.isNaN(value)) continue;
+
+                        long t = bpm.epochMillis(i);
+                        long next = i + 1 < n ? bpm.epochMillis(i + 1) : t + DEFAULT_SAMPLE_MS;
+                        long dt = Math.min(Math.min(next - t, MAX_SAMPLE_GAP_MS), endMs - t);
+
+                        count++;
+                        sum += value;
+                        min = Math.min(min, value);
+                        max = Math.max(max, value);
+                        if (value >= bpmMin && value <= bpmMax) {
+                            inZoneMs += dt;
+                        }
+                    }
+
+                    results.add(new BlockPerformance(plan.getBlocId(), repetition, detail.getBlocDetailId(), zone,
+                            offsetSec, detail.getDurationSec(), bpmMin, bpmMax, count,
+                            count > 0 ? sum / count : Double.NaN,
+                            count > 0 ? min : Double.NaN,
+                            count > 0 ? max : Double.NaN,
+                            (int) (inZoneMs / 1000)));
+
+                    offsetSec += detail.getDurationSec();
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Note globale sur 10 : moyenne de la conformité des segments pondérée par leur durée planifiée.
+     * @param results résultats de {@link #analyze}
+     * @return note arrondie au dixième, null si le plan est vide
+     */
+    public static Double grade(List<BlockPerformance> results) {
+        long plannedSec = 0;
+        double weighted = 0;
+        for (BlockPerformance result : results) {
+            plannedSec += result.plannedDurationSec();
+            weighted += result.compliance() * result.plannedDurationSec();
+        }
+        if (plannedSec == 0) {
+            return null;
+        }
+        return Math.round(weighted / plannedSec * 100) / 10.0;
+    }
+}
@@ -0,0 +1,11 @@
+package org.heigvd.analysis;
+
+/**
+ * Algorithme de sous-échantillonnage d'une série (voir {@link Downsampler}).
+ */
+public enum DownsampleMode {
+    /** Largest-Triangle-Three-Buckets : préserve la forme de la courbe. */
+    LTTB,
+    /** Minimum et maximum de chaque bucket : préserve les pics. */
+    MINMAX
+}
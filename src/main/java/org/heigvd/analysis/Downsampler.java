@@ -0,0 +1,156 @@
+package org.heigvd.analysis;
+
+import org.heigvd.entity.workout.data_point.SampleSeries;
+
+import java.util.Arrays;
+
+/**
+ * Réduction du nombre de points d'une série pour l'affichage en graphique.
+ *
+ * Deux algorithmes sont proposés :
+ * <ul>
+ *     <li>LTTB (Largest-Triangle-Three-Buckets) : garde dans chaque bucket le point qui forme le plus
+ *     grand triangle avec le point retenu précédent et la moyenne du bucket suivant, ce qui préserve
+ *     bien la forme visuelle de la courbe ;</li>
+ *     <li>min/max par bucket : garde le minimum et le maximum de chaque bucket, utile quand les pics
+ *     doivent apparaître exactement.</li>
+ * </ul>
+ *
+ * Les échantillons sans valeur (NaN) sont ignorés. Si la série a déjà au plus le nombre de points
+ * demandé, elle est renvoyée sans les échantillons NaN.
+ */
+public final class Downsampler {
+
+    private Downsampler() {}
+
+    /**
+     * Sous-échantillonnage LTTB.
+     * @param series série triée par timestamp
+     * @param threshold nombre de points voulu (au moins 3)
+     * @return nouvelle série d'au plus {@code threshold} points
+     */
+    public static SampleSeries lttb(SampleSeries series, int threshold) {
+        if (threshold < 3) {
+            throw new IllegalArgumentException("LTTB needs at least 3 points, got " + threshold);
+        }
+
+        long[] x = series.toEpochMillisArray();
+        double[] y = series.toValueArray();
+        int n = compactNaN(x, y);
+        if (n <= threshold) {
+            return SampleSeries.of(Arrays.copyOf(x, n), Arrays.copyOf(y, n));
+        }
+
+        long[] outX = new long[threshold];
+        double[] outY = new double[threshold];
+        outX[0] = x[0];
+        outY[0] = y[0];
+
+        // Les points intermédiaires sont répartis dans threshold - 2 buckets de taille égale
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int selected = 0;
+
+        for (int b = 0; b < threshold - 2; b++) {
+            int bucketStart = (int) (b * bucketSize) + 1;
+            int bucketEnd = (int) ((b + 1) * bucketSize) + 1;
+
+            // Moyenne du bucket suivant (le dernier point pour le dernier bucket)
+            int nextStart = bucketEnd;
+            int nextEnd = Math.min((int) ((b + 2) * bucketSize) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x[i] - x[0];
+                avgY += y[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            // Les abscisses sont relatives au premier point pour garder de la précision en double
+            double ax = x[selected] - x[0];
+            double ay = y[selected];
+            double maxArea = -1;
+            int maxIndex = bucketStart;
+            for (int i = bucketStart; i < bucketEnd; i++) {
+                double area = Math.abs((ax - avgX) * (y[i] - ay) - (ax - (x[i] - x[0])) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+
+            outX[b + 1] = x[maxIndex];
+            outY[b + 1] = y[maxIndex];
+            selected = maxIndex;
+        }
+
+        outX[threshold - 1] = x[n - 1];
+        outY[threshold - 1] = y[n - 1];
+        return SampleSeries.of(outX, outY);
+    }
+
+    /**
+     * Sous-échantillonnage min/max : la série est découpée en {@code points / 2} buckets de même
+     * nombre d'échantillons, et le minimum et le maximum de chaque bucket sont gardés dans l'ordre
+     * chronologique.
+     * @param series série triée par timestamp
+     * @param points nombre de points voulu (au moins 2)
+     * @return nouvelle série d'au plus {@code points} points
+     */
+    public static SampleSeries minMax(SampleSeries series, int points) {
+        if (points < 2) {
+            throw new IllegalArgumentException("Min/max downsampling needs at least 2 points, got " + points);
+        }
+
+        long[] x = series.toEpochMillisArray();
+        double[] y = series.toValueArray();
+        int n = compactNaN(x, y);
+        if (n <= points) {
+            return SampleSeries.of(Arrays.copyOf(x, n), Arrays.copyOf(y, n));
+        }
+
+        int buckets = points / 2;
+        long[] outX = new long[buckets * 2];
+        double[] outY = new double[buckets * 2];
+        int size = 0;
+
+        for (int b = 0; b < buckets; b++) {
+            int start = (int) ((long) b * n / buckets);
+            int end = (int) ((long) (b + 1) * n / buckets);
+            int min = start;
+            int max = start;
+            for (int i = start + 1; i < end; i++) {
+                if (y[i] < y[min]) min = i;
+                if (y[i] > y[max]) max = i;
+            }
+
+            int first = Math.min(min, max);
+            int second = Math.max(min, max);
+            outX[size] = x[first];
+            outY[size++] = y[first];
+            if (second != first) {
+                outX[size] = x[second];
+                outY[size++] = y[second];
+            }
+        }
+
+        return SampleSeries.of(Arrays.copyOf(outX, size), Arrays.copyOf(outY, size));
+    }
+
+    /**
+     * Retire les échantillons NaN en place.
+     * @return nombre d'échantillons restants (au début des tableaux)
+     */
+    private static int compactNaN(long[] x, double[] y) {
+        int n = 0;
+        for (int i = 0; i < y.length; i++) {
+            if (!Double.isNaN(y[i])) {
+                x[n] = x[i];
+                y[n] = y[i];
+                n++;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,87 @@
+package org.heigvd.analysis;
+
+import org.heigvd.entity.workout.data_point.SampleSeries;
+
+/**
+ * Charge d'entraînement calculée à partir de la fréquence cardiaque.
+ *
+ * La charge d'une séance est le TRIMP d'Edwards : les minutes passées dans chaque tranche de 10 %
+ * de la FC max, à partir de 50 %, pondérées de 1 à 5. La charge aiguë (ATL) et chronique (CTL)
+ * sont des moyennes mobiles exponentielles de la charge quotidienne sur 7 et 42 jours, et la
+ * forme (TSB) est la différence CTL - ATL de la veille.
+ */
+public final class TrainingLoad {
+
+    public static final int ATL_DAYS = 7;
+    public static final int CTL_DAYS = 42;
+
+    private static final long DEFAULT_SAMPLE_MS = 1_000;
+
+    private TrainingLoad() {}
+
+    /**
+     * TRIMP d'Edwards d'une série BPM.
+     * @param bpm série BPM
+     * @param fcMax fréquence cardiaque maximale de l'athlète
+     * @return charge de la séance (0 si la série est vide)
+     */
+    public static double edwardsTrimp(SampleSeries bpm, int fcMax) {
+        if (fcMax <= 0) {
+            return 0;
+        }
+        double weightedMs = 0;
+        int n = bpm.size();
+        for (int i = 0; i < n; i++) {
+            double value = bpm.value(i);
+            if (Double.isNaN(value)) continue;
+
+            long t = bpm.epochMillis(i);
+            long next = i + 1 < n ? bpm.epochMillis(i + 1) : t + DEFAULT_SAMPLE_MS;
+            long dt = Math.min(next - t, BlockPerformanceEngine.MAX_SAMPLE_GAP_MS);
+
+            weightedMs += edwardsWeight(value / fcMax) * dt;
+        }
+        return weightedMs / 60_000.0;
+    }
+
+    /**
+     * Poids d'Edwards d'un pourcentage de FC max (0 sous 50 %, puis 1 à 5 par tranche de 10 %).
+     */
+    public static int edwardsWeight(double fractionOfMax) {
+        if (fractionOfMax < 0.5) {
+            return 0;
+        }
+        return Math.min(5, (int) Math.floor((fractionOfMax - 0.5) * 10) + 1);
+    }
+
+    /**
+     * État des moyennes mobiles à la fin d'un jour.
+     */
+    public record State(double atl, double ctl) {
+
+        public static final State ZERO = new State(0, 0);
+
+        /**
+         * Fait vieillir l'état de {@code days} jours sans entraînement.
+         */
+        public State decay(long days) {
+            if (days <= 0) {
+                return this;
+            }
+            return new State(
+                    atl * Math.pow(1 - 1.0 / ATL_DAYS, days),
+                    ctl * Math.pow(1 - 1.0 / CTL_DAYS, days));
+        }
+
+        /**
+         * Ajoute un jour de charge {@code load}.
+         */
+        public State next(double load) {
+            return new State(
+                    atl + (load - atl) / ATL_DAYS,
+                    ctl + (load - ctl) / CTL_DAYS);
+        }
+
+        public double tsb() { return ctl - atl; }
+    }
+}
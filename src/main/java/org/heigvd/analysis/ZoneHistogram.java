@@ -0,0 +1,104 @@
+package org.heigvd.analysis;
+
+import org.heigvd.entity.workout.IntensityZone;
+import org.heigvd.entity.workout.data_point.SampleSeries;
+
+/**
+ * Temps passé dans chaque {@link IntensityZone} par une série BPM.
+ *
+ * La zone d'un échantillon est la plus haute dont la borne basse ({@code fcMax * getMinHr()}) est
+ * atteinte : les zones sont contiguës et la dernière n'a pas de borne haute. Les échantillons sous
+ * la première zone ou sans valeur ne sont comptés dans aucune zone. Chaque échantillon compte pour
+ * le temps jusqu'au suivant, borné par {@link BlockPerformanceEngine#MAX_SAMPLE_GAP_MS}.
+ *
+ * Le calcul se fait en une passe. Il utilise l'API Vector (SIMD) quand le module
+ * {@code jdk.incubator.vector} est chargé ({@code --add-modules jdk.incubator.vector}), sinon une
+ * boucle scalaire équivalente.
+ */
+public final class ZoneHistogram {
+
+    static final long DEFAULT_SAMPLE_MS = 1_000;
+
+    private static final boolean VECTOR_ENABLED =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+                    && !Boolean.getBoolean("ferum.vector.disabled");
+
+    private ZoneHistogram() {}
+
+    /**
+     * Indique si le noyau SIMD est utilisé.
+     */
+    public static boolean isVectorized() {
+        return VECTOR_ENABLED;
+    }
+
+    /**
+     * Bornes basses des zones en BPM, dans l'ordre de {@link IntensityZone#values()}.
+     */
+    public static double[] lowerBounds(int fcMax) {
+        IntensityZone[] zones = IntensityZone.values();
+        double[] bounds = new double[zones.length];
+        for (int z = 0; z < zones.length; z++) {
+            bounds[z] = fcMax * zones[z].getMinHr();
+        }
+        return bounds;
+    }
+
+    /**
+     * Temps passé dans chaque zone par une série.
+     * @param bpm série BPM
+     * @param fcMax fréquence cardiaque maximale de l'athlète
+     * @return millisecondes par zone, dans l'ordre de {@link IntensityZone#values()}
+     */
+    public static long[] timeInZones(SampleSeries bpm, int fcMax) {
+        return timeInZones(bpm.toEpochMillisArray(), bpm.toValueArray(), 0, bpm.size(), lowerBounds(fcMax));
+    }
+
+    /**
+     * Temps passé dans chaque zone par les échantillons {@code [from, to)} de tableaux parallèles
+     * triés par timestamp.
+     * @param epochMillis timestamps
+     * @param bpm valeurs (NaN si absente)
+     * @param from premier échantillon (inclus)
+     * @param to dernier échantillon (exclu)
+     * @param lowerBounds bornes basses croissantes des zones
+     * @return millisecondes par zone
+     */
+    public static long[] timeInZones(long[] epochMillis, double[] bpm, int from, int to, double[] lowerBounds) {
+        return VECTOR_ENABLED
+                ? ZoneHistogramVector.timeInZones(epochMillis, bpm, from, to, lowerBounds)
+                : timeInZonesScalar(epochMillis, bpm, from, to, lowerBounds);
+    }
+
+    /**
+     * Version scalaire, utilisée quand l'API Vector n'est pas disponible et pour la fin des tableaux
+     * qui ne remplit pas un vecteur complet.
+     */
+    public static long[] timeInZonesScalar(long[] epochMillis, double[] bpm, int from, int to, double[] lowerBounds) {
+        long[] result = new long[lowerBounds.length];
+        accumulateScalar(epochMillis, bpm, from, to, to, lowerBounds, result);
+        return result;
+    }
+
+    /**
+     * Ajoute à {@code result} le temps des échantillons {@code [from, to)} ; {@code end} est la fin de
+     * la série, pour savoir si le dernier échantillon a un successeur.
+     */
+    static void accumulateScalar(long[] epochMillis, double[] bpm, int from, int to, int end,
+                                 double[] lowerBounds, long[] result) {
+        int zones = lowerBounds.length;
+        for (int i = from; i < to; i++) {
+            double value = bpm[i];
+            if (!(value >= lowerBounds[0])) continue;
+
+            long dt = i + 1 < end ? epochMillis[i + 1] - epochMillis[i] : DEFAULT_SAMPLE_MS;
+            dt = Math.min(dt, BlockPerformanceEngine.MAX_SAMPLE_GAP_MS);
+
+            int zone = zones - 1;
+            while (value < lowerBounds[zone]) {
+                zone--;
+            }
+            result[zone] += dt;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.heigvd.analysis;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Noyau SIMD de {@link ZoneHistogram}. Cette classe n'est chargée que si le module
+ * {@code jdk.incubator.vector} est présent.
+ */
+final class ZoneHistogramVector {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    private ZoneHistogramVector() {}
+
+    static long[] timeInZones(long[] epochMillis, double[] bpm, int from, int to, double[] lowerBounds) {
+        int zones = lowerBounds.length;
+        long[] result = new long[zones];
+        if (LONGS.length() != DOUBLES.length()) {
+            ZoneHistogram.accumulateScalar(epochMillis, bpm, from, to, to, lowerBounds, result);
+            return result;
+        }
+
+        int lanes = DOUBLES.length();
+        LongVector maxGap = LongVector.broadcast(LONGS, BlockPerformanceEngine.MAX_SAMPLE_GAP_MS);
+        LongVector[] sums = new LongVector[zones];
+        DoubleVector[] bounds = new DoubleVector[zones];
+        for (int z = 0; z < zones; z++) {
+            sums[z] = LongVector.zero(LONGS);
+            bounds[z] = DoubleVector.broadcast(DOUBLES, lowerBounds[z]);
+        }
+
+        // Chaque vecteur lit aussi le timestamp suivant : le dernier échantillon est traité en scalaire
+        int i = from;
+        int upper = from + Math.max(0, (to - 1 - from) / lanes * lanes);
+        for (; i < upper; i += lanes) {
+            DoubleVector values = DoubleVector.fromArray(DOUBLES, bpm, i);
+            LongVector t = LongVector.fromArray(LONGS, epochMillis, i);
+            LongVector next = LongVector.fromArray(LONGS, epochMillis, i + 1);
+            LongVector dt = next.sub(t).min(maxGap);
+
+            // Un échantillon est dans la zone z si value >= borne(z) et value < borne(z + 1) ; NaN n'est dans aucune
+            VectorMask<Long> above = values.compare(VectorOperators.GE, bounds[0]).cast(LONGS);
+            for (int z = 0; z < zones; z++) {
+                VectorMask<Long> nextAbove = z + 1 < zones
+                        ? values.compare(VectorOperators.GE, bounds[z + 1]).cast(LONGS)
+                        : LONGS.maskAll(false);
+                sums[z] = sums[z].add(dt, above.andNot(nextAbove));
+                above = nextAbove;
+            }
+        }
+
+        for (int z = 0; z < zones; z++) {
+            result[z] = sums[z].reduceLanes(VectorOperators.ADD);
+        }
+        ZoneHistogram.accumulateScalar(epochMillis, bpm, i, to, to, lowerBounds, result);
+        return result;
+    }
+}
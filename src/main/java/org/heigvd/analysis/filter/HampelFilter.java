@@ -0,0 +1,115 @@
+package org.heigvd.analysis.filter;
+
+import java.util.Arrays;
+
+/**
+ * Filtre de Hampel : un échantillon qui s'écarte de la médiane de la fenêtre centrée de
+ * {@code 2 * halfWindow + 1} échantillons de plus de {@code threshold} écarts-types estimés
+ * (MAD * 1.4826, au moins {@code minDeviation}) est remplacé par cette médiane.
+ *
+ * La fenêtre est un tampon circulaire de taille fixe : chaque échantillon est émis avec
+ * {@code halfWindow} échantillons de retard, et le coût par échantillon ne dépend que de la taille
+ * de la fenêtre. Au début et à la fin d'une série, les échantillons sont jugés sur la première
+ * (resp. dernière) fenêtre disponible. Les NaN sont transmis tels quels et ignorés dans les
+ * statistiques.
+ */
+public final class HampelFilter implements SampleFilter {
+
+    private static final double MAD_SCALE = 1.4826;
+    private static final int MIN_VALID_SAMPLES = 3;
+
+    private final int halfWindow;
+    private final double threshold;
+    private final double minDeviation;
+
+    private final long[] epochMillis;
+    private final double[] values;
+    private final double[] scratch;
+
+    /** Indice du plus ancien échantillon de la fenêtre. */
+    private int start;
+    private int size;
+    /** Nombre d'échantillons les plus récents de la fenêtre pas encore émis. */
+    private int pending;
+
+    public HampelFilter(int halfWindow, double threshold, double minDeviation) {
+        if (halfWindow < 1) {
+            throw new IllegalArgumentException("Hampel half window must be at least 1, got " + halfWindow);
+        }
+        this.halfWindow = halfWindow;
+        this.threshold = threshold;
+        this.minDeviation = minDeviation;
+        int window = 2 * halfWindow + 1;
+        this.epochMillis = new long[window];
+        this.values = new double[window];
+        this.scratch = new double[window];
+    }
+
+    @Override
+    public void accept(long epochMs, double value, SampleSink out) {
+        int window = values.length;
+        if (size == window) {
+            // Le plus ancien a déjà été émis : seuls les halfWindow derniers sont en attente
+            start = (start + 1) % window;
+            size--;
+        }
+        int index = (start + size) % window;
+        epochMillis[index] = epochMs;
+        values[index] = value;
+        size++;
+        pending++;
+
+        if (size == window) {
+            emit(halfWindow, out);
+        }
+    }
+
+    @Override
+    public void flush(SampleSink out) {
+        emit(0, out);
+        start = 0;
+        size = 0;
+    }
+
+    /**
+     * Émet les échantillons en attente jusqu'à n'en garder que {@code keep}, jugés sur la fenêtre
+     * courante.
+     */
+    private void emit(int keep, SampleSink out) {
+        if (pending <= keep) {
+            return;
+        }
+
+        int window = values.length;
+        int valid = 0;
+        for (int i = 0; i < size; i++) {
+            double value = values[(start + i) % window];
+            if (!Double.isNaN(value)) {
+                scratch[valid++] = value;
+            }
+        }
+
+        double median = Double.NaN;
+        double limit = Double.POSITIVE_INFINITY;
+        if (valid >= MIN_VALID_SAMPLES) {
+            median = median(scratch, valid);
+            for (int i = 0; i < valid; i++) {
+                scratch[i] = Math.abs(scratch[i] - median);
+            }
+            limit = Math.max(threshold * MAD_SCALE * median(scratch, valid), minDeviation);
+        }
+
+        while (pending > keep) {
+            int index = (start + size - pending) % window;
+            double value = values[index];
+            out.add(epochMillis[index], Math.abs(value - median) > limit ? median : value);
+            pending--;
+        }
+    }
+
+    private static double median(double[] data, int length) {
+        Arrays.sort(data, 0, length);
+        int middle = length / 2;
+        return length % 2 == 1 ? data[middle] : (data[middle - 1] + data[middle]) / 2;
+    }
+}
@@ -0,0 +1,52 @@
+package org.heigvd.analysis.filter;
+
+/**
+ * Rejette (NaN) un échantillon qui s'écarte du dernier échantillon accepté de plus de
+ * {@code maxDeltaPerSec} par seconde écoulée (au moins une seconde).
+ *
+ * Après {@link #MAX_CONSECUTIVE_REJECTS} rejets consécutifs, le niveau est considéré comme réel
+ * (le capteur s'est recalé, ou le premier échantillon était lui-même aberrant) et l'échantillon
+ * courant devient la nouvelle référence.
+ */
+public final class MaxDeltaFilter implements SampleFilter {
+
+    static final int MAX_CONSECUTIVE_REJECTS = 5;
+
+    private final double maxDeltaPerSec;
+
+    private long lastEpochMs;
+    private double lastValue = Double.NaN;
+    private int rejects;
+
+    public MaxDeltaFilter(double maxDeltaPerSec) {
+        this.maxDeltaPerSec = maxDeltaPerSec;
+    }
+
+    @Override
+    public void accept(long epochMs, double value, SampleSink out) {
+        if (Double.isNaN(value)) {
+            out.add(epochMs, value);
+            return;
+        }
+
+        if (!Double.isNaN(lastValue) && rejects < MAX_CONSECUTIVE_REJECTS) {
+            double seconds = Math.max(epochMs - lastEpochMs, 1_000) / 1000.0;
+            if (Math.abs(value - lastValue) > maxDeltaPerSec * seconds) {
+                rejects++;
+                out.add(epochMs, Double.NaN);
+                return;
+            }
+        }
+
+        lastEpochMs = epochMs;
+        lastValue = value;
+        rejects = 0;
+        out.add(epochMs, value);
+    }
+
+    @Override
+    public void flush(SampleSink out) {
+        lastValue = Double.NaN;
+        rejects = 0;
+    }
+}
@@ -0,0 +1,21 @@
+package org.heigvd.analysis.filter;
+
+/**
+ * Remplace par NaN les valeurs hors d'une plage plausible (décrochages du capteur à 0, valeurs
+ * aberrantes).
+ */
+public final class RangeFilter implements SampleFilter {
+
+    private final double min;
+    private final double max;
+
+    public RangeFilter(double min, double max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    public void accept(long epochMs, double value, SampleSink out) {
+        out.add(epochMs, value >= min && value <= max ? value : Double.NaN);
+    }
+}
@@ -0,0 +1,19 @@
+package org.heigvd.analysis.filter;
+
+/**
+ * Étape de filtrage en streaming d'une série d'échantillons.
+ *
+ * Une étape reçoit les échantillons un par un et les transmet (éventuellement corrigés ou
+ * remplacés par NaN) à la sortie, dans le même ordre. Elle peut retarder l'émission d'un nombre
+ * borné d'échantillons (fenêtre centrée) : {@link #flush} émet ceux qui restent et remet l'étape
+ * dans son état initial.
+ */
+public interface SampleFilter {
+
+    void accept(long epochMs, double value, SampleSink out);
+
+    /**
+     * Émet les échantillons retenus et oublie l'état courant (fin de série ou trou d'enregistrement).
+     */
+    default void flush(SampleSink out) {}
+}
@@ -0,0 +1,61 @@
+package org.heigvd.analysis.filter;
+
+import java.util.List;
+
+/**
+ * Enchaînement d'étapes de filtrage appliqué au fil de l'ingestion.
+ *
+ * La chaîne détecte aussi les trous d'enregistrement : quand deux échantillons successifs sont
+ * séparés de plus de {@code maxGapMs}, toutes les étapes sont vidées avant de recevoir le nouvel
+ * échantillon, pour qu'aucune fenêtre ni référence ne soit partagée de part et d'autre du trou.
+ * {@link #finish()} doit être appelé après le dernier échantillon.
+ */
+public final class SampleFilterChain implements SampleSink {
+
+    private final SampleFilter[] stages;
+    /** {@code sinks[i]} reçoit la sortie de {@code stages[i]}. */
+    private final SampleSink[] sinks;
+    private final SampleSink head;
+    private final long maxGapMs;
+
+    private long lastEpochMs = Long.MIN_VALUE;
+
+    public SampleFilterChain(List<SampleFilter> stages, long maxGapMs, SampleSink out) {
+        this.stages = stages.toArray(SampleFilter[]::new);
+        this.sinks = new SampleSink[this.stages.length];
+        this.maxGapMs = maxGapMs;
+
+        SampleSink next = out;
+        for (int i = this.stages.length - 1; i >= 0; i--) {
+            sinks[i] = next;
+            SampleFilter stage = this.stages[i];
+            SampleSink stageOut = next;
+            next = (epochMs, value) -> stage.accept(epochMs, value, stageOut);
+        }
+        this.head = next;
+    }
+
+    @Override
+    public void add(long epochMs, double value) {
+        if (lastEpochMs != Long.MIN_VALUE && epochMs - lastEpochMs > maxGapMs) {
+            flushStages();
+        }
+        lastEpochMs = epochMs;
+        head.add(epochMs, value);
+    }
+
+    /**
+     * Émet les échantillons encore retenus par les étapes.
+     */
+    public void finish() {
+        flushStages();
+        lastEpochMs = Long.MIN_VALUE;
+    }
+
+    private void flushStages() {
+        // Dans l'ordre : ce qu'une étape émet en se vidant passe encore par les suivantes
+        for (int i = 0; i < stages.length; i++) {
+            stages[i].flush(sinks[i]);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.heigvd.analysis.filter;
+
+/**
+ * Destination d'une série d'échantillons (timestamp epoch-millis, valeur ou NaN), reçus dans
+ * l'ordre chronologique.
+ */
+@FunctionalInterface
+public interface SampleSink {
+
+    void add(long epochMs, double value);
+}
@@ -0,0 +1,32 @@
+package org.heigvd.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class FitnessLevelDto {
+
+    private UUID id;
+    private LocalDate date;
+    private Integer fitnessLevel;
+
+    // CONSTRUCTORS ----------------------
+
+    public FitnessLevelDto() {}
+
+    public FitnessLevelDto(UUID id, LocalDate date, Integer fitnessLevel) {
+        this.id = id;
+        this.date = date;
+        this.fitnessLevel = fitnessLevel;
+    }
+
+    // GETTERS & SETTERS ----------------------
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public Integer getFitnessLevel() { return fitnessLevel; }
+    public void setFitnessLevel(Integer fitnessLevel) { this.fitnessLevel = fitnessLevel; }
+}
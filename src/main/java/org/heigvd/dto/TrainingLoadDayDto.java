@@ -0,0 +1,41 @@
+package org.heigvd.dto;
+
+import java.time.LocalDate;
+
+public class TrainingLoadDayDto {
+
+    private LocalDate day;
+    private double load;
+    private double atl;
+    private double ctl;
+    private double tsb;
+
+    // CONSTRUCTORS ----------------------
+
+    public TrainingLoadDayDto() {}
+
+    public TrainingLoadDayDto(LocalDate day, double load, double atl, double ctl, double tsb) {
+        this.day = day;
+        this.load = load;
+        this.atl = atl;
+        this.ctl = ctl;
+        this.tsb = tsb;
+    }
+
+    // GETTERS & SETTERS ----------------------
+
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public double getLoad() { return load; }
+    public void setLoad(double load) { this.load = load; }
+
+    public double getAtl() { return atl; }
+    public void setAtl(double atl) { this.atl = atl; }
+
+    public double getCtl() { return ctl; }
+    public void setCtl(double ctl) { this.ctl = ctl; }
+
+    public double getTsb() { return tsb; }
+    public void setTsb(double tsb) { this.tsb = tsb; }
+}
@@ -0,0 +1,46 @@
+package org.heigvd.dto.dashboard_dto;
+
+import org.heigvd.dto.AccountDto;
+import org.heigvd.dto.workout_dto.WorkoutLightDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class DashboardDto {
+
+    private AccountDto profile;
+    private LocalDate weekStart;
+    private PlanProgressDto plan;
+    private List<WorkoutLightDto> nextWorkouts;
+    private List<SportTotalsDto> weekTotals;
+
+    // CONSTRUCTORS ----------------------
+
+    public DashboardDto() {}
+
+    public DashboardDto(AccountDto profile, LocalDate weekStart, PlanProgressDto plan,
+                        List<WorkoutLightDto> nextWorkouts, List<SportTotalsDto> weekTotals) {
+        this.profile = profile;
+        this.weekStart = weekStart;
+        this.plan = plan;
+        this.nextWorkouts = nextWorkouts;
+        this.weekTotals = weekTotals;
+    }
+
+    // GETTERS & SETTERS ----------------------
+
+    public AccountDto getProfile() { return profile; }
+    public void setProfile(AccountDto profile) { this.profile = profile; }
+
+    public LocalDate getWeekStart() { return weekStart; }
+    public void setWeekStart(LocalDate weekStart) { this.weekStart = weekStart; }
+
+    public PlanProgressDto getPlan() { return plan; }
+    public void setPlan(PlanProgressDto plan) { this.plan = plan; }
+
+    public List<WorkoutLightDto> getNextWorkouts() { return nextWorkouts; }
+    public void setNextWorkouts(List<WorkoutLightDto> nextWorkouts) { this.nextWorkouts = nextWorkouts; }
+
+    public List<SportTotalsDto> getWeekTotals() { return weekTotals; }
+    public void setWeekTotals(List<SportTotalsDto> weekTotals) { this.weekTotals = weekTotals; }
+}
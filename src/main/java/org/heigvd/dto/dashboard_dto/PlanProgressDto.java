@@ -0,0 +1,54 @@
+package org.heigvd.dto.dashboard_dto;
+
+import org.heigvd.entity.training_plan.TrainingPlanPhase;
+
+import java.util.UUID;
+
+public class PlanProgressDto {
+
+    private UUID planId;
+    private Integer currentWeek;
+    private int totalWeeks;
+    private TrainingPlanPhase phase;
+    private int sessionsThisWeek;
+    private long completedSessions;
+    private int totalSessions;
+
+    // CONSTRUCTORS ----------------------
+
+    public PlanProgressDto() {}
+
+    public PlanProgressDto(UUID planId, Integer currentWeek, int totalWeeks, TrainingPlanPhase phase,
+                           int sessionsThisWeek, long completedSessions, int totalSessions) {
+        this.planId = planId;
+        this.currentWeek = currentWeek;
+        this.totalWeeks = totalWeeks;
+        this.phase = phase;
+        this.sessionsThisWeek = sessionsThisWeek;
+        this.completedSessions = completedSessions;
+        this.totalSessions = totalSessions;
+    }
+
+    // GETTERS & SETTERS ----------------------
+
+    public UUID getPlanId() { return planId; }
+    public void setPlanId(UUID planId) { this.planId = planId; }
+
+    public Integer getCurrentWeek() { return currentWeek; }
+    public void setCurrentWeek(Integer currentWeek) { this.currentWeek = currentWeek; }
+
+    public int getTotalWeeks() { return totalWeeks; }
+    public void setTotalWeeks(int totalWeeks) { this.totalWeeks = totalWeeks; }
+
+    public TrainingPlanPhase getPhase() { return phase; }
+    public void setPhase(TrainingPlanPhase phase) { this.phase = phase; }
+
+    public int getSessionsThisWeek() { return sessionsThisWeek; }
+    public void setSessionsThisWeek(int sessionsThisWeek) { this.sessionsThisWeek = sessionsThisWeek; }
+
+    public long getCompletedSessions() { return completedSessions; }
+    public void setCompletedSessions(long completedSessions) { this.completedSessions = completedSessions; }
+
+    public int getTotalSessions() { return totalSessions; }
+    public void setTotalSessions(int totalSessions) { this.totalSessions = totalSessions; }
+}
@@ -0,0 +1,41 @@
+package org.heigvd.dto.dashboard_dto;
+
+import org.heigvd.entity.Sport;
+
+public class SportTotalsDto {
+
+    private Sport sport;
+    private long workoutCount;
+    private double distanceMeters;
+    private long durationSec;
+    private double load;
+
+    // CONSTRUCTORS ----------------------
+
+    public SportTotalsDto() {}
+
+    public SportTotalsDto(Sport sport, long workoutCount, double distanceMeters, long durationSec, double load) {
+        this.sport = sport;
+        this.workoutCount = workoutCount;
+        this.distanceMeters = distanceMeters;
+        this.durationSec = durationSec;
+        this.load = load;
+    }
+
+    // GETTERS & SETTERS ----------------------
+
+    public Sport getSport() { return sport; }
+    public void setSport(Sport sport) { this.sport = sport; }
+
+    public long getWorkoutCount() { return workoutCount; }
+    public void setWorkoutCount(long workoutCount) { this.workoutCount = workoutCount; }
+
+    public double getDistanceMeters() { return distanceMeters; }
+    public void setDistanceMeters(double distanceMeters) { this.distanceMeters = distanceMeters; }
+
+    public long getDurationSec() { return durationSec; }
+    public void setDurationSec(long durationSec) { this.durationSec = durationSec; }
+
+    public double getLoad() { return load; }
+    public void setLoad(double load) { this.load = load; }
+}
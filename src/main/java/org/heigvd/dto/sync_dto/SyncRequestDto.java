@@ -0,0 +1,19 @@
+package org.heigvd.dto.sync_dto;
+
+public class SyncRequestDto {
+
+    private String token;
+
+    // CONSTRUCTORS ----------------------
+
+    public SyncRequestDto() {}
+
+    public SyncRequestDto(String token) {
+        this.token = token;
+    }
+
+    // GETTERS & SETTERS ----------------------
+
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+}
@@ -0,0 +1,56 @@
+package org.heigvd.dto.sync_dto;
+
+import org.heigvd.dto.FitnessLevelDto;
+import org.heigvd.dto.training_plan_dto.TrainingPlanLightDto;
+import org.heigvd.dto.workout_dto.WorkoutLightDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public class SyncResponseDto {
+
+    private String token;
+    // true : le client remplace ses données locales au lieu d'appliquer un delta
+    private boolean full;
+    private List<WorkoutLightDto> workouts = List.of();
+    private List<UUID> deletedWorkouts = List.of();
+    private TrainingPlanLightDto trainingPlan;
+    private List<UUID> deletedTrainingPlans = List.of();
+    private List<FitnessLevelDto> fitnessLevels = List.of();
+    private List<UUID> deletedFitnessLevels = List.of();
+
+    // CONSTRUCTORS ----------------------
+
+    public SyncResponseDto() {}
+
+    public SyncResponseDto(String token, boolean full) {
+        this.token = token;
+        this.full = full;
+    }
+
+    // GETTERS & SETTERS ----------------------
+
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public boolean isFull() { return full; }
+    public void setFull(boolean full) { this.full = full; }
+
+    public List<WorkoutLightDto> getWorkouts() { return workouts; }
+    public void setWorkouts(List<WorkoutLightDto> workouts) { this.workouts = workouts; }
+
+    public List<UUID> getDeletedWorkouts() { return deletedWorkouts; }
+    public void setDeletedWorkouts(List<UUID> deletedWorkouts) { this.deletedWorkouts = deletedWorkouts; }
+
+    public TrainingPlanLightDto getTrainingPlan() { return trainingPlan; }
+    public void setTrainingPlan(TrainingPlanLightDto trainingPlan) { this.trainingPlan = trainingPlan; }
+
+    public List<UUID> getDeletedTrainingPlans() { return deletedTrainingPlans; }
+    public void setDeletedTrainingPlans(List<UUID> deletedTrainingPlans) { this.deletedTrainingPlans = deletedTrainingPlans; }
+
+    public List<FitnessLevelDto> getFitnessLevels() { return fitnessLevels; }
+    public void setFitnessLevels(List<FitnessLevelDto> fitnessLevels) { this.fitnessLevels = fitnessLevels; }
+
+    public List<UUID> getDeletedFitnessLevels() { return deletedFitnessLevels; }
+    public void setDeletedFitnessLevels(List<UUID> deletedFitnessLevels) { this.deletedFitnessLevels = deletedFitnessLevels; }
+}
@@ -0,0 +1,37 @@
+package org.heigvd.dto.sync_dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position d'un client dans le journal de modifications de son compte : la révision du compte
+ * qu'il a déjà reçue.
+ *
+ * Le client la reçoit sous forme opaque (Base64 URL) dans la réponse de {@code POST /sync} et la
+ * renvoie telle quelle à la synchronisation suivante.
+ */
+public record SyncToken(UUID accountId, long revision) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = accountId + String.valueOf(SEPARATOR) + revision;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un jeton reçu d'un client.
+     * @throws IllegalArgumentException si le jeton est invalide
+     */
+    public static SyncToken decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = raw.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid sync token");
+        }
+        // NumberFormatException est une IllegalArgumentException
+        return new SyncToken(UUID.fromString(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+    }
+}
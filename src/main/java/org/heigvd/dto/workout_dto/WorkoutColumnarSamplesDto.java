@@ -0,0 +1,39 @@
+package org.heigvd.dto.workout_dto;
+
+import org.heigvd.dto.workout_dto.data_point_dto.ColumnarSeriesDto;
+
+import java.util.UUID;
+
+public class WorkoutColumnarSamplesDto {
+
+    public static final int SCHEMA = 2;
+
+    private UUID workoutId;
+    private int schema = SCHEMA;
+    private ColumnarSeriesDto bpmSeries;
+    private ColumnarSeriesDto speedSeries;
+
+    // CONSTRUCTORS ----------------------
+
+    public WorkoutColumnarSamplesDto() {}
+
+    public WorkoutColumnarSamplesDto(UUID workoutId, ColumnarSeriesDto bpmSeries, ColumnarSeriesDto speedSeries) {
+        this.workoutId = workoutId;
+        this.bpmSeries = bpmSeries;
+        this.speedSeries = speedSeries;
+    }
+
+    // GETTERS & SETTERS ----------------------
+
+    public UUID getWorkoutId() { return workoutId; }
+    public void setWorkoutId(UUID workoutId) { this.workoutId = workoutId; }
+
+    public int getSchema() { return schema; }
+    public void setSchema(int schema) { this.schema = schema; }
+
+    public ColumnarSeriesDto getBpmSeries() { return bpmSeries; }
+    public void setBpmSeries(ColumnarSeriesDto bpmSeries) { this.bpmSeries = bpmSeries; }
+
+    public ColumnarSeriesDto getSpeedSeries() { return speedSeries; }
+    public void setSpeedSeries(ColumnarSeriesDto speedSeries) { this.speedSeries = speedSeries; }
+}
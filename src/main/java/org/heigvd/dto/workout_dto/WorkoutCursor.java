@@ -0,0 +1,41 @@
+package org.heigvd.dto.workout_dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position dans une liste de workouts paginée par clé ({@code start_time}, {@code id}).
+ *
+ * Le client la reçoit sous forme opaque (Base64 URL) dans l'en-tête {@code X-Next-Cursor} et la
+ * renvoie telle quelle dans le paramètre {@code cursor} pour obtenir la page suivante.
+ */
+public record WorkoutCursor(OffsetDateTime startTime, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = startTime + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur reçu d'un client.
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    public static WorkoutCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new WorkoutCursor(OffsetDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
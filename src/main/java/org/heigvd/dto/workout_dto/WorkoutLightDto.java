@@ -50,6 +50,23 @@ public class WorkoutLightDto {
         this.start = workout.getStartTime();
     }
 
+    /**
+     * Constructeur utilisé par les projections JPQL ({@code SELECT new ...}) : les colonnes sont lues
+     * directement, sans charger d'entité {@link Workout}.
+     */
+    public WorkoutLightDto(UUID id, Sport sport, WorkoutType type, WorkoutStatus status, int duration,
+                           String source, OffsetDateTime start) {
+        this.id = id;
+        this.sport = sport;
+        this.type = type;
+        this.status = status;
+        this.day = start != null ? start.getDayOfWeek() : null;
+        this.duration = duration;
+        this.week = 0;
+        this.source = source;
+        this.start = start;
+    }
+
     // METHODS --------------------------------
 
     public UUID getId() { return id; }
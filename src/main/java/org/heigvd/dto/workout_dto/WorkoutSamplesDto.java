@@ -0,0 +1,36 @@
+package org.heigvd.dto.workout_dto;
+
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutBPMDataPointDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutSpeedDataPointDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public class WorkoutSamplesDto {
+
+    private UUID workoutId;
+    private List<WorkoutBPMDataPointDto> bpmDataPoints;
+    private List<WorkoutSpeedDataPointDto> speedDataPoints;
+
+    // CONSTRUCTORS ----------------------
+
+    public WorkoutSamplesDto() {}
+
+    public WorkoutSamplesDto(UUID workoutId, List<WorkoutBPMDataPointDto> bpmDataPoints,
+                             List<WorkoutSpeedDataPointDto> speedDataPoints) {
+        this.workoutId = workoutId;
+        this.bpmDataPoints = bpmDataPoints;
+        this.speedDataPoints = speedDataPoints;
+    }
+
+    // GETTERS & SETTERS ----------------------
+
+    public UUID getWorkoutId() { return workoutId; }
+    public void setWorkoutId(UUID workoutId) { this.workoutId = workoutId; }
+
+    public List<WorkoutBPMDataPointDto> getBpmDataPoints() { return bpmDataPoints; }
+    public void setBpmDataPoints(List<WorkoutBPMDataPointDto> bpmDataPoints) { this.bpmDataPoints = bpmDataPoints; }
+
+    public List<WorkoutSpeedDataPointDto> getSpeedDataPoints() { return speedDataPoints; }
+    public void setSpeedDataPoints(List<WorkoutSpeedDataPointDto> speedDataPoints) { this.speedDataPoints = speedDataPoints; }
+}
@@ -0,0 +1,40 @@
+package org.heigvd.dto.workout_dto;
+
+import org.heigvd.dto.workout_dto.data_point_dto.SeriesPointDto;
+import org.heigvd.entity.workout.data_point.SeriesMetric;
+
+import java.util.List;
+import java.util.UUID;
+
+public class WorkoutSeriesDto {
+
+    private UUID workoutId;
+    private SeriesMetric metric;
+    private int rawPoints;
+    private List<SeriesPointDto> points;
+
+    // CONSTRUCTORS ----------------------
+
+    public WorkoutSeriesDto() {}
+
+    public WorkoutSeriesDto(UUID workoutId, SeriesMetric metric, int rawPoints, List<SeriesPointDto> points) {
+        this.workoutId = workoutId;
+        this.metric = metric;
+        this.rawPoints = rawPoints;
+        this.points = points;
+    }
+
+    // GETTERS & SETTERS ----------------------
+
+    public UUID getWorkoutId() { return workoutId; }
+    public void setWorkoutId(UUID workoutId) { this.workoutId = workoutId; }
+
+    public SeriesMetric getMetric() { return metric; }
+    public void setMetric(SeriesMetric metric) { this.metric = metric; }
+
+    public int getRawPoints() { return rawPoints; }
+    public void setRawPoints(int rawPoints) { this.rawPoints = rawPoints; }
+
+    public List<SeriesPointDto> getPoints() { return points; }
+    public void setPoints(List<SeriesPointDto> points) { this.points = points; }
+}
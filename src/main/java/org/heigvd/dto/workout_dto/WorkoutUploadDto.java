@@ -1,8 +1,11 @@
 package org.heigvd.dto.workout_dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotNull;
+import org.heigvd.dto.workout_dto.data_point_dto.ColumnarSeriesDto;
 import org.heigvd.dto.workout_dto.data_point_dto.WorkoutBPMDataPointDto;
 import org.heigvd.dto.workout_dto.data_point_dto.WorkoutSpeedDataPointDto;
+import org.heigvd.entity.workout.data_point.SampleBuffer;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -36,6 +39,16 @@ public class WorkoutUploadDto {
     private List<WorkoutBPMDataPointDto> bpmDataPoints;
     private List<WorkoutSpeedDataPointDto> speedDataPoints;
 
+    // Schéma 2 : séries en colonnes, à la place des listes de points
+    private ColumnarSeriesDto bpmSeries;
+    private ColumnarSeriesDto speedSeries;
+
+    // Renseignés par l'upload en streaming à la place des listes de DTOs
+    @JsonIgnore
+    private SampleBuffer bpmSamples;
+    @JsonIgnore
+    private SampleBuffer speedSamples;
+
     private String source;
 
     // CONSTRUCTORS ----------------------------------------
@@ -91,6 +104,18 @@ public class WorkoutUploadDto {
     public List<WorkoutSpeedDataPointDto> getSpeedDataPoints() { return speedDataPoints; }
     public void setSpeedDataPoints(List<WorkoutSpeedDataPointDto> speedDataPoints) { this.speedDataPoints = speedDataPoints; }
 
+    public ColumnarSeriesDto getBpmSeries() { return bpmSeries; }
+    public void setBpmSeries(ColumnarSeriesDto bpmSeries) { this.bpmSeries = bpmSeries; }
+
+    public ColumnarSeriesDto getSpeedSeries() { return speedSeries; }
+    public void setSpeedSeries(ColumnarSeriesDto speedSeries) { this.speedSeries = speedSeries; }
+
+    public SampleBuffer getBpmSamples() { return bpmSamples; }
+    public void setBpmSamples(SampleBuffer bpmSamples) { this.bpmSamples = bpmSamples; }
+
+    public SampleBuffer getSpeedSamples() { return speedSamples; }
+    public void setSpeedSamples(SampleBuffer speedSamples) { this.speedSamples = speedSamples; }
+
     public String getSource() { return source; }
     public void setSource(String source) { this.source = source; }
 }
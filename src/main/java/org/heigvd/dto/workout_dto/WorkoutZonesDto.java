@@ -0,0 +1,47 @@
+package org.heigvd.dto.workout_dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Temps passé par zone de fréquence cardiaque, pour un workout ({@code workoutId}) ou pour une
+ * semaine ({@code weekStart}, somme des workouts réalisés).
+ */
+public class WorkoutZonesDto {
+
+    private UUID workoutId;
+    private LocalDate weekStart;
+    private int workoutCount;
+    private int fcMax;
+    private List<ZoneTimeDto> zones;
+
+    // CONSTRUCTORS ----------------------
+
+    public WorkoutZonesDto() {}
+
+    public WorkoutZonesDto(UUID workoutId, LocalDate weekStart, int workoutCount, int fcMax, List<ZoneTimeDto> zones) {
+        this.workoutId = workoutId;
+        this.weekStart = weekStart;
+        this.workoutCount = workoutCount;
+        this.fcMax = fcMax;
+        this.zones = zones;
+    }
+
+    // GETTERS & SETTERS ----------------------
+
+    public UUID getWorkoutId() { return workoutId; }
+    public void setWorkoutId(UUID workoutId) { this.workoutId = workoutId; }
+
+    public LocalDate getWeekStart() { return weekStart; }
+    public void setWeekStart(LocalDate weekStart) { this.weekStart = weekStart; }
+
+    public int getWorkoutCount() { return workoutCount; }
+    public void setWorkoutCount(int workoutCount) { this.workoutCount = workoutCount; }
+
+    public int getFcMax() { return fcMax; }
+    public void setFcMax(int fcMax) { this.fcMax = fcMax; }
+
+    public List<ZoneTimeDto> getZones() { return zones; }
+    public void setZones(List<ZoneTimeDto> zones) { this.zones = zones; }
+}
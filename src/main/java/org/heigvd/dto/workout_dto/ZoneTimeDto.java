@@ -0,0 +1,46 @@
+package org.heigvd.dto.workout_dto;
+
+import org.heigvd.entity.workout.IntensityZone;
+
+public class ZoneTimeDto {
+
+    private IntensityZone zone;
+    private String label;
+    private int bpmMin;
+    private Integer bpmMax;
+    private long seconds;
+    private double percent;
+
+    // CONSTRUCTORS ----------------------
+
+    public ZoneTimeDto() {}
+
+    public ZoneTimeDto(IntensityZone zone, int bpmMin, Integer bpmMax, long seconds, double percent) {
+        this.zone = zone;
+        this.label = zone.getLabel();
+        this.bpmMin = bpmMin;
+        this.bpmMax = bpmMax;
+        this.seconds = seconds;
+        this.percent = percent;
+    }
+
+    // GETTERS & SETTERS ----------------------
+
+    public IntensityZone getZone() { return zone; }
+    public void setZone(IntensityZone zone) { this.zone = zone; }
+
+    public String getLabel() { return label; }
+    public void setLabel(String label) { this.label = label; }
+
+    public int getBpmMin() { return bpmMin; }
+    public void setBpmMin(int bpmMin) { this.bpmMin = bpmMin; }
+
+    public Integer getBpmMax() { return bpmMax; }
+    public void setBpmMax(Integer bpmMax) { this.bpmMax = bpmMax; }
+
+    public long getSeconds() { return seconds; }
+    public void setSeconds(long seconds) { this.seconds = seconds; }
+
+    public double getPercent() { return percent; }
+    public void setPercent(double percent) { this.percent = percent; }
+}
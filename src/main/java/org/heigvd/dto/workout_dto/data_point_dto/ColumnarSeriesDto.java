@@ -0,0 +1,231 @@
+package org.heigvd.dto.workout_dto.data_point_dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.heigvd.entity.workout.data_point.SampleBuffer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Série d'échantillons au format colonnes (schéma 2 des échantillons) :
+ * {@code { "t0": 1756702800000, "dt": [0, 1000, 1000], "bpm": [141.0, 142.0, null] }}.
+ *
+ * {@code t0} est le timestamp epoch-millis du premier échantillon, {@code dt} l'écart en
+ * millisecondes avec l'échantillon précédent (0 pour le premier), et chaque autre champ une
+ * colonne de valeurs parallèle à {@code dt} ({@code null} pour une valeur absente). Le
+ * (dé)sérialiseur lit et écrit directement des tableaux primitifs, sans objet par échantillon.
+ */
+@JsonSerialize(using = ColumnarSeriesDto.Serializer.class)
+@JsonDeserialize(using = ColumnarSeriesDto.Deserializer.class)
+public final class ColumnarSeriesDto {
+
+    public static final String BPM = "bpm";
+    public static final String KMH = "kmh";
+    public static final String PACE = "pace_min_per_km";
+
+    private static final String T0 = "t0";
+    private static final String DT = "dt";
+
+    private final long[] epochMillis;
+    private final String[] names;
+    private final double[][] columns;
+
+    // CONSTRUCTORS ----------------------
+
+    private ColumnarSeriesDto(long[] epochMillis, String[] names, double[][] columns) {
+        this.epochMillis = epochMillis;
+        this.names = names;
+        this.columns = columns;
+    }
+
+    /**
+     * Copie un tampon d'échantillons, en nommant ses colonnes dans l'ordre.
+     * @param buffer échantillons
+     * @param names nom de chaque colonne du tampon
+     */
+    public static ColumnarSeriesDto of(SampleBuffer buffer, String... names) {
+        if (names.length != buffer.nbColumns()) {
+            throw new IllegalArgumentException("Expected " + buffer.nbColumns() + " column names, found " + names.length);
+        }
+        long[] epochMillis = new long[buffer.size()];
+        double[][] columns = new double[names.length][buffer.size()];
+        for (int i = 0; i < buffer.size(); i++) {
+            epochMillis[i] = buffer.epochMillis(i);
+            for (int c = 0; c < names.length; c++) {
+                columns[c][i] = buffer.value(c, i);
+            }
+        }
+        return new ColumnarSeriesDto(epochMillis, names.clone(), columns);
+    }
+
+    // METHODS ----------------------
+
+    public int size() { return epochMillis.length; }
+
+    /**
+     * Tampon des colonnes demandées, dans l'ordre donné. Une colonne absente de la série est
+     * remplie de NaN ; les colonnes inconnues sont ignorées.
+     * @param names noms des colonnes à extraire
+     * @return tampon partageant les tableaux de la série
+     */
+    public SampleBuffer toBuffer(String... names) {
+        double[][] selected = new double[names.length][];
+        for (int c = 0; c < names.length; c++) {
+            selected[c] = column(names[c]);
+        }
+        return SampleBuffer.wrap(epochMillis, selected);
+    }
+
+    private double[] column(String name) {
+        for (int c = 0; c < names.length; c++) {
+            if (names[c].equals(name)) {
+                return columns[c];
+            }
+        }
+        double[] missing = new double[epochMillis.length];
+        Arrays.fill(missing, Double.NaN);
+        return missing;
+    }
+
+    // JACKSON ----------------------
+
+    public static final class Serializer extends StdSerializer<ColumnarSeriesDto> {
+
+        public Serializer() {
+            super(ColumnarSeriesDto.class);
+        }
+
+        @Override
+        public void serialize(ColumnarSeriesDto series, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            long[] epochMillis = series.epochMillis;
+            gen.writeStartObject();
+            gen.writeNumberField(T0, epochMillis.length > 0 ? epochMillis[0] : 0);
+
+            gen.writeArrayFieldStart(DT);
+            for (int i = 0; i < epochMillis.length; i++) {
+                gen.writeNumber(i == 0 ? 0 : epochMillis[i] - epochMillis[i - 1]);
+            }
+            gen.writeEndArray();
+
+            for (int c = 0; c < series.names.length; c++) {
+                gen.writeArrayFieldStart(series.names[c]);
+                for (double value : series.columns[c]) {
+                    if (Double.isNaN(value)) {
+                        gen.writeNull();
+                    } else {
+                        gen.writeNumber(value);
+                    }
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class Deserializer extends StdDeserializer<ColumnarSeriesDto> {
+
+        public Deserializer() {
+            super(ColumnarSeriesDto.class);
+        }
+
+        @Override
+        public ColumnarSeriesDto deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartObjectToken()) {
+                return (ColumnarSeriesDto) ctxt.handleUnexpectedToken(ColumnarSeriesDto.class, p);
+            }
+
+            long t0 = 0;
+            long[] dt = null;
+            List<String> names = new ArrayList<>();
+            List<double[]> columns = new ArrayList<>();
+
+            // Les champs peuvent arriver dans n'importe quel ordre : les écarts ne sont cumulés qu'à la fin
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken token = p.nextToken();
+                if (T0.equals(field)) {
+                    t0 = p.getValueAsLong();
+                } else if (DT.equals(field)) {
+                    dt = readLongs(p, ctxt, token);
+                } else if (token == JsonToken.START_ARRAY) {
+                    names.add(field);
+                    columns.add(readDoubles(p, ctxt));
+                } else {
+                    p.skipChildren();
+                }
+            }
+
+            int size = dt != null ? dt.length : 0;
+            if (dt == null && !columns.isEmpty()) {
+                ctxt.reportInputMismatch(ColumnarSeriesDto.class, "Columnar series without \"dt\"");
+            }
+            for (int c = 0; c < columns.size(); c++) {
+                if (columns.get(c).length != size) {
+                    ctxt.reportInputMismatch(ColumnarSeriesDto.class,
+                            "Column \"%s\" has %d values, expected %d", names.get(c), columns.get(c).length, size);
+                }
+            }
+
+            // dt est réutilisé pour les timestamps absolus
+            long[] epochMillis = dt != null ? dt : new long[0];
+            long previous = t0;
+            for (int i = 0; i < size; i++) {
+                previous += epochMillis[i];
+                epochMillis[i] = previous;
+            }
+            return new ColumnarSeriesDto(epochMillis, names.toArray(String[]::new), columns.toArray(double[][]::new));
+        }
+
+        private static long[] readLongs(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+            if (token == JsonToken.VALUE_NULL) {
+                return new long[0];
+            }
+            if (token != JsonToken.START_ARRAY) {
+                ctxt.reportInputMismatch(ColumnarSeriesDto.class, "\"dt\" must be an array");
+            }
+            long[] values = new long[1024];
+            int size = 0;
+            JsonToken value;
+            while ((value = p.nextToken()) != JsonToken.END_ARRAY) {
+                if (value != JsonToken.VALUE_NUMBER_INT && value != JsonToken.VALUE_NUMBER_FLOAT) {
+                    ctxt.reportInputMismatch(ColumnarSeriesDto.class, "Unexpected token %s in \"dt\"", value);
+                }
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = p.getValueAsLong();
+            }
+            return Arrays.copyOf(values, size);
+        }
+
+        private static double[] readDoubles(JsonParser p, DeserializationContext ctxt) throws IOException {
+            double[] values = new double[1024];
+            int size = 0;
+            JsonToken value;
+            while ((value = p.nextToken()) != JsonToken.END_ARRAY) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = switch (value) {
+                    case VALUE_NULL -> Double.NaN;
+                    case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getDoubleValue();
+                    default -> {
+                        ctxt.reportInputMismatch(ColumnarSeriesDto.class, "Unexpected token %s in a column", value);
+                        yield Double.NaN;
+                    }
+                };
+            }
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
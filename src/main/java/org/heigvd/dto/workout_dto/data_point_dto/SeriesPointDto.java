@@ -0,0 +1,25 @@
+package org.heigvd.dto.workout_dto.data_point_dto;
+
+import java.time.OffsetDateTime;
+
+public class SeriesPointDto {
+    private OffsetDateTime ts;
+    private Double value;
+
+    // CONSTRUCTORS --------------------------------
+
+    public SeriesPointDto() {}
+
+    public SeriesPointDto(OffsetDateTime ts, Double value) {
+        this.ts = ts;
+        this.value = value;
+    }
+
+    // GETTERS AND SETTERS --------------------------
+
+    public OffsetDateTime getTs() { return ts; }
+    public void setTs(OffsetDateTime ts) { this.ts = ts; }
+
+    public Double getValue() { return value; }
+    public void setValue(Double value) { this.value = value; }
+}
@@ -1,11 +1,23 @@
 package org.heigvd.dto.workout_dto.data_point_dto;
 
+import org.heigvd.entity.workout.IntensityZone;
+import org.heigvd.entity.workout.details.WorkoutBlockResult;
+
 public class WorkoutPerfDetailsDto {
 
     private int blocId;
     private int plannedBPMMin;
     private int plannedBPMMax;
     private int actualBPMMean;
+    private Integer repetition;
+    private Integer blocDetailId;
+    private IntensityZone intensityZone;
+    private Integer startOffsetSec;
+    private Integer durationSec;
+    private Integer actualBPMMin;
+    private Integer actualBPMMax;
+    private Integer timeInZoneSec;
+    private Double compliance;
 
     // CONSTRUCTORS ----------------------
 
@@ -18,6 +30,22 @@ public class WorkoutPerfDetailsDto {
         this.actualBPMMean = actualBPMMean;
     }
 
+    public WorkoutPerfDetailsDto(WorkoutBlockResult result) {
+        this.blocId = result.getBlocId();
+        this.plannedBPMMin = result.getPlannedBpmMin();
+        this.plannedBPMMax = result.getPlannedBpmMax();
+        this.actualBPMMean = result.getActualBpmMean() != null ? (int) Math.round(result.getActualBpmMean()) : 0;
+        this.repetition = result.getRepetition();
+        this.blocDetailId = result.getBlocDetailId();
+        this.intensityZone = result.getIntensityZone();
+        this.startOffsetSec = result.getStartOffsetSec();
+        this.durationSec = result.getPlannedDurationSec();
+        this.actualBPMMin = result.getActualBpmMin() != null ? (int) Math.round(result.getActualBpmMin()) : null;
+        this.actualBPMMax = result.getActualBpmMax() != null ? (int) Math.round(result.getActualBpmMax()) : null;
+        this.timeInZoneSec = result.getTimeInZoneSec();
+        this.compliance = result.getCompliance();
+    }
+
     // GETTERS & SETTERS ----------------------
 
     public int getBlocId() { return blocId; }
@@ -31,4 +59,31 @@ public class WorkoutPerfDetailsDto {
 
     public int getActualBPMMean() { return actualBPMMean; }
     public void setActualBPMMean(int actualBPMMean) { this.actualBPMMean = actualBPMMean; }
+
+    public Integer getRepetition() { return repetition; }
+    public void setRepetition(Integer repetition) { this.repetition = repetition; }
+
+    public Integer getBlocDetailId() { return blocDetailId; }
+    public void setBlocDetailId(Integer blocDetailId) { this.blocDetailId = blocDetailId; }
+
+    public IntensityZone getIntensityZone() { return intensityZone; }
+    public void setIntensityZone(IntensityZone intensityZone) { this.intensityZone = intensityZone; }
+
+    public Integer getStartOffsetSec() { return startOffsetSec; }
+    public void setStartOffsetSec(Integer startOffsetSec) { this.startOffsetSec = startOffsetSec; }
+
+    public Integer getDurationSec() { return durationSec; }
+    public void setDurationSec(Integer durationSec) { this.durationSec = durationSec; }
+
+    public Integer getActualBPMMin() { return actualBPMMin; }
+    public void setActualBPMMin(Integer actualBPMMin) { this.actualBPMMin = actualBPMMin; }
+
+    public Integer getActualBPMMax() { return actualBPMMax; }
+    public void setActualBPMMax(Integer actualBPMMax) { this.actualBPMMax = actualBPMMax; }
+
+    public Integer getTimeInZoneSec() { return timeInZoneSec; }
+    public void setTimeInZoneSec(Integer timeInZoneSec) { this.timeInZoneSec = timeInZoneSec; }
+
+    public Double getCompliance() { return compliance; }
+    public void setCompliance(Double compliance) { this.compliance = compliance; }
 }
@@ -3,6 +3,9 @@ package org.heigvd.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.heigvd.entity.workout.Workout;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -10,12 +13,22 @@ import java.util.ArrayList;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Account.CACHE_REGION)
 public class Account {
 
+    /** Région du cache de second niveau, invalidée à chaque écriture du compte. */
+    public static final String CACHE_REGION = "accounts";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Email
     @NotBlank
     @Column(unique = true)
@@ -86,6 +99,7 @@ public class Account {
     // METHODS --------------------------------------------------
 
     public UUID getId() { return id; }
+    public Long getVersion() { return version; }
     public void setId(UUID id) { this.id = id; }
 
     public String getEmail() { return email; }
@@ -0,0 +1,39 @@
+package org.heigvd.entity;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Compteur de modifications des données d'un compte (workouts, plan d'entraînement).
+ *
+ * Le compteur est incrémenté dans la transaction de chaque écriture : il sert de validateur
+ * (ETag) aux listes, dont la réponse peut changer sans qu'une seule entité ne porte la modification.
+ * La date de la dernière incrémentation garde les lectures du compte sur la base principale
+ * juste après une écriture, quelle que soit l'instance qui l'a reçue.
+ */
+@Entity
+@Table(name = "account_revisions")
+public class AccountRevision {
+
+    @Id
+    @Column(name = "account_id")
+    private UUID accountId;
+
+    @Column(nullable = false)
+    private long revision;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    // CONSTRUCTORS ---------------------------------------------
+
+    public AccountRevision() {}
+
+    // METHODS --------------------------------------------------
+
+    public UUID getAccountId() { return accountId; }
+    public long getRevision() { return revision; }
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,54 @@
+package org.heigvd.entity;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Position d'un consommateur du journal des modifications : dernière entrée
+ * ({@code txId}, {@code sequence}) qu'il a traitée, et dernière erreur s'il est bloqué.
+ */
+@Entity
+@Table(name = "change_log_checkpoints")
+public class ChangeLogCheckpoint {
+
+    @Id
+    private String consumer;
+
+    @Column(name = "tx_id", nullable = false)
+    private long txId;
+
+    @Column(nullable = false)
+    private long sequence;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Column(name = "last_error", length = 2000)
+    private String lastError;
+
+    // CONSTRUCTORS ---------------------------------------------
+
+    public ChangeLogCheckpoint() {}
+
+    public ChangeLogCheckpoint(String consumer) {
+        this.consumer = consumer;
+        this.updatedAt = OffsetDateTime.now();
+    }
+
+    // METHODS --------------------------------------------------
+
+    public String getConsumer() { return consumer; }
+
+    public long getTxId() { return txId; }
+    public void setTxId(long txId) { this.txId = txId; }
+
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
@@ -0,0 +1,68 @@
+package org.heigvd.entity;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Entrée du journal des modifications (transactional outbox) : une écriture d'une entité d'un
+ * compte, ajoutée dans la transaction de l'écriture. Les entrées ne sont jamais modifiées.
+ *
+ * {@code txId} est l'identifiant de la transaction PostgreSQL qui a ajouté l'entrée ; le relais
+ * ({@code ChangeLogRelay}) parcourt le journal dans l'ordre ({@code txId}, {@code sequence}) pour ne
+ * pas sauter une entrée validée après une entrée de numéro plus grand.
+ */
+@Entity
+@Table(name = "change_log",
+        indexes = @Index(name = "idx_change_log_tx_sequence", columnList = "tx_id, sequence"))
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_log_seq")
+    @SequenceGenerator(name = "change_log_seq", sequenceName = "change_log_seq", allocationSize = 50)
+    private long sequence;
+
+    @Column(name = "tx_id", insertable = false, updatable = false,
+            columnDefinition = "bigint DEFAULT CAST(CAST(pg_current_xact_id() AS text) AS bigint)")
+    private Long txId;
+
+    @Column(name = "account_id")
+    private UUID accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeOp op;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    // CONSTRUCTORS ---------------------------------------------
+
+    public ChangeLogEntry() {}
+
+    public ChangeLogEntry(UUID accountId, SyncEntityType entityType, UUID entityId, ChangeOp op) {
+        this.accountId = accountId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.op = op;
+        this.createdAt = OffsetDateTime.now();
+    }
+
+    // METHODS --------------------------------------------------
+
+    public long getSequence() { return sequence; }
+    public Long getTxId() { return txId; }
+    public UUID getAccountId() { return accountId; }
+    public SyncEntityType getEntityType() { return entityType; }
+    public UUID getEntityId() { return entityId; }
+    public ChangeOp getOp() { return op; }
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,8 @@
+package org.heigvd.entity;
+
+/**
+ * Nature d'une écriture notée dans le journal des modifications ({@link ChangeLogEntry}).
+ */
+public enum ChangeOp {
+    CREATE, UPDATE, DELETE
+}
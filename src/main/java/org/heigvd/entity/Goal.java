@@ -2,12 +2,19 @@ package org.heigvd.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = Goal.CACHE_REGION)
 public class Goal {
 
+    /** Région du cache de second niveau : référentiel chargé par import.sql, jamais modifié. */
+    public static final String CACHE_REGION = "goals";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
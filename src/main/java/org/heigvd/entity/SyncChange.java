@@ -0,0 +1,53 @@
+package org.heigvd.entity;
+
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+/**
+ * Dernière modification d'une entité d'un compte, pour la synchronisation incrémentale.
+ *
+ * Une seule ligne par entité : chaque écriture la remplace avec la révision du compte
+ * ({@link AccountRevision}) à laquelle elle a eu lieu. Une suppression est gardée comme marqueur
+ * ({@code deleted}) pour que les clients en retard l'apprennent aussi.
+ */
+@Entity
+@Table(name = "sync_changes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sync_changes_entity",
+                columnNames = {"account_id", "entity_type", "entity_id"}),
+        indexes = @Index(name = "idx_sync_changes_account_revision", columnList = "account_id, revision"))
+public class SyncChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @Column(nullable = false)
+    private long revision;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    // CONSTRUCTORS ---------------------------------------------
+
+    public SyncChange() {}
+
+    // METHODS --------------------------------------------------
+
+    public UUID getId() { return id; }
+    public UUID getAccountId() { return accountId; }
+    public SyncEntityType getEntityType() { return entityType; }
+    public UUID getEntityId() { return entityId; }
+    public long getRevision() { return revision; }
+    public boolean isDeleted() { return deleted; }
+}
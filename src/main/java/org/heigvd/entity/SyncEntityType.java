@@ -0,0 +1,9 @@
+package org.heigvd.entity;
+
+/**
+ * Types d'entités suivis par le journal de synchronisation ({@link SyncChange}) et le journal des
+ * modifications ({@link ChangeLogEntry}). Les comptes ne figurent que dans ce dernier.
+ */
+public enum SyncEntityType {
+    WORKOUT, TRAINING_PLAN, FITNESS_LEVEL, ACCOUNT
+}
@@ -0,0 +1,74 @@
+package org.heigvd.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Charge d'entraînement d'un compte pour un jour où au moins un workout a compté.
+ *
+ * {@code atl} et {@code ctl} sont l'état des moyennes mobiles à la fin du jour, {@code tsb} la forme
+ * au début du jour. Les jours sans ligne n'ont pas de charge : leur état se déduit de la ligne
+ * précédente (voir {@link org.heigvd.analysis.TrainingLoad.State#decay(long)}).
+ */
+@Entity
+@Table(name = "training_load_days",
+        uniqueConstraints = @UniqueConstraint(name = "uk_training_load_days_account_day", columnNames = {"account_id", "day"}))
+public class TrainingLoadDay {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private double load;
+
+    @Column(nullable = false)
+    private double atl;
+
+    @Column(nullable = false)
+    private double ctl;
+
+    @Column(nullable = false)
+    private double tsb;
+
+    // CONSTRUCTORS ---------------------------------------------
+
+    public TrainingLoadDay() {}
+
+    public TrainingLoadDay(Account account, LocalDate day) {
+        this.account = account;
+        this.day = day;
+    }
+
+    // METHODS --------------------------------------------------
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public Account getAccount() { return account; }
+    public void setAccount(Account account) { this.account = account; }
+
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public double getLoad() { return load; }
+    public void setLoad(double load) { this.load = load; }
+
+    public double getAtl() { return atl; }
+    public void setAtl(double atl) { this.atl = atl; }
+
+    public double getCtl() { return ctl; }
+    public void setCtl(double ctl) { this.ctl = ctl; }
+
+    public double getTsb() { return tsb; }
+    public void setTsb(double tsb) { this.tsb = tsb; }
+}
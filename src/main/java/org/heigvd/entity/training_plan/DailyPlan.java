@@ -3,11 +3,15 @@ package org.heigvd.entity.training_plan;
 import jakarta.persistence.*;
 import org.heigvd.entity.Sport;
 import org.heigvd.entity.workout.WorkoutType;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.DayOfWeek;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TrainingPlan.CACHE_REGION)
 public class DailyPlan {
 
     @Id
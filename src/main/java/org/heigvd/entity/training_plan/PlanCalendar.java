@@ -0,0 +1,192 @@
+package org.heigvd.entity.training_plan;
+
+import org.heigvd.entity.Sport;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Calendrier d'un plan d'entraînement, indexé par jour epoch.
+ *
+ * Le calendrier est une copie immuable des semaines du plan (identifiant du {@link WeeklyPlan},
+ * phase, créneaux jour / sport) construite une seule fois par version du plan : le numéro de semaine,
+ * la phase et les créneaux d'une date se lisent en temps constant, sans recharger la liste des
+ * semaines ni recalculer d'écart de dates.
+ */
+public final class PlanCalendar {
+
+    /** Créneau d'entraînement d'une semaine. */
+    public record Slot(DayOfWeek dayOfWeek, Sport sport) {}
+
+    private static final int DAYS_PER_WEEK = 7;
+
+    private final UUID planId;
+    private final long version;
+    private final boolean valid;
+    private final long startEpochDay;
+    private final long endEpochDay;
+    private final int baseWeeks;
+    private final int specificWeeks;
+    private final UUID[] weeklyPlanIds;
+    private final List<List<Slot>> slots;
+    private final int totalSessions;
+
+    // CONSTRUCTORS ---------------------------------------------
+
+    private PlanCalendar(UUID planId, Long version, LocalDate startDate, LocalDate endDate, List<WeeklyPlan> weeklyPlans) {
+        this.planId = planId;
+        this.version = version != null ? version : 0L;
+        this.valid = startDate != null && endDate != null && !startDate.isAfter(endDate);
+        this.startEpochDay = startDate != null ? startDate.toEpochDay() : 0L;
+        this.endEpochDay = endDate != null ? endDate.toEpochDay() : 0L;
+
+        if (weeklyPlans == null) {
+            weeklyPlans = List.of();
+        }
+        int weekCount = weeklyPlans.size();
+        this.baseWeeks = TrainingPlanPhase.BASE.computeWeeks(weekCount);
+        this.specificWeeks = TrainingPlanPhase.SPECIFIC.computeWeeks(weekCount);
+        this.weeklyPlanIds = new UUID[weekCount];
+
+        List<List<Slot>> weeks = new ArrayList<>(weekCount);
+        int sessions = 0;
+        for (int i = 0; i < weekCount; i++) {
+            WeeklyPlan weeklyPlan = weeklyPlans.get(i);
+            weeklyPlanIds[i] = weeklyPlan.getId();
+            List<Slot> week = weeklyPlan.getDailyPlans().stream()
+                    .map(dp -> new Slot(dp.getDayOfWeek(), dp.getSport()))
+                    .toList();
+            weeks.add(week);
+            sessions += week.size();
+        }
+        this.slots = List.copyOf(weeks);
+        this.totalSessions = sessions;
+    }
+
+    /**
+     * Construit le calendrier d'un plan. Charge les semaines et leurs plans quotidiens.
+     * @param tp plan d'entraînement
+     * @return PlanCalendar
+     */
+    public static PlanCalendar of(TrainingPlan tp) {
+        return new PlanCalendar(tp.getId(), tp.getVersion(), tp.getStartDate(), tp.getEndDate(), tp.getWeeklyPlans());
+    }
+
+    /**
+     * Construit le calendrier d'un plan lu sans entité (requêtes SQL directes).
+     * @param planId identifiant du plan
+     * @param version version du plan, null pour 0
+     * @param startDate date de début du plan
+     * @param endDate date de fin du plan
+     * @param weeklyPlans semaines du plan, dans l'ordre
+     * @return PlanCalendar
+     */
+    public static PlanCalendar of(UUID planId, Long version, LocalDate startDate, LocalDate endDate,
+                                  List<WeeklyPlan> weeklyPlans) {
+        return new PlanCalendar(planId, version, startDate, endDate, weeklyPlans);
+    }
+
+    // METHODS --------------------------------------------------
+
+    public UUID getPlanId() { return planId; }
+    public long getVersion() { return version; }
+    public int getWeekCount() { return slots.size(); }
+    public int getTotalSessions() { return totalSessions; }
+
+    /**
+     * Numéro de semaine d'une date comprise dans le plan.
+     * @param date date
+     * @return numéro de semaine (1 pour la première), null si la date est hors du plan ou si les dates du plan sont invalides
+     */
+    public Integer weekNumber(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        if (!valid || epochDay < startEpochDay || epochDay > endEpochDay) {
+            return null;
+        }
+        return (int) ((epochDay - startEpochDay) / DAYS_PER_WEEK) + 1;
+    }
+
+    /**
+     * Numéro de semaine d'une date sans vérifier qu'elle est comprise dans le plan
+     * (arrondi vers zéro, comme {@code ChronoUnit.WEEKS.between}).
+     * @param date date
+     * @return numéro de semaine, null si les dates du plan sont invalides
+     */
+    public Integer currentWeekNumber(LocalDate date) {
+        if (!valid) {
+            return null;
+        }
+        return (int) ((date.toEpochDay() - startEpochDay) / DAYS_PER_WEEK) + 1;
+    }
+
+    /**
+     * Phase d'une semaine : les semaines sont réparties entre les phases selon
+     * {@link TrainingPlanPhase#computeWeeks(int)}.
+     * @param weekNumber numéro de semaine, null pour la phase de base
+     * @return TrainingPlanPhase
+     */
+    public TrainingPlanPhase phase(Integer weekNumber) {
+        if (weekNumber == null || weekNumber <= baseWeeks) {
+            return TrainingPlanPhase.BASE;
+        } else if (weekNumber <= baseWeeks + specificWeeks) {
+            return TrainingPlanPhase.SPECIFIC;
+        }
+        return TrainingPlanPhase.SHARPENING;
+    }
+
+    /**
+     * Avancement dans le plan au début d'une semaine.
+     * @param weekNumber numéro de semaine
+     * @return valeur entre 0 et 1, 0 si la semaine est inconnue
+     */
+    public double progression(Integer weekNumber) {
+        if (weekNumber == null) {
+            return 0.0;
+        }
+        return Math.min(1.0, (double) weekNumber / getWeekCount());
+    }
+
+    /**
+     * Créneaux d'entraînement d'une semaine.
+     * @param weekNumber numéro de semaine
+     * @return liste immuable, vide si la semaine n'existe pas
+     */
+    public List<Slot> slots(Integer weekNumber) {
+        return contains(weekNumber) ? slots.get(weekNumber - 1) : List.of();
+    }
+
+    /**
+     * Créneaux d'entraînement de la semaine d'une date.
+     * @param date date
+     * @return liste immuable, vide si la date est hors du plan
+     */
+    public List<Slot> slotsAt(LocalDate date) {
+        return slots(weekNumber(date));
+    }
+
+    /**
+     * Identifiant du plan hebdomadaire d'une semaine.
+     * @param weekNumber numéro de semaine
+     * @return identifiant, null si la semaine n'existe pas ou n'est pas encore persistée
+     */
+    public UUID weeklyPlanId(Integer weekNumber) {
+        return contains(weekNumber) ? weeklyPlanIds[weekNumber - 1] : null;
+    }
+
+    /**
+     * @return true si la semaine existe dans le plan
+     */
+    public boolean contains(Integer weekNumber) {
+        return weekNumber != null && weekNumber >= 1 && weekNumber <= getWeekCount();
+    }
+
+    /**
+     * @return true si la semaine est la dernière du plan
+     */
+    public boolean isLastWeek(Integer weekNumber) {
+        return weekNumber != null && weekNumber == getWeekCount();
+    }
+}
@@ -4,17 +4,25 @@ import jakarta.persistence.*;
 import org.heigvd.entity.Account;
 import org.heigvd.entity.Goal;
 import org.heigvd.entity.workout.Workout;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TrainingPlan.CACHE_REGION)
 public class TrainingPlan {
+    /** Région du cache de second niveau partagée par la structure du plan (semaines, jours). */
+    public static final String CACHE_REGION = "training-plans";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TrainingPlan.CACHE_REGION)
     @ManyToMany
     @JoinTable(name = "training_plan_goals",
             joinColumns = @JoinColumn(name = "training_plan_id"),
@@ -27,11 +35,13 @@ public class TrainingPlan {
     @Column(name = "end_date")
     private LocalDate endDate;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TrainingPlan.CACHE_REGION)
     @ElementCollection(fetch = FetchType.EAGER)
     @Enumerated(EnumType.STRING)
     @Column(name = "days_of_week")
     private List<DayOfWeek> daysOfWeek;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TrainingPlan.CACHE_REGION)
     @ElementCollection(fetch = FetchType.EAGER)
     @Enumerated(EnumType.STRING)
     @Column(name = "long_outgoing")
@@ -40,12 +50,23 @@ public class TrainingPlan {
     @ManyToOne
     private Account account;
 
+    // Noms de la table de jointure figés : lus en SQL natif par ReactiveReadService
     @OneToMany(cascade = CascadeType.ALL)
+    @JoinTable(name = "trainingplan_workout",
+            joinColumns = @JoinColumn(name = "trainingplan_id"),
+            inverseJoinColumns = @JoinColumn(name = "workouts_id"))
     private List<Workout> workouts;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TrainingPlan.CACHE_REGION)
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinTable(name = "trainingplan_weeklyplan",
+            joinColumns = @JoinColumn(name = "trainingplan_id"),
+            inverseJoinColumns = @JoinColumn(name = "weeklyplans_id"))
     private List<WeeklyPlan> weeklyPlans = new ArrayList<>();
 
+    @Version
+    private Long version;
+
     // CONSTRUCTORS ---------------------------------------------
 
     public TrainingPlan() {}
@@ -69,6 +90,8 @@ public class TrainingPlan {
         return id;
     }
 
+    public Long getVersion() { return version; }
+
     public List<Goal> getGoals() {
         return goals;
     }
@@ -1,19 +1,27 @@
 package org.heigvd.entity.training_plan;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TrainingPlan.CACHE_REGION)
 public class WeeklyPlan {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TrainingPlan.CACHE_REGION)
     @ManyToMany(cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REFRESH})
+    @JoinTable(name = "weeklyplan_dailyplan",
+            joinColumns = @JoinColumn(name = "weeklyplan_id"),
+            inverseJoinColumns = @JoinColumn(name = "dailyplans_id"))
     private List<DailyPlan> dailyPlans = new ArrayList<>();
 
     @Column(name = "week_number")
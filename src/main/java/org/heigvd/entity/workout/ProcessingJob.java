@@ -0,0 +1,100 @@
+package org.heigvd.entity.workout;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Traitement différé d'un workout uploadé (analyses dérivées des échantillons).
+ *
+ * L'état est persisté pour qu'un redémarrage ne perde aucun traitement : les jobs PENDING sont
+ * repris par le balayage périodique. Un job RUNNING est loué par l'instance qui le traite
+ * ({@code claimed_by}, {@code claimed_at}) ; il n'est repris par une autre instance qu'une fois
+ * le bail expiré (arrêt brutal de l'instance).
+ */
+@Entity
+@Table(name = "processing_jobs", indexes = {
+        @Index(name = "idx_processing_jobs_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_processing_jobs_workout", columnList = "workout_id"),
+        @Index(name = "idx_processing_jobs_status_claimed_at", columnList = "status, claimed_at")
+})
+public class ProcessingJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "workout_id", nullable = false)
+    private UUID workoutId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProcessingJobStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 2000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "claimed_by")
+    private String claimedBy;
+
+    @Column(name = "claimed_at")
+    private OffsetDateTime claimedAt;
+
+    // CONSTRUCTORS ---------------------------------------------
+
+    public ProcessingJob() {}
+
+    public ProcessingJob(UUID workoutId) {
+        OffsetDateTime now = OffsetDateTime.now();
+        this.workoutId = workoutId;
+        this.status = ProcessingJobStatus.PENDING;
+        this.createdAt = now;
+        this.updatedAt = now;
+        this.nextAttemptAt = now;
+    }
+
+    // METHODS --------------------------------------------------
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public UUID getWorkoutId() { return workoutId; }
+    public void setWorkoutId(UUID workoutId) { this.workoutId = workoutId; }
+
+    public ProcessingJobStatus getStatus() { return status; }
+    public void setStatus(ProcessingJobStatus status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public OffsetDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(OffsetDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getClaimedBy() { return claimedBy; }
+    public void setClaimedBy(String claimedBy) { this.claimedBy = claimedBy; }
+
+    public OffsetDateTime getClaimedAt() { return claimedAt; }
+    public void setClaimedAt(OffsetDateTime claimedAt) { this.claimedAt = claimedAt; }
+}
@@ -0,0 +1,8 @@
+package org.heigvd.entity.workout;
+
+public enum ProcessingJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -8,8 +8,12 @@ import org.heigvd.entity.Account;
 import org.heigvd.entity.Sport;
 import org.heigvd.entity.workout.data_point.BPMDataPoint;
 import org.heigvd.entity.workout.data_point.SpeedDataPoint;
+import org.heigvd.entity.workout.data_point.WorkoutSamples;
+import org.heigvd.entity.workout.details.WorkoutBlockResult;
 import org.heigvd.entity.workout.details.WorkoutPlan;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -17,12 +21,33 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@NamedEntityGraph(name = Workout.GRAPH_LIST, attributeNodes = @NamedAttributeNode("account"))
+@NamedEntityGraph(name = Workout.GRAPH_PLAN,
+        attributeNodes = {
+                @NamedAttributeNode("account"),
+                @NamedAttributeNode(value = "plans", subgraph = "plan-details")
+        },
+        subgraphs = @NamedSubgraph(name = "plan-details", attributeNodes = @NamedAttributeNode("details")))
+@Table(indexes = {
+        @Index(name = "idx_workout_account_start", columnList = "account_id, start_time, id"),
+        @Index(name = "idx_workout_account_sport_start", columnList = "account_id, sport, start_time, id")
+})
 public class Workout {
 
+    /** Graphe des listes : le workout et son compte. */
+    public static final String GRAPH_LIST = "Workout.list";
+    /** Graphe de l'analyse et du détail : compte, blocs planifiés et leurs détails. */
+    public static final String GRAPH_PLAN = "Workout.plan";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @JsonIgnore
     @ManyToOne
     private Account account;
@@ -68,9 +93,34 @@ public class Workout {
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     private List<SpeedDataPoint> actualSpeedDataPoints = new ArrayList<>();
 
+    @JsonIgnore
+    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @JoinColumn(name = "samples_id")
+    private WorkoutSamples samples;
+
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderColumn(name = "plan_order")
     private List<WorkoutPlan> plans = new ArrayList<>();
 
+    @JsonIgnore
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "workout_id")
+    private List<WorkoutBlockResult> blockResults = new ArrayList<>();
+
+    private Double grade;
+
+    @Column(name = "ai_review", columnDefinition = "TEXT")
+    private String aiReview;
+
+    private Double trimp;
+
+    @Column(name = "load_date")
+    private LocalDate loadDate;
+
+    @JsonIgnore
+    @Column(name = "zone_seconds")
+    private int[] zoneSeconds;
+
     // CONSTRUCTORS ---------------------------------------------
 
     public Workout() {}
@@ -91,6 +141,7 @@ public class Workout {
     // METHODS --------------------------------------------------
 
     public UUID getId() { return id; }
+    public Long getVersion() { return version; }
     public void setId(UUID id) { this.id = id; }
 
     public Account getAccount() { return account; }
@@ -155,9 +206,33 @@ public class Workout {
         }
     }
 
+    public WorkoutSamples getSamples() { return samples; }
+    public void setSamples(WorkoutSamples samples) { this.samples = samples; }
+
     public List<WorkoutPlan> getPlans() { return plans; }
     public void setPlans(List<WorkoutPlan> plans) { this.plans = plans; }
 
+    public List<WorkoutBlockResult> getBlockResults() { return blockResults; }
+    public void setBlockResults(List<WorkoutBlockResult> blockResults) {
+        this.blockResults.clear();
+        this.blockResults.addAll(blockResults);
+    }
+
+    public Double getGrade() { return grade; }
+    public void setGrade(Double grade) { this.grade = grade; }
+
+    public String getAiReview() { return aiReview; }
+    public void setAiReview(String aiReview) { this.aiReview = aiReview; }
+
+    public Double getTrimp() { return trimp; }
+    public void setTrimp(Double trimp) { this.trimp = trimp; }
+
+    public LocalDate getLoadDate() { return loadDate; }
+    public void setLoadDate(LocalDate loadDate) { this.loadDate = loadDate; }
+
+    public int[] getZoneSeconds() { return zoneSeconds; }
+    public void setZoneSeconds(int[] zoneSeconds) { this.zoneSeconds = zoneSeconds; }
+
     @Override
     public String toString() {
         return " {" + "\n" +
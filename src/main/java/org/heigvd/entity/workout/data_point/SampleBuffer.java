@@ -0,0 +1,154 @@
+package org.heigvd.entity.workout.data_point;
+
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutBPMDataPointDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutSpeedDataPointDto;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tampon extensible d'échantillons en tableaux primitifs (timestamps epoch-millis et une ou
+ * plusieurs colonnes de valeurs). Sert à l'ingestion : environ 16 octets par échantillon BPM
+ * au lieu d'un DTO avec {@code OffsetDateTime} et {@code Double}.
+ *
+ * Les valeurs absentes sont représentées par {@code NaN}.
+ */
+public final class SampleBuffer {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] epochMillis = new long[INITIAL_CAPACITY];
+    private final double[][] columns;
+    private int size;
+
+    public SampleBuffer(int nbColumns) {
+        this.columns = new double[nbColumns][INITIAL_CAPACITY];
+    }
+
+    private SampleBuffer(long[] epochMillis, double[][] columns, int size) {
+        this.epochMillis = epochMillis;
+        this.columns = columns;
+        this.size = size;
+    }
+
+    /**
+     * Tampon sur des tableaux parallèles déjà remplis, sans copie : ils appartiennent ensuite au
+     * tampon et ne doivent plus être modifiés par l'appelant.
+     * @param epochMillis timestamps epoch-millis
+     * @param columns colonnes de valeurs, de la même longueur que les timestamps
+     */
+    public static SampleBuffer wrap(long[] epochMillis, double... columns) {
+        return wrap(epochMillis, new double[][] {columns});
+    }
+
+    /**
+     * Tampon sur des tableaux parallèles déjà remplis, sans copie (voir {@link #wrap(long[], double...)}).
+     * @param epochMillis timestamps epoch-millis
+     * @param columns colonnes de valeurs, de la même longueur que les timestamps
+     */
+    public static SampleBuffer wrap(long[] epochMillis, double[][] columns) {
+        for (double[] column : columns) {
+            if (column.length != epochMillis.length) {
+                throw new IllegalArgumentException("Timestamps and values must have the same length");
+            }
+        }
+        // ensureCapacity double la taille : un tampon vide repart de la capacité initiale
+        if (epochMillis.length == 0) {
+            return new SampleBuffer(columns.length);
+        }
+        return new SampleBuffer(epochMillis, columns, epochMillis.length);
+    }
+
+    /**
+     * Copie des points BPM dans un tampon (une colonne), en ignorant les points sans timestamp.
+     */
+    public static SampleBuffer fromBpmDataPoints(List<WorkoutBPMDataPointDto> points) {
+        SampleBuffer buffer = new SampleBuffer(1);
+        if (points != null) {
+            for (WorkoutBPMDataPointDto dto : points) {
+                if (dto.getTs() == null) continue;
+                buffer.add(dto.getTs().toInstant().toEpochMilli(), toDouble(dto.getBpm()));
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Copie des points de vitesse dans un tampon (colonnes km/h et min/km), en ignorant les
+     * points sans timestamp.
+     */
+    public static SampleBuffer fromSpeedDataPoints(List<WorkoutSpeedDataPointDto> points) {
+        SampleBuffer buffer = new SampleBuffer(2);
+        if (points != null) {
+            for (WorkoutSpeedDataPointDto dto : points) {
+                if (dto.getTs() == null) continue;
+                buffer.add(dto.getTs().toInstant().toEpochMilli(),
+                        toDouble(dto.getKmh()), toDouble(dto.getPaceMinPerKm()));
+            }
+        }
+        return buffer;
+    }
+
+    public void add(long epochMs, double value) {
+        ensureCapacity();
+        epochMillis[size] = epochMs;
+        columns[0][size] = value;
+        size++;
+    }
+
+    public void add(long epochMs, double first, double second) {
+        ensureCapacity();
+        epochMillis[size] = epochMs;
+        columns[0][size] = first;
+        columns[1][size] = second;
+        size++;
+    }
+
+    public int size() { return size; }
+
+    public int nbColumns() { return columns.length; }
+
+    public long epochMillis(int index) { return epochMillis[index]; }
+
+    public double value(int column, int index) { return columns[column][index]; }
+
+    /**
+     * Copie une colonne du tampon dans une {@link SampleSeries}.
+     * @param column indice de la colonne
+     */
+    public SampleSeries toSeries(int column) {
+        return SampleSeries.of(Arrays.copyOf(epochMillis, size), Arrays.copyOf(columns[column], size));
+    }
+
+    /**
+     * Encode le tampon avec des timestamps relatifs à {@code originMs}.
+     * @param originMs origine des offsets (epoch-millis)
+     * @param scales facteurs de quantification, un par colonne
+     * @return encodeur rempli
+     */
+    public SampleCodec.Writer encode(long originMs, double... scales) {
+        SampleCodec.Writer writer = new SampleCodec.Writer(scales);
+        for (int i = 0; i < size; i++) {
+            if (columns.length == 1) {
+                writer.add(epochMillis[i] - originMs, columns[0][i]);
+            } else {
+                writer.add(epochMillis[i] - originMs, columns[0][i], columns[1][i]);
+            }
+        }
+        return writer;
+    }
+
+    private static double toDouble(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    private void ensureCapacity() {
+        if (size == epochMillis.length) {
+            int capacity = epochMillis.length * 2;
+            epochMillis = Arrays.copyOf(epochMillis, capacity);
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = Arrays.copyOf(columns[c], capacity);
+            }
+        }
+    }
+}
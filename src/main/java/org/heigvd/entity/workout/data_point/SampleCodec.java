@@ -0,0 +1,239 @@
+package org.heigvd.entity.workout.data_point;
+
+import java.util.Arrays;
+
+/**
+ * Encodage compact en colonnes des séries d'échantillons d'un workout.
+ *
+ * Une série est composée d'une colonne de timestamps (offsets en millisecondes depuis
+ * l'origine du workout) et d'une ou plusieurs colonnes de valeurs quantifiées. Les timestamps
+ * sont encodés en delta de delta (0 pour un échantillonnage régulier), les valeurs en deltas
+ * successifs, le tout en zigzag puis varint : un échantillon 1 Hz ne coûte que 2 octets environ.
+ *
+ * Format : [version][nb échantillons][nb colonnes de valeurs]
+ *          puis pour la colonne des timestamps et chaque colonne de valeurs : [longueur][octets].
+ *
+ * Une valeur absente (null / NaN) est encodée par un 0, les deltas sont décalés de 1.
+ */
+public final class SampleCodec {
+
+    public static final byte VERSION = 1;
+
+    /** Quantification des BPM au dixième. */
+    public static final double BPM_SCALE = 10.0;
+
+    /** Quantification des vitesses (km/h) au centième. */
+    public static final double SPEED_SCALE = 100.0;
+
+    /** Quantification des allures (min/km) au centième. */
+    public static final double PACE_SCALE = 100.0;
+
+    private SampleCodec() {}
+
+    /**
+     * Décode un blob produit par {@link Writer}.
+     * @param data blob encodé
+     * @param scales facteurs de quantification utilisés à l'encodage, un par colonne de valeurs
+     * @return colonnes décodées (NaN pour les valeurs absentes)
+     */
+    public static Columns decode(byte[] data, double... scales) {
+        if (data == null || data.length == 0) {
+            return new Columns(new long[0], new double[scales.length][0]);
+        }
+
+        Reader reader = new Reader(data);
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported sample encoding version: " + version);
+        }
+        int count = (int) reader.readVarLong();
+        int nbColumns = (int) reader.readVarLong();
+        if (nbColumns != scales.length) {
+            throw new IllegalArgumentException("Expected " + scales.length + " value columns, found " + nbColumns);
+        }
+
+        long[] offsets = new long[count];
+        int length = (int) reader.readVarLong();
+        int end = reader.position + length;
+        long previous = 0;
+        long previousDelta = 0;
+        for (int i = 0; i < count; i++) {
+            previousDelta += zigzagDecode(reader.readVarLong());
+            previous += previousDelta;
+            offsets[i] = previous;
+        }
+        reader.position = end;
+
+        double[][] values = new double[nbColumns][count];
+        for (int c = 0; c < nbColumns; c++) {
+            length = (int) reader.readVarLong();
+            end = reader.position + length;
+            long previousValue = 0;
+            for (int i = 0; i < count; i++) {
+                long raw = reader.readVarLong();
+                if (raw == 0) {
+                    values[c][i] = Double.NaN;
+                } else {
+                    previousValue += zigzagDecode(raw - 1);
+                    values[c][i] = previousValue / scales[c];
+                }
+            }
+            reader.position = end;
+        }
+
+        return new Columns(offsets, values);
+    }
+
+    static long zigzagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long zigzagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // COLUMNS ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * Résultat du décodage : offsets en millisecondes et colonnes de valeurs parallèles.
+     */
+    public record Columns(long[] offsets, double[][] values) {
+
+        public int size() { return offsets.length; }
+
+        public double[] column(int index) { return values[index]; }
+    }
+
+    // WRITER ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * Encodeur incrémental : les échantillons sont ajoutés un à un, sans matérialiser de liste.
+     */
+    public static final class Writer {
+
+        private final double[] scales;
+        private final ByteSink timestamps = new ByteSink();
+        private final ByteSink[] columns;
+        private final long[] previousValues;
+        private long previousOffset;
+        private long previousDelta;
+        private int count;
+
+        public Writer(double... scales) {
+            this.scales = scales;
+            this.columns = new ByteSink[scales.length];
+            for (int c = 0; c < scales.length; c++) {
+                this.columns[c] = new ByteSink();
+            }
+            this.previousValues = new long[scales.length];
+        }
+
+        public void add(long offsetMs, double value) {
+            writeOffset(offsetMs);
+            writeValue(0, value);
+            count++;
+        }
+
+        public void add(long offsetMs, double first, double second) {
+            writeOffset(offsetMs);
+            writeValue(0, first);
+            writeValue(1, second);
+            count++;
+        }
+
+        public int size() { return count; }
+
+        public byte[] toByteArray() {
+            ByteSink out = new ByteSink();
+            out.writeByte(VERSION);
+            out.writeVarLong(count);
+            out.writeVarLong(columns.length);
+            out.writeVarLong(timestamps.size);
+            out.writeBytes(timestamps);
+            for (ByteSink column : columns) {
+                out.writeVarLong(column.size);
+                out.writeBytes(column);
+            }
+            return out.toByteArray();
+        }
+
+        private void writeOffset(long offsetMs) {
+            long delta = offsetMs - previousOffset;
+            timestamps.writeVarLong(zigzagEncode(delta - previousDelta));
+            previousOffset = offsetMs;
+            previousDelta = delta;
+        }
+
+        private void writeValue(int column, double value) {
+            if (Double.isNaN(value)) {
+                columns[column].writeVarLong(0);
+                return;
+            }
+            long quantized = Math.round(value * scales[column]);
+            columns[column].writeVarLong(zigzagEncode(quantized - previousValues[column]) + 1);
+            previousValues[column] = quantized;
+        }
+    }
+
+    // BUFFERS ---------------------------------------------------------------------------------------------------------
+
+    private static final class ByteSink {
+        private byte[] buffer = new byte[64];
+        private int size;
+
+        void writeByte(int b) {
+            ensureCapacity(size + 1);
+            buffer[size++] = (byte) b;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(size + 10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeBytes(ByteSink other) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.buffer, 0, buffer, size, other.size);
+            size += other.size;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int readByte() {
+            return data[position++];
+        }
+
+        long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+    }
+}
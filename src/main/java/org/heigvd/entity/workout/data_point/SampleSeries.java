@@ -0,0 +1,226 @@
+package org.heigvd.entity.workout.data_point;
+
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutBPMDataPointDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutSpeedDataPointDto;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Série temporelle immuable d'échantillons d'un workout (BPM, vitesse, allure...).
+ *
+ * Les données sont stockées dans deux tableaux primitifs parallèles (timestamps epoch-millis
+ * triés et valeurs, NaN pour une valeur absente). Les découpages ({@link #slice(long, long)},
+ * {@link #subSeries(int, int)}) partagent les tableaux d'origine et ne copient rien.
+ *
+ * C'est la représentation sur laquelle travaillent les analyses de workout.
+ */
+public final class SampleSeries {
+
+    public static final SampleSeries EMPTY = new SampleSeries(new long[0], new double[0], 0, 0);
+
+    private final long[] epochMillis;
+    private final double[] values;
+    private final int offset;
+    private final int length;
+
+    private SampleSeries(long[] epochMillis, double[] values, int offset, int length) {
+        this.epochMillis = epochMillis;
+        this.values = values;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Crée une série à partir de tableaux parallèles. S'ils sont déjà triés par timestamp, ils ne
+     * sont pas copiés et ne doivent plus être modifiés par l'appelant ; sinon une copie triée est faite.
+     */
+    public static SampleSeries of(long[] epochMillis, double[] values) {
+        if (epochMillis.length != values.length) {
+            throw new IllegalArgumentException("Timestamps and values must have the same length");
+        }
+        for (int i = 1; i < epochMillis.length; i++) {
+            if (epochMillis[i] < epochMillis[i - 1]) {
+                return sortedCopy(epochMillis, values, epochMillis.length);
+            }
+        }
+        return new SampleSeries(epochMillis, values, 0, epochMillis.length);
+    }
+
+    // CONVERSIONS ----------------------------------------------
+
+    public static SampleSeries fromBpmDataPoints(List<WorkoutBPMDataPointDto> points) {
+        return fromDataPoints(points, WorkoutBPMDataPointDto::getTs, WorkoutBPMDataPointDto::getBpm);
+    }
+
+    public static SampleSeries fromSpeedKmh(List<WorkoutSpeedDataPointDto> points) {
+        return fromDataPoints(points, WorkoutSpeedDataPointDto::getTs, WorkoutSpeedDataPointDto::getKmh);
+    }
+
+    public static SampleSeries fromSpeedPace(List<WorkoutSpeedDataPointDto> points) {
+        return fromDataPoints(points, WorkoutSpeedDataPointDto::getTs, WorkoutSpeedDataPointDto::getPaceMinPerKm);
+    }
+
+    /**
+     * Construit une série à partir d'une liste de points, en ignorant les points sans timestamp
+     * et en triant si nécessaire.
+     */
+    public static <T> SampleSeries fromDataPoints(List<T> points, Function<T, OffsetDateTime> ts,
+                                                  Function<T, Double> value) {
+        if (points == null || points.isEmpty()) {
+            return EMPTY;
+        }
+
+        long[] epochMillis = new long[points.size()];
+        double[] values = new double[points.size()];
+        int size = 0;
+        boolean sorted = true;
+
+        for (T point : points) {
+            OffsetDateTime t = ts.apply(point);
+            if (t == null) continue;
+            Double v = value.apply(point);
+            epochMillis[size] = t.toInstant().toEpochMilli();
+            values[size] = v == null ? Double.NaN : v;
+            if (size > 0 && epochMillis[size] < epochMillis[size - 1]) {
+                sorted = false;
+            }
+            size++;
+        }
+
+        return sorted
+                ? new SampleSeries(epochMillis, values, 0, size)
+                : sortedCopy(epochMillis, values, size);
+    }
+
+    public List<WorkoutBPMDataPointDto> toBpmDataPoints(ZoneOffset zone) {
+        List<WorkoutBPMDataPointDto> points = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            points.add(new WorkoutBPMDataPointDto(timestamp(i, zone), boxedValue(i)));
+        }
+        return points;
+    }
+
+    /**
+     * Recompose les points de vitesse à partir des séries vitesse et allure, échantillonnées
+     * aux mêmes instants.
+     */
+    public static List<WorkoutSpeedDataPointDto> toSpeedDataPoints(SampleSeries kmh, SampleSeries pace, ZoneOffset zone) {
+        if (kmh.size() != pace.size()) {
+            throw new IllegalArgumentException("Speed and pace series must have the same length");
+        }
+        List<WorkoutSpeedDataPointDto> points = new ArrayList<>(kmh.size());
+        for (int i = 0; i < kmh.size(); i++) {
+            points.add(new WorkoutSpeedDataPointDto(kmh.timestamp(i, zone), kmh.boxedValue(i), pace.boxedValue(i)));
+        }
+        return points;
+    }
+
+    // ACCESSORS ------------------------------------------------
+
+    public int size() { return length; }
+
+    public boolean isEmpty() { return length == 0; }
+
+    public long epochMillis(int index) {
+        checkIndex(index);
+        return epochMillis[offset + index];
+    }
+
+    public double value(int index) {
+        checkIndex(index);
+        return values[offset + index];
+    }
+
+    public long startMillis() { return epochMillis(0); }
+
+    public long endMillis() { return epochMillis(length - 1); }
+
+    public long[] toEpochMillisArray() {
+        return Arrays.copyOfRange(epochMillis, offset, offset + length);
+    }
+
+    public double[] toValueArray() {
+        return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    // SLICING --------------------------------------------------
+
+    /**
+     * Sous-série par indices, sans copie.
+     * @param from indice de début (inclus)
+     * @param to indice de fin (exclu)
+     */
+    public SampleSeries subSeries(int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ") for size " + length);
+        }
+        return new SampleSeries(epochMillis, values, offset + from, to - from);
+    }
+
+    /**
+     * Sous-série des échantillons dont le timestamp est dans [fromMs, toMs), sans copie.
+     * Un intervalle vide ou inversé ({@code fromMs >= toMs}) donne une série vide.
+     */
+    public SampleSeries slice(long fromMs, long toMs) {
+        if (fromMs >= toMs) {
+            return EMPTY;
+        }
+        return subSeries(lowerBound(fromMs), lowerBound(toMs));
+    }
+
+    /**
+     * Indice du premier échantillon dont le timestamp est supérieur ou égal à {@code epochMs}.
+     */
+    public int lowerBound(long epochMs) {
+        int low = offset;
+        int high = offset + length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochMillis[mid] < epochMs) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - offset;
+    }
+
+    // PRIVATE --------------------------------------------------
+
+    private OffsetDateTime timestamp(int index, ZoneOffset zone) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis(index)), zone);
+    }
+
+    private Double boxedValue(int index) {
+        double v = value(index);
+        return Double.isNaN(v) ? null : v;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + length);
+        }
+    }
+
+    private static SampleSeries sortedCopy(long[] epochMillis, double[] values, int size) {
+        int[] order = IntStream.range(0, size).boxed()
+                .sorted(Comparator.comparingLong(i -> epochMillis[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        long[] sortedMillis = new long[size];
+        double[] sortedValues = new double[size];
+        for (int i = 0; i < size; i++) {
+            sortedMillis[i] = epochMillis[order[i]];
+            sortedValues[i] = values[order[i]];
+        }
+        return new SampleSeries(sortedMillis, sortedValues, 0, size);
+    }
+}
@@ -0,0 +1,11 @@
+package org.heigvd.entity.workout.data_point;
+
+/**
+ * Mode de stockage des échantillons d'un workout uploadé.
+ */
+public enum SampleStorageMode {
+    /** Une ligne {@link WorkoutSamples} par workout, séries encodées par {@link SampleCodec}. */
+    COLUMNAR,
+    /** Une ligne {@link BPMDataPoint} / {@link SpeedDataPoint} par échantillon (format historique). */
+    ROWS
+}
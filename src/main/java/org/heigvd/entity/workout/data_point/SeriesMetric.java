@@ -0,0 +1,19 @@
+package org.heigvd.entity.workout.data_point;
+
+/**
+ * Séries d'échantillons d'un workout pouvant être tracées.
+ */
+public enum SeriesMetric {
+    BPM(SampleCodec.BPM_SCALE),
+    SPEED(SampleCodec.SPEED_SCALE),
+    PACE(SampleCodec.PACE_SCALE);
+
+    private final double scale;
+
+    SeriesMetric(double scale) {
+        this.scale = scale;
+    }
+
+    /** Facteur de quantification utilisé pour encoder la série avec {@link SampleCodec}. */
+    public double getScale() { return scale; }
+}
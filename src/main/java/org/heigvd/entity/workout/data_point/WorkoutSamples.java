@@ -0,0 +1,226 @@
+package org.heigvd.entity.workout.data_point;
+
+import jakarta.persistence.*;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutBPMDataPointDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutSpeedDataPointDto;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Échantillons BPM et vitesse d'un workout, stockés en une seule ligne.
+ *
+ * Chaque série est encodée par {@link SampleCodec} avec des timestamps relatifs à {@code origin}
+ * (le début du workout au moment de l'upload). Des versions sous-échantillonnées de chaque série
+ * ({@link WorkoutSeriesLevel}) peuvent être stockées à côté pour les graphiques.
+ */
+@Entity
+@Table(name = "workout_samples")
+public class WorkoutSamples {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private OffsetDateTime origin;
+
+    @Column(name = "bpm_count", nullable = false)
+    private int bpmCount;
+
+    @Column(name = "bpm_data")
+    private byte[] bpmData;
+
+    @Column(name = "speed_count", nullable = false)
+    private int speedCount;
+
+    @Column(name = "speed_data")
+    private byte[] speedData;
+
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "samples_id")
+    private List<WorkoutSeriesLevel> levels = new ArrayList<>();
+
+    // CONSTRUCTORS ---------------------------------------------
+
+    public WorkoutSamples() {}
+
+    public WorkoutSamples(OffsetDateTime origin) {
+        this.origin = origin;
+    }
+
+    // METHODS --------------------------------------------------
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public OffsetDateTime getOrigin() { return origin; }
+    public void setOrigin(OffsetDateTime origin) { this.origin = origin; }
+
+    public int getBpmCount() { return bpmCount; }
+
+    public int getSpeedCount() { return speedCount; }
+
+    public byte[] getBpmData() { return bpmData; }
+
+    public byte[] getSpeedData() { return speedData; }
+
+    public void setBpmDataPoints(List<WorkoutBPMDataPointDto> bpmDataPoints) {
+        SampleCodec.Writer writer = new SampleCodec.Writer(SampleCodec.BPM_SCALE);
+        if (bpmDataPoints != null) {
+            for (WorkoutBPMDataPointDto dto : bpmDataPoints) {
+                if (dto.getTs() == null) continue;
+                writer.add(offsetOf(dto.getTs()), toDouble(dto.getBpm()));
+            }
+        }
+        this.bpmCount = writer.size();
+        this.bpmData = writer.toByteArray();
+    }
+
+    public void setSpeedDataPoints(List<WorkoutSpeedDataPointDto> speedDataPoints) {
+        SampleCodec.Writer writer = new SampleCodec.Writer(SampleCodec.SPEED_SCALE, SampleCodec.PACE_SCALE);
+        if (speedDataPoints != null) {
+            for (WorkoutSpeedDataPointDto dto : speedDataPoints) {
+                if (dto.getTs() == null) continue;
+                writer.add(offsetOf(dto.getTs()), toDouble(dto.getKmh()), toDouble(dto.getPaceMinPerKm()));
+            }
+        }
+        this.speedCount = writer.size();
+        this.speedData = writer.toByteArray();
+    }
+
+    public void setBpmSamples(SampleBuffer buffer) {
+        SampleCodec.Writer writer = buffer.encode(originMs(), SampleCodec.BPM_SCALE);
+        this.bpmCount = writer.size();
+        this.bpmData = writer.toByteArray();
+    }
+
+    public void setSpeedSamples(SampleBuffer buffer) {
+        SampleCodec.Writer writer = buffer.encode(originMs(), SampleCodec.SPEED_SCALE, SampleCodec.PACE_SCALE);
+        this.speedCount = writer.size();
+        this.speedData = writer.toByteArray();
+    }
+
+    public List<WorkoutBPMDataPointDto> getBpmDataPoints() {
+        SampleCodec.Columns columns = SampleCodec.decode(bpmData, SampleCodec.BPM_SCALE);
+        List<WorkoutBPMDataPointDto> points = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            points.add(new WorkoutBPMDataPointDto(
+                    timestampOf(columns.offsets()[i]),
+                    toBoxed(columns.column(0)[i])));
+        }
+        return points;
+    }
+
+    public List<WorkoutSpeedDataPointDto> getSpeedDataPoints() {
+        SampleCodec.Columns columns = SampleCodec.decode(speedData, SampleCodec.SPEED_SCALE, SampleCodec.PACE_SCALE);
+        List<WorkoutSpeedDataPointDto> points = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            points.add(new WorkoutSpeedDataPointDto(
+                    timestampOf(columns.offsets()[i]),
+                    toBoxed(columns.column(0)[i]),
+                    toBoxed(columns.column(1)[i])));
+        }
+        return points;
+    }
+
+    public SampleBuffer getBpmSamples() {
+        return toBuffer(SampleCodec.decode(bpmData, SampleCodec.BPM_SCALE));
+    }
+
+    public SampleBuffer getSpeedSamples() {
+        return toBuffer(SampleCodec.decode(speedData, SampleCodec.SPEED_SCALE, SampleCodec.PACE_SCALE));
+    }
+
+    public SampleSeries getBpmSeries() {
+        return toSeries(SampleCodec.decode(bpmData, SampleCodec.BPM_SCALE), 0);
+    }
+
+    public SampleSeries getSpeedKmhSeries() {
+        return toSeries(SampleCodec.decode(speedData, SampleCodec.SPEED_SCALE, SampleCodec.PACE_SCALE), 0);
+    }
+
+    public SampleSeries getSpeedPaceSeries() {
+        return toSeries(SampleCodec.decode(speedData, SampleCodec.SPEED_SCALE, SampleCodec.PACE_SCALE), 1);
+    }
+
+    public SampleSeries getSeries(SeriesMetric metric) {
+        return switch (metric) {
+            case BPM -> getBpmSeries();
+            case SPEED -> getSpeedKmhSeries();
+            case PACE -> getSpeedPaceSeries();
+        };
+    }
+
+    public List<WorkoutSeriesLevel> getLevels() { return levels; }
+
+    /**
+     * Remplace les niveaux précalculés d'une série.
+     * @param metric série concernée
+     * @param series versions sous-échantillonnées de la série
+     */
+    public void setLevels(SeriesMetric metric, List<SampleSeries> series) {
+        levels.removeIf(level -> level.getMetric() == metric);
+        for (SampleSeries level : series) {
+            SampleCodec.Writer writer = new SampleCodec.Writer(metric.getScale());
+            for (int i = 0; i < level.size(); i++) {
+                writer.add(level.epochMillis(i) - originMs(), level.value(i));
+            }
+            levels.add(new WorkoutSeriesLevel(metric, writer.size(), writer.toByteArray()));
+        }
+    }
+
+    /**
+     * Plus petit niveau précalculé d'une série ayant au moins {@code minPoints} points.
+     * @param metric série concernée
+     * @param minPoints nombre de points minimum
+     * @return le niveau décodé, vide s'il n'y en a pas d'assez fin
+     */
+    public Optional<SampleSeries> findLevel(SeriesMetric metric, int minPoints) {
+        return levels.stream()
+                .filter(level -> level.getMetric() == metric && level.getPoints() >= minPoints)
+                .min(Comparator.comparingInt(WorkoutSeriesLevel::getPoints))
+                .map(level -> toSeries(SampleCodec.decode(level.getData(), metric.getScale()), 0));
+    }
+
+    public long offsetOf(OffsetDateTime ts) {
+        return ts.toInstant().toEpochMilli() - originMs();
+    }
+
+    public OffsetDateTime timestampOf(long offsetMs) {
+        return origin.plusNanos(offsetMs * 1_000_000L);
+    }
+
+    private SampleSeries toSeries(SampleCodec.Columns columns, int column) {
+        return SampleSeries.of(toEpochMillis(columns), columns.column(column));
+    }
+
+    private SampleBuffer toBuffer(SampleCodec.Columns columns) {
+        return SampleBuffer.wrap(toEpochMillis(columns), columns.values());
+    }
+
+    private long[] toEpochMillis(SampleCodec.Columns columns) {
+        long originMs = originMs();
+        long[] epochMillis = columns.offsets();
+        for (int i = 0; i < epochMillis.length; i++) {
+            epochMillis[i] += originMs;
+        }
+        return epochMillis;
+    }
+
+    private long originMs() {
+        return origin.toInstant().toEpochMilli();
+    }
+
+    private static double toDouble(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    private static Double toBoxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
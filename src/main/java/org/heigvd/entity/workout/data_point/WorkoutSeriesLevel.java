@@ -0,0 +1,51 @@
+package org.heigvd.entity.workout.data_point;
+
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+/**
+ * Niveau de résolution précalculé d'une série d'un workout (version sous-échantillonnée pour les
+ * graphiques), encodé par {@link SampleCodec} relativement à l'origine de {@link WorkoutSamples}.
+ */
+@Entity
+@Table(name = "workout_series_levels")
+public class WorkoutSeriesLevel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SeriesMetric metric;
+
+    @Column(nullable = false)
+    private int points;
+
+    private byte[] data;
+
+    // CONSTRUCTORS ---------------------------------------------
+
+    public WorkoutSeriesLevel() {}
+
+    public WorkoutSeriesLevel(SeriesMetric metric, int points, byte[] data) {
+        this.metric = metric;
+        this.points = points;
+        this.data = data;
+    }
+
+    // METHODS --------------------------------------------------
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public SeriesMetric getMetric() { return metric; }
+    public void setMetric(SeriesMetric metric) { this.metric = metric; }
+
+    public int getPoints() { return points; }
+    public void setPoints(int points) { this.points = points; }
+
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+}
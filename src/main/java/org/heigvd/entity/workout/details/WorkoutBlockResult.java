@@ -0,0 +1,135 @@
+package org.heigvd.entity.workout.details;
+
+import jakarta.persistence.*;
+import org.heigvd.analysis.BlockPerformanceEngine.BlockPerformance;
+import org.heigvd.entity.workout.IntensityZone;
+
+import java.util.UUID;
+
+/**
+ * Résultat d'un segment du plan d'un workout réalisé (un détail d'une répétition d'un bloc),
+ * calculé une fois à l'upload par {@link org.heigvd.analysis.BlockPerformanceEngine}.
+ */
+@Entity
+@Table(name = "workout_block_results")
+public class WorkoutBlockResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "bloc_id", nullable = false)
+    private int blocId;
+
+    @Column(nullable = false)
+    private int repetition;
+
+    @Column(name = "bloc_detail_id", nullable = false)
+    private int blocDetailId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "intensity_zone", nullable = false)
+    private IntensityZone intensityZone;
+
+    @Column(name = "start_offset_sec", nullable = false)
+    private int startOffsetSec;
+
+    @Column(name = "planned_duration_sec", nullable = false)
+    private int plannedDurationSec;
+
+    @Column(name = "planned_bpm_min", nullable = false)
+    private int plannedBpmMin;
+
+    @Column(name = "planned_bpm_max", nullable = false)
+    private int plannedBpmMax;
+
+    @Column(name = "sample_count", nullable = false)
+    private int sampleCount;
+
+    @Column(name = "actual_bpm_mean")
+    private Double actualBpmMean;
+
+    @Column(name = "actual_bpm_min")
+    private Double actualBpmMin;
+
+    @Column(name = "actual_bpm_max")
+    private Double actualBpmMax;
+
+    @Column(name = "time_in_zone_sec", nullable = false)
+    private int timeInZoneSec;
+
+    @Column(nullable = false)
+    private double compliance;
+
+    // CONSTRUCTORS ----------------------------------------------------------------------------------------------------
+
+    public WorkoutBlockResult() {}
+
+    public WorkoutBlockResult(BlockPerformance performance) {
+        this.blocId = performance.blocId();
+        this.repetition = performance.repetition();
+        this.blocDetailId = performance.blocDetailId();
+        this.intensityZone = performance.intensityZone();
+        this.startOffsetSec = performance.startOffsetSec();
+        this.plannedDurationSec = performance.plannedDurationSec();
+        this.plannedBpmMin = performance.plannedBpmMin();
+        this.plannedBpmMax = performance.plannedBpmMax();
+        this.sampleCount = performance.sampleCount();
+        this.actualBpmMean = toBoxed(performance.meanBpm());
+        this.actualBpmMin = toBoxed(performance.minBpm());
+        this.actualBpmMax = toBoxed(performance.maxBpm());
+        this.timeInZoneSec = performance.timeInZoneSec();
+        this.compliance = performance.compliance();
+    }
+
+    // METHODS ---------------------------------------------------------------------------------------------------------
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public int getBlocId() { return blocId; }
+    public void setBlocId(int blocId) { this.blocId = blocId; }
+
+    public int getRepetition() { return repetition; }
+    public void setRepetition(int repetition) { this.repetition = repetition; }
+
+    public int getBlocDetailId() { return blocDetailId; }
+    public void setBlocDetailId(int blocDetailId) { this.blocDetailId = blocDetailId; }
+
+    public IntensityZone getIntensityZone() { return intensityZone; }
+    public void setIntensityZone(IntensityZone intensityZone) { this.intensityZone = intensityZone; }
+
+    public int getStartOffsetSec() { return startOffsetSec; }
+    public void setStartOffsetSec(int startOffsetSec) { this.startOffsetSec = startOffsetSec; }
+
+    public int getPlannedDurationSec() { return plannedDurationSec; }
+    public void setPlannedDurationSec(int plannedDurationSec) { this.plannedDurationSec = plannedDurationSec; }
+
+    public int getPlannedBpmMin() { return plannedBpmMin; }
+    public void setPlannedBpmMin(int plannedBpmMin) { this.plannedBpmMin = plannedBpmMin; }
+
+    public int getPlannedBpmMax() { return plannedBpmMax; }
+    public void setPlannedBpmMax(int plannedBpmMax) { this.plannedBpmMax = plannedBpmMax; }
+
+    public int getSampleCount() { return sampleCount; }
+    public void setSampleCount(int sampleCount) { this.sampleCount = sampleCount; }
+
+    public Double getActualBpmMean() { return actualBpmMean; }
+    public void setActualBpmMean(Double actualBpmMean) { this.actualBpmMean = actualBpmMean; }
+
+    public Double getActualBpmMin() { return actualBpmMin; }
+    public void setActualBpmMin(Double actualBpmMin) { this.actualBpmMin = actualBpmMin; }
+
+    public Double getActualBpmMax() { return actualBpmMax; }
+    public void setActualBpmMax(Double actualBpmMax) { this.actualBpmMax = actualBpmMax; }
+
+    public int getTimeInZoneSec() { return timeInZoneSec; }
+    public void setTimeInZoneSec(int timeInZoneSec) { this.timeInZoneSec = timeInZoneSec; }
+
+    public double getCompliance() { return compliance; }
+    public void setCompliance(double compliance) { this.compliance = compliance; }
+
+    private static Double toBoxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
@@ -23,6 +23,7 @@ public class WorkoutPlan {
     private int repetitionCount;
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderColumn(name = "detail_order")
     private List<WorkoutPlanDetails> details = new ArrayList<>();
 
     private WorkoutType type;
@@ -1,6 +1,7 @@
 package org.heigvd.resource;
 
 import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
@@ -33,6 +34,7 @@ import java.util.Optional;
 @Produces(RestMediaType.APPLICATION_JSON)
 @Consumes(RestMediaType.APPLICATION_JSON)
 @Tag(name = "Auth", description = "Authentification et profil utilisateur")
+@RunOnVirtualThread
 public class AuthResource {
 
     @Inject
@@ -0,0 +1,60 @@
+package org.heigvd.resource;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Variant;
+
+import java.util.List;
+
+/**
+ * Formats binaires acceptés et produits en plus du JSON pour les workouts échangés avec les
+ * applications mobiles (upload, détail, échantillons).
+ *
+ * CBOR et Smile gardent le modèle de données du JSON (mêmes DTOs, mêmes noms de champs) mais
+ * encodent les nombres en binaire, et Smile ne répète pas les noms de champs d'un échantillon à
+ * l'autre. Le format est choisi par les en-têtes Content-Type et Accept.
+ */
+public final class BinaryMediaTypes {
+
+    public static final String CBOR = "application/cbor";
+    public static final String SMILE = "application/x-jackson-smile";
+
+    public static final MediaType CBOR_TYPE = MediaType.valueOf(CBOR);
+    public static final MediaType SMILE_TYPE = MediaType.valueOf(SMILE);
+
+    private static final List<Variant> VARIANTS =
+            Variant.mediaTypes(MediaType.APPLICATION_JSON_TYPE, CBOR_TYPE, SMILE_TYPE).build();
+
+    private static final JsonFactory CBOR_FACTORY = new CBORFactory();
+    private static final JsonFactory SMILE_FACTORY = new SmileFactory();
+
+    private BinaryMediaTypes() {}
+
+    /**
+     * Format de la réponse selon l'en-tête Accept (JSON si aucun format ne convient).
+     */
+    static MediaType select(Request request) {
+        Variant variant = request.selectVariant(VARIANTS);
+        return variant != null ? variant.getMediaType() : MediaType.APPLICATION_JSON_TYPE;
+    }
+
+    /**
+     * Fabrique de parseurs streaming pour un corps de requête binaire.
+     * @return la fabrique CBOR ou Smile, null pour le JSON
+     */
+    static JsonFactory parserFactory(MediaType contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        if (contentType.isCompatible(CBOR_TYPE)) {
+            return CBOR_FACTORY;
+        }
+        if (contentType.isCompatible(SMILE_TYPE)) {
+            return SMILE_FACTORY;
+        }
+        return null;
+    }
+}
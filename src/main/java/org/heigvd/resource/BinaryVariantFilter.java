@@ -0,0 +1,52 @@
+package org.heigvd.resource;
+
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.ext.Provider;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Réponses des méthodes qui produisent aussi du CBOR ou du Smile (voir {@link BinaryMediaTypes}).
+ *
+ * La représentation dépend de l'en-tête Accept : {@code Vary: Accept} est ajouté (y compris aux
+ * 304) pour qu'un cache ne serve pas le JSON à un client qui demande du CBOR, ou l'inverse. Les
+ * erreurs construites comme texte JSON ({@code {"error": ...}}) sont toujours envoyées en JSON,
+ * au lieu d'être encodées comme chaîne CBOR ou Smile.
+ */
+@Provider
+public class BinaryVariantFilter implements ContainerResponseFilter {
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (!producesBinary(resourceInfo.getResourceMethod())) {
+            return;
+        }
+        response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        if (response.getStatus() >= 400 && response.getEntity() instanceof String
+                && isBinary(response.getMediaType())) {
+            response.setEntity(response.getEntity(), response.getEntityAnnotations(), MediaType.APPLICATION_JSON_TYPE);
+        }
+    }
+
+    private static boolean producesBinary(Method method) {
+        Produces produces = method != null ? method.getAnnotation(Produces.class) : null;
+        return produces != null && Arrays.stream(produces.value())
+                .anyMatch(type -> isBinary(MediaType.valueOf(type)));
+    }
+
+    private static boolean isBinary(MediaType type) {
+        return type != null && (type.isCompatible(BinaryMediaTypes.CBOR_TYPE) || type.isCompatible(BinaryMediaTypes.SMILE_TYPE));
+    }
+}
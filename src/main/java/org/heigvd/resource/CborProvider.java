@@ -0,0 +1,22 @@
+package org.heigvd.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Entités en CBOR ({@value BinaryMediaTypes#CBOR}).
+ */
+@Provider
+@Consumes(BinaryMediaTypes.CBOR)
+@Produces(BinaryMediaTypes.CBOR)
+public class CborProvider extends JacksonBinaryProvider {
+
+    @Inject
+    public CborProvider(ObjectMapper objectMapper) {
+        super(objectMapper.copyWith(new CBORFactory()));
+    }
+}
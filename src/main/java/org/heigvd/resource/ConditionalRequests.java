@@ -0,0 +1,56 @@
+package org.heigvd.resource;
+
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Requêtes conditionnelles (ETag / If-None-Match) des endpoints interrogés en boucle par les
+ * clients mobiles.
+ *
+ * L'ETag est construit à partir des versions des entités (ou de la révision du compte) lues par une
+ * requête légère : si le client a déjà cette représentation, la réponse 304 est renvoyée sans
+ * charger ni sérialiser le contenu.
+ */
+final class ConditionalRequests {
+
+    /** Réponse propre à l'utilisateur, à revalider à chaque utilisation. */
+    static final CacheControl REVALIDATE = revalidate();
+
+    private ConditionalRequests() {}
+
+    /**
+     * ETag fort formé des parties données.
+     */
+    static EntityTag etag(Object... parts) {
+        return new EntityTag(Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("-")));
+    }
+
+    /**
+     * Compare l'ETag à l'en-tête If-None-Match de la requête.
+     * @return la réponse 304 si le client a déjà cette version, null sinon
+     */
+    static Response notModified(Request request, EntityTag etag) {
+        Response.ResponseBuilder builder = request.evaluatePreconditions(etag);
+        return builder != null ? builder.cacheControl(REVALIDATE).build() : null;
+    }
+
+    /**
+     * Réponse 200 portant l'ETag.
+     */
+    static Response ok(Object entity, EntityTag etag) {
+        return Response.ok(entity).tag(etag).cacheControl(REVALIDATE).build();
+    }
+
+    private static CacheControl revalidate() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        cacheControl.setNoTransform(false);
+        return cacheControl;
+    }
+}
@@ -0,0 +1,104 @@
+package org.heigvd.resource;
+
+import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.heigvd.dto.dashboard_dto.DashboardDto;
+import org.heigvd.entity.Account;
+import org.heigvd.service.AccountService;
+import org.heigvd.service.DashboardService;
+import org.heigvd.service.RevisionService;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Ressource REST de l'écran d'accueil de l'application.
+ *
+ * Regroupe en une seule requête le profil, la progression du plan, les prochains workouts et les
+ * totaux de la semaine, que l'application obtenait par trois appels successifs.
+ */
+@Path("/dashboard")
+@Produces(RestMediaType.APPLICATION_JSON)
+@Consumes(RestMediaType.APPLICATION_JSON)
+@Authenticated
+@Tag(name = "Dashboard", description = "Écran d'accueil")
+@SecurityRequirement(name = "bearerAuth")
+@RunOnVirtualThread
+public class DashboardResource {
+
+    @Inject
+    DashboardService dashboardService;
+
+    @Inject
+    AccountService accountService;
+
+    @Inject
+    RevisionService revisionService;
+
+    @GET
+    /**
+     * Récupère le tableau de bord de l'utilisateur authentifié.
+     *
+     * @param context Contexte de sécurité
+     * @param request Requête HTTP, pour If-None-Match
+     */
+    @Operation(summary = "Tableau de bord",
+            description = "Retourne le profil, la semaine et la progression du plan, les prochains workouts " +
+                    "et les totaux de la semaine par sport (distance, durée, charge) de l'utilisateur authentifié.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Tableau de bord",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = DashboardDto.class))),
+            @APIResponse(responseCode = "304", description = "Tableau de bord inchangé depuis l'ETag fourni (If-None-Match)"),
+            @APIResponse(responseCode = "404", description = "Utilisateur introuvable"),
+            @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    public Response getDashboard(@Context SecurityContext context, @Context Request request) {
+        try {
+            UUID accountId = UUID.fromString(context.getUserPrincipal().getName());
+
+            Optional<Account> account = accountService.findById(accountId);
+            if (account.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("{\"error\": \"User not found\"}")
+                        .build();
+            }
+
+            // Profil (version du compte), workouts et plan (révision), semaine en cours (date)
+            EntityTag etag = ConditionalRequests.etag("dashboard", account.get().getVersion(),
+                    revisionService.current(accountId), LocalDate.now());
+            Response notModified = ConditionalRequests.notModified(request, etag);
+            if (notModified != null) {
+                return notModified;
+            }
+
+            Optional<DashboardDto> dashboard = dashboardService.getDashboard(accountId);
+            if (dashboard.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("{\"error\": \"User not found\"}")
+                        .build();
+            }
+            return ConditionalRequests.ok(dashboard.get(), etag);
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\": \"Internal server error: " + e.getMessage() + "\"}")
+                    .build();
+        }
+    }
+}
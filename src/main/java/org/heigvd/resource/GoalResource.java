@@ -1,6 +1,7 @@
 package org.heigvd.resource;
 
 import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Response;
@@ -11,6 +12,7 @@ import org.jboss.resteasy.reactive.common.util.RestMediaType;
 @Path("/goals")
 @Produces(RestMediaType.APPLICATION_JSON)
 @Consumes(RestMediaType.APPLICATION_JSON)
+@RunOnVirtualThread
 public class GoalResource {
 
     @Inject
@@ -0,0 +1,57 @@
+package org.heigvd.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Lecture et écriture des entités dans un format binaire de Jackson (voir {@link BinaryMediaTypes}).
+ *
+ * Le mapper est une copie de celui de l'application (modules, dates ISO-8601, propriétés
+ * inconnues ignorées) sur une autre fabrique : les DTOs se sérialisent comme en JSON. Les corps lus
+ * ou écrits tels quels (flux, octets) sont laissés aux providers par défaut.
+ */
+public abstract class JacksonBinaryProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    private final ObjectMapper mapper;
+
+    protected JacksonBinaryProvider(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return !isRaw(type);
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        return mapper.readValue(entityStream, mapper.constructType(genericType));
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return !isRaw(type);
+    }
+
+    @Override
+    public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        mapper.writeValue(entityStream, entity);
+    }
+
+    private static boolean isRaw(Class<?> type) {
+        return InputStream.class.isAssignableFrom(type) || StreamingOutput.class.isAssignableFrom(type)
+                || type == byte[].class;
+    }
+}
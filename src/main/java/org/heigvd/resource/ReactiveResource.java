@@ -0,0 +1,194 @@
+package org.heigvd.resource;
+
+import io.quarkus.security.Authenticated;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.heigvd.dto.training_plan_dto.TrainingPlanLightDto;
+import org.heigvd.dto.workout_dto.WorkoutLightDto;
+import org.heigvd.entity.Sport;
+import org.heigvd.service.ReactiveReadService;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Variantes non bloquantes des lectures de workouts et du plan d'entraînement.
+ *
+ * Chaque endpoint renvoie le même contenu que son équivalent bloquant (JPA sur le pool de workers
+ * ou les threads virtuels) mais s'exécute sur la boucle d'événements avec le client PostgreSQL
+ * réactif : un client peut choisir l'une ou l'autre implémentation par endpoint, ce qui permet de
+ * les comparer sous la même charge.
+ */
+@Path("/reactive")
+@Produces(RestMediaType.APPLICATION_JSON)
+@Consumes(RestMediaType.APPLICATION_JSON)
+@Authenticated
+@Tag(name = "Reactive", description = "Lectures non bloquantes (client PostgreSQL réactif)")
+@SecurityRequirement(name = "bearerAuth")
+public class ReactiveResource {
+
+    @Inject
+    ReactiveReadService reactiveReadService;
+
+    @GET
+    @Path("/workouts/week")
+    /**
+     * Workouts de la semaine en cours de l'utilisateur authentifié.
+     *
+     * @param context Contexte de sécurité
+     */
+    @Operation(summary = "Mes workouts de la semaine (réactif)",
+            description = "Retourne les workouts de la semaine en cours, du lundi au dimanche.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Workouts de la semaine",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = WorkoutLightDto.class))),
+            @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    public Uni<Response> getMyCurrentWeekWorkouts(@Context SecurityContext context) {
+        UUID accountId = UUID.fromString(context.getUserPrincipal().getName());
+        return toResponse(reactiveReadService.getCurrentWeekWorkouts(accountId).collect().asList());
+    }
+
+    @GET
+    @Path("/workouts")
+    /**
+     * Workouts de l'utilisateur authentifié compris entre deux dates.
+     *
+     * @param start Début de la période (ISO-8601 avec décalage, inclus)
+     * @param end Fin de la période (ISO-8601 avec décalage, incluse)
+     * @param context Contexte de sécurité
+     */
+    @Operation(summary = "Mes workouts entre deux dates (réactif)",
+            description = "Retourne les workouts qui commencent et se terminent dans la période, triés par date.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Workouts de la période",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = WorkoutLightDto.class))),
+            @APIResponse(responseCode = "400", description = "Dates invalides"),
+            @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    public Uni<Response> getMyWorkoutsBetweenDates(
+            @Parameter(description = "Début de la période, ex: 2025-01-06T00:00:00+01:00", required = true)
+            @QueryParam("start") String start,
+            @Parameter(description = "Fin de la période, ex: 2025-01-12T23:59:59+01:00", required = true)
+            @QueryParam("end") String end,
+            @Context SecurityContext context) {
+        UUID accountId = UUID.fromString(context.getUserPrincipal().getName());
+
+        OffsetDateTime from;
+        OffsetDateTime to;
+        try {
+            from = OffsetDateTime.parse(start);
+            to = OffsetDateTime.parse(end);
+        } catch (DateTimeException | NullPointerException e) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\": \"Invalid start or end date\"}")
+                    .build());
+        }
+        return toResponse(reactiveReadService.getLightWorkoutsBetweenDates(accountId, from, to).collect().asList());
+    }
+
+    @GET
+    @Path("/workouts/my/sport/{sport}")
+    /**
+     * Workouts de l'utilisateur authentifié filtrés par sport, du plus ancien au plus récent.
+     *
+     * @param sport Sport cible (ex: RUNNING)
+     * @param context Contexte de sécurité
+     */
+    @Operation(summary = "Mes workouts par sport (réactif)",
+            description = "Retourne tous les workouts de l'utilisateur authentifié pour un sport.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Workouts filtrés",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = WorkoutLightDto.class))),
+            @APIResponse(responseCode = "400", description = "Sport invalide"),
+            @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    public Uni<Response> getMyWorkoutsBySport(
+            @Parameter(description = "Sport (ex: RUNNING, CYCLING)", required = true)
+            @PathParam("sport") String sport,
+            @Context SecurityContext context) {
+        UUID accountId = UUID.fromString(context.getUserPrincipal().getName());
+
+        Sport sportEnum;
+        try {
+            sportEnum = Sport.valueOf(sport.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\": \"Invalid sport: " + sport + "\"}")
+                    .build());
+        }
+        return toResponse(reactiveReadService.findByAccountIdAndSport(accountId, sportEnum).collect().asList());
+    }
+
+    @GET
+    @Path("/training-plan")
+    /**
+     * Plan d'entraînement de l'utilisateur authentifié, comme GET /training-plan.
+     *
+     * @param context Contexte de sécurité
+     * @param request Requête HTTP, pour If-None-Match
+     */
+    @Operation(summary = "Mon plan d'entraînement (réactif)",
+            description = "Retourne le plan d'entraînement de l'utilisateur authentifié s'il existe.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Plan trouvé",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TrainingPlanLightDto.class))),
+            @APIResponse(responseCode = "304", description = "Plan inchangé depuis l'ETag fourni (If-None-Match)"),
+            @APIResponse(responseCode = "404", description = "Plan introuvable"),
+            @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    public Uni<Response> getMyTrainingPlan(@Context SecurityContext context, @Context Request request) {
+        UUID accountId = UUID.fromString(context.getUserPrincipal().getName());
+
+        // Même ETag que GET /training-plan : les deux implémentations se revalident mutuellement
+        return reactiveReadService.currentRevision(accountId)
+                .flatMap(revision -> {
+                    EntityTag etag = ConditionalRequests.etag("training-plan", revision, LocalDate.now());
+                    Response notModified = ConditionalRequests.notModified(request, etag);
+                    if (notModified != null) {
+                        return Uni.createFrom().item(notModified);
+                    }
+                    return reactiveReadService.getMyTrainingPlan(accountId)
+                            .map(plan -> plan
+                                    .map(dto -> ConditionalRequests.ok(dto, etag))
+                                    .orElseGet(() -> Response.status(Response.Status.NOT_FOUND)
+                                            .entity("Training plan not found")
+                                            .build()));
+                })
+                .onFailure().recoverWithItem(ReactiveResource::internalError);
+    }
+
+    private static Uni<Response> toResponse(Uni<List<WorkoutLightDto>> workouts) {
+        return workouts
+                .map(list -> Response.ok(list).build())
+                .onFailure().recoverWithItem(ReactiveResource::internalError);
+    }
+
+    private static Response internalError(Throwable e) {
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("{\"error\": \"Internal server error: " + e.getMessage() + "\"}")
+                .build();
+    }
+}
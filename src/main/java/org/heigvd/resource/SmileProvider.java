@@ -0,0 +1,26 @@
+package org.heigvd.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Entités en Smile ({@value BinaryMediaTypes#SMILE}), avec références aux noms de champs et aux
+ * chaînes courtes déjà écrits.
+ */
+@Provider
+@Consumes(BinaryMediaTypes.SMILE)
+@Produces(BinaryMediaTypes.SMILE)
+public class SmileProvider extends JacksonBinaryProvider {
+
+    @Inject
+    public SmileProvider(ObjectMapper objectMapper) {
+        super(objectMapper.copyWith(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build()));
+    }
+}
@@ -1,5 +1,6 @@
 package org.heigvd.resource;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import org.heigvd.service.SportAnalysisService;
 
 import jakarta.inject.Inject;
@@ -9,6 +10,7 @@ import jakarta.ws.rs.core.Response;
 
 @Path("/ai")
 @Produces(MediaType.TEXT_PLAIN)
+@RunOnVirtualThread
 public class SportAnalysisResource {
 
     @Inject
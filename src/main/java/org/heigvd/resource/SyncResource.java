@@ -1,23 +1,91 @@
 package org.heigvd.resource;
 
 import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.heigvd.dto.sync_dto.SyncRequestDto;
+import org.heigvd.dto.sync_dto.SyncResponseDto;
+import org.heigvd.dto.sync_dto.SyncToken;
+import org.heigvd.service.SyncService;
 import org.jboss.resteasy.reactive.common.util.RestMediaType;
 
+import java.util.UUID;
+
+/**
+ * Synchronisation incrémentale des données de l'application.
+ *
+ * Le client renvoie le jeton de sa dernière synchronisation et ne reçoit que les workouts, le plan
+ * d'entraînement et les niveaux de forme créés, modifiés ou supprimés depuis, au lieu de
+ * retélécharger les listes complètes.
+ */
 @Path("/sync")
 @Produces(RestMediaType.APPLICATION_JSON)
 @Consumes(RestMediaType.APPLICATION_JSON)
 @Authenticated
+@Tag(name = "Sync", description = "Synchronisation incrémentale")
+@SecurityRequirement(name = "bearerAuth")
+@RunOnVirtualThread
 public class SyncResource {
 
+    @Inject
+    SyncService syncService;
+
     @POST
-    public Response sync(SecurityContext ctx) {
-        return Response.ok().build();
-    }
+    /**
+     * Synchronise les données de l'utilisateur authentifié depuis un jeton.
+     *
+     * @param ctx Contexte de sécurité
+     * @param request Jeton de la synchronisation précédente (absent pour la première)
+     */
+    @Operation(summary = "Synchroniser mes données",
+            description = "Retourne les workouts, le plan d'entraînement et les niveaux de forme modifiés ou supprimés " +
+                    "depuis le jeton fourni, et le jeton à renvoyer la prochaine fois. Sans jeton utilisable, " +
+                    "toutes les données sont renvoyées avec full = true.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Modifications depuis le jeton",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SyncResponseDto.class))),
+            @APIResponse(responseCode = "400", description = "Jeton invalide"),
+            @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    @RequestBody(description = "Jeton de la synchronisation précédente",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = SyncRequestDto.class)))
+    public Response sync(@Context SecurityContext ctx, SyncRequestDto request) {
+        UUID accountId = UUID.fromString(ctx.getUserPrincipal().getName());
 
+        SyncToken since = null;
+        if (request != null && request.getToken() != null && !request.getToken().isBlank()) {
+            try {
+                since = SyncToken.decode(request.getToken());
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\": \"Invalid sync token\"}")
+                        .build();
+            }
+        }
+
+        try {
+            return Response.ok(syncService.sync(accountId, since)).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\": \"Internal server error: " + e.getMessage() + "\"}")
+                    .build();
+        }
+    }
 }
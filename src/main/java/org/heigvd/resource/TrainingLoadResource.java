@@ -0,0 +1,96 @@
+package org.heigvd.resource;
+
+import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.heigvd.dto.TrainingLoadDayDto;
+import org.heigvd.service.TrainingLoadService;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Ressource REST pour la charge d'entraînement de l'utilisateur.
+ */
+@Path("/training-load")
+@Produces(RestMediaType.APPLICATION_JSON)
+@Consumes(RestMediaType.APPLICATION_JSON)
+@Authenticated
+@Tag(name = "Training Load", description = "Charge d'entraînement (ATL / CTL / TSB)")
+@SecurityRequirement(name = "bearerAuth")
+@RunOnVirtualThread
+public class TrainingLoadResource {
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    @Inject
+    TrainingLoadService trainingLoadService;
+
+    @GET
+    /**
+     * Récupère la charge d'entraînement quotidienne de l'utilisateur authentifié sur une période.
+     *
+     * @param from Premier jour (inclus, ISO-8601)
+     * @param to Dernier jour (inclus, ISO-8601), aujourd'hui par défaut
+     * @param context Contexte de sécurité
+     */
+    @Operation(summary = "Charge d'entraînement",
+            description = "Retourne, pour chaque jour de la période, la charge (TRIMP), la charge aiguë (ATL), " +
+                    "chronique (CTL) et la forme (TSB) de l'utilisateur authentifié.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Charge quotidienne",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(type = SchemaType.ARRAY, implementation = TrainingLoadDayDto.class))),
+            @APIResponse(responseCode = "400", description = "Période invalide"),
+            @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    public Response getTrainingLoad(
+            @Parameter(description = "Premier jour (yyyy-MM-dd), 6 semaines avant 'to' par défaut")
+            @QueryParam("from") String from,
+            @Parameter(description = "Dernier jour (yyyy-MM-dd), aujourd'hui par défaut")
+            @QueryParam("to") String to,
+            @Context SecurityContext context) {
+        try {
+            UUID accountId = UUID.fromString(context.getUserPrincipal().getName());
+
+            LocalDate toDate;
+            LocalDate fromDate;
+            try {
+                toDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+                fromDate = from != null ? LocalDate.parse(from) : toDate.minusWeeks(6);
+            } catch (DateTimeException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\": \"Invalid date, expected yyyy-MM-dd\"}")
+                        .build();
+            }
+
+            if (fromDate.isAfter(toDate) || ChronoUnit.DAYS.between(fromDate, toDate) >= MAX_RANGE_DAYS) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\": \"Range must be between 1 and " + MAX_RANGE_DAYS + " days\"}")
+                        .build();
+            }
+
+            return Response.ok(trainingLoadService.getRange(accountId, fromDate, toDate)).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\": \"Internal server error: " + e.getMessage() + "\"}")
+                    .build();
+        }
+    }
+}
@@ -2,10 +2,14 @@ package org.heigvd.resource;
 
 
 import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
@@ -39,6 +43,7 @@ import java.util.UUID;
 @Authenticated
 @Tag(name = "Training Plans", description = "Gestion des plans d'entraînement")
 @SecurityRequirement(name = "bearerAuth")
+@RunOnVirtualThread
 public class TrainingPlanResource {
 
     @Inject
@@ -58,6 +63,9 @@ public class TrainingPlanResource {
     @Inject
     WorkoutService workoutService;
 
+    @Inject
+    RevisionService revisionService;
+
     @GET
     /**
      * Récupère le plan d'entraînement de l'utilisateur authentifié.
@@ -70,29 +78,28 @@ public class TrainingPlanResource {
             @APIResponse(responseCode = "200", description = "Plan trouvé",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TrainingPlanResponseDto.class))),
+            @APIResponse(responseCode = "304", description = "Plan inchangé depuis l'ETag fourni (If-None-Match)"),
             @APIResponse(responseCode = "404", description = "Plan introuvable")
     })
-    public Response getMyTrainingPlan(SecurityContext securityContext) {
+    public Response getMyTrainingPlan(SecurityContext securityContext, @Context Request request) {
 
         UUID accountId = UUID.fromString(securityContext.getUserPrincipal().getName());
 
-        Optional<TrainingPlan> tp = trainingPlanService.getMyTrainingPlan(accountId);
+        // Le plan et ses workouts changent avec la révision du compte, la semaine en cours avec la date
+        EntityTag etag = ConditionalRequests.etag("training-plan", revisionService.current(accountId), LocalDate.now());
+        Response notModified = ConditionalRequests.notModified(request, etag);
+        if (notModified != null) {
+            return notModified;
+        }
 
-        if (tp.isEmpty()) {
+        Optional<TrainingPlanLightDto> trainingPlanLightDto = trainingPlanService.getMyTrainingPlanLight(accountId);
+
+        if (trainingPlanLightDto.isEmpty()) {
             return Response.status(Response.Status.NOT_FOUND).entity("Training plan not found").build();
         }
 
-        TrainingPlanLightDto trainingPlanLightDto = new TrainingPlanLightDto(
-                tp.get().getId(),
-                trainingPlanService.getCurrentWeekNb(tp.get()),
-                tp.get().getWeeklyPlans().size(),
-                tp.get().getWorkouts().size(),
-                tp.get().getWeeklyPlans().stream().mapToInt(wp -> wp.getDailyPlans().size()).sum(),
-                tp.get().getWeeklyPlans().get(trainingPlanService.getCurrentWeekNb(tp.get())-1)
-        );
-
         // Assuming the training plan is found, return it
-        return Response.ok(trainingPlanLightDto).build();
+        return ConditionalRequests.ok(trainingPlanLightDto.get(), etag);
     }
 
     @Transactional
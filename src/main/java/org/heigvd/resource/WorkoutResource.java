@@ -1,16 +1,29 @@
 package org.heigvd.resource;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
+import org.heigvd.analysis.DownsampleMode;
+import org.heigvd.dto.workout_dto.WorkoutCursor;
+import org.heigvd.dto.workout_dto.WorkoutFullDto;
 import org.heigvd.dto.workout_dto.WorkoutLightDto;
+import org.heigvd.dto.workout_dto.WorkoutColumnarSamplesDto;
+import org.heigvd.dto.workout_dto.WorkoutSamplesDto;
+import org.heigvd.dto.workout_dto.WorkoutSeriesDto;
+import org.heigvd.dto.workout_dto.WorkoutZonesDto;
 import org.heigvd.dto.workout_dto.WorkoutUploadDto;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.headers.Header;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
@@ -21,19 +34,33 @@ import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.heigvd.entity.Account;
 import org.heigvd.entity.Sport;
+import org.heigvd.entity.training_plan.PlanCalendar;
 import org.heigvd.entity.training_plan.TrainingPlan;
+import org.heigvd.entity.workout.ProcessingJob;
 import org.heigvd.entity.workout.Workout;
+import org.heigvd.entity.workout.data_point.SeriesMetric;
 import org.heigvd.service.AccountService;
+import org.heigvd.service.PlanContext;
+import org.heigvd.service.RevisionService;
 import org.heigvd.service.TrainingPlanService;
+import org.heigvd.service.WorkoutFetchPlan;
+import org.heigvd.service.WorkoutProcessingService;
 import org.heigvd.service.WorkoutService;
+import org.heigvd.service.WorkoutUploadParser;
+import org.hibernate.StaleStateException;
 import org.jboss.resteasy.reactive.common.util.RestMediaType;
 
 import javax.swing.text.html.Option;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Ressource REST pour la gestion des séances d'entraînement (workouts).
@@ -46,8 +73,17 @@ import java.util.UUID;
 @Consumes(RestMediaType.APPLICATION_JSON)
 @Tag(name = "Workouts", description = "Gestion des séances d'entraînement")
 @SecurityRequirement(name = "bearerAuth")
+@RunOnVirtualThread
 public class WorkoutResource {
 
+    private static final int MIN_SERIES_POINTS = 3;
+    private static final int MAX_SERIES_POINTS = 10000;
+    private static final int UPLOAD_RETRY_AFTER_SEC = 30;
+    private static final int UPLOAD_ATTEMPTS = 2;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Inject
     WorkoutService workoutService;
 
@@ -57,42 +93,64 @@ public class WorkoutResource {
     @Inject
     TrainingPlanService trainingPlanService;
 
+    @Inject
+    WorkoutUploadParser workoutUploadParser;
+
+    @Inject
+    WorkoutProcessingService workoutProcessingService;
+
+    @Inject
+    RevisionService revisionService;
+
+    @Inject
+    Validator validator;
+
     /**
      * Get the current and next week workouts for the authenticated user
+     * Without a training plan, returns all the workouts (most recent first), or a page of them
+     * when limit or cursor is given
+     * @param limit maximum number of workouts per page when there is no training plan
+     * @param cursor cursor of the next page, from the X-Next-Cursor header of the previous one
      * @param context SecurityContext to get the authenticated user
      * @return Response containing the list of the nexts n workouts or an error message
      */
     @GET
-    public Response getMyNextWorkouts(@Context SecurityContext context) {
+    public Response getMyNextWorkouts(
+            @QueryParam("limit") Integer limit,
+            @QueryParam("cursor") String cursor,
+            @Context SecurityContext context,
+            @Context Request request) {
         try {
             UUID accountId = UUID.fromString(context.getUserPrincipal().getName());
 
-            List<WorkoutLightDto> workoutDtos = new ArrayList<>();
+            // La liste ne change qu'avec la révision du compte, ou de période avec la date du jour
+            EntityTag etag = ConditionalRequests.etag("workouts", revisionService.current(accountId), LocalDate.now());
+            Response notModified = ConditionalRequests.notModified(request, etag);
+            if (notModified != null) {
+                return notModified;
+            }
 
-            Optional<TrainingPlan> tp = trainingPlanService.getMyTrainingPlan(accountId);
+            // Plan, semaine en cours et période résolus une seule fois pour la requête
+            Optional<PlanContext.ResolvedPlan> tp = trainingPlanService.resolvePlan(accountId);
 
             // If no training plan, return all workouts
             if(tp.isEmpty()) {
-                List<Workout> allWorkouts = workoutService.getAllWorkouts(accountId);
-                for(Workout w : allWorkouts) {
-                    workoutDtos.add(new WorkoutLightDto(w));
-                }
-                return Response.ok(workoutDtos).build();
+                return getWorkoutPage(accountId, null, limit, cursor, true, etag);
             }
 
-            List<OffsetDateTime> nextWorkoutsDates = trainingPlanService.getDatesForNextWorkouts(accountId);
+            List<OffsetDateTime> nextWorkoutsDates = tp.get().nextWorkoutsDates();
 
-            List<Workout> nextWorkouts = workoutService.getWorkoutsBetweenDates(
+            List<WorkoutLightDto> workoutDtos = workoutService.getLightWorkoutsBetweenDates(
                     accountId,
                     nextWorkoutsDates.getFirst(),
                     nextWorkoutsDates.getLast());
 
-            workoutDtos.addAll(nextWorkouts.stream().map(w -> {
-                Integer weekNumber = trainingPlanService.getWeekNumberForDate(tp.get(), w.getStartTime().toLocalDate());
-                return new WorkoutLightDto(w, weekNumber);
-            }).toList());
+            PlanCalendar calendar = tp.get().calendar();
+            for (WorkoutLightDto dto : workoutDtos) {
+                dto.setWeek(calendar.weekNumber(dto.getStart().toLocalDate()));
+            }
 
-            return Response.ok(workoutDtos).build();
+            return ConditionalRequests.ok(workoutDtos, etag);
 
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -103,18 +161,35 @@ public class WorkoutResource {
 
     @GET
     @Path("/all")
-    public Response getAllMyWorkouts(@Context SecurityContext context) {
+    /**
+     * Liste paginée de tous les workouts de l'utilisateur authentifié, du plus récent au plus ancien.
+     *
+     * @param limit Nombre maximum de workouts par page
+     * @param cursor Curseur de la page suivante (en-tête X-Next-Cursor de la page précédente)
+     * @param context Contexte de sécurité
+     */
+    @Operation(summary = "Tous mes workouts (paginé)",
+            description = "Retourne les workouts, du plus récent au plus ancien : tous sans limit ni cursor, " +
+                    "sinon une page. S'il reste des workouts, l'en-tête " + NEXT_CURSOR_HEADER +
+                    " contient le curseur à passer dans le paramètre cursor.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Page de workouts",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Curseur de la page suivante"),
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = WorkoutLightDto.class))),
+            @APIResponse(responseCode = "400", description = "Limite ou curseur invalide"),
+            @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    public Response getAllMyWorkouts(
+            @Parameter(description = "Nombre maximum de workouts (1 à " + MAX_PAGE_SIZE + ", " + DEFAULT_PAGE_SIZE +
+                    " par défaut avec un curseur ; sans limit ni cursor, tous les workouts)")
+            @QueryParam("limit") Integer limit,
+            @Parameter(description = "Curseur opaque de la page suivante")
+            @QueryParam("cursor") String cursor,
+            @Context SecurityContext context) {
         try {
             UUID accountId = UUID.fromString(context.getUserPrincipal().getName());
-
-            List<WorkoutLightDto> workoutDtos = new ArrayList<>();
-
-            List<Workout> allWorkouts = workoutService.getAllWorkouts(accountId);
-            for(Workout w : allWorkouts) {
-                workoutDtos.add(new WorkoutLightDto(w));
-            }
-            return Response.ok(workoutDtos).build();
-
+            return getWorkoutPage(accountId, null, limit, cursor, true, null);
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity("{\"error\": \"Internal server error: " + e.getMessage() + "\"}")
@@ -122,9 +197,169 @@ public class WorkoutResource {
         }
     }
 
+    /**
+     * Construit la réponse d'une page de workouts : la liste dans le corps et le curseur de la page
+     * suivante dans l'en-tête {@value #NEXT_CURSOR_HEADER}. Sans {@code limit} ni {@code cursor},
+     * la liste complète est renvoyée, comme avant la pagination.
+     */
+    private Response getWorkoutPage(UUID accountId, Sport sport, Integer limit, String cursor, boolean descending,
+                                    EntityTag etag) {
+        boolean paginated = limit != null || (cursor != null && !cursor.isBlank());
+        if (paginated && limit == null) {
+            limit = DEFAULT_PAGE_SIZE;
+        }
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\": \"limit must be between 1 and " + MAX_PAGE_SIZE + "\"}")
+                    .build();
+        }
+
+        WorkoutCursor position = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                position = WorkoutCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\": \"Invalid cursor\"}")
+                        .build();
+            }
+        }
+
+        WorkoutService.WorkoutPage page = workoutService.getWorkoutPage(accountId, sport, position, limit, descending);
+        Response.ResponseBuilder response = Response.ok(page.workouts());
+        if (page.next() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.next().encode());
+        }
+        if (etag != null) {
+            response.tag(etag).cacheControl(ConditionalRequests.REVALIDATE);
+        }
+        return response.build();
+    }
+
     @POST
-    @Transactional
+    @Consumes({RestMediaType.APPLICATION_JSON, BinaryMediaTypes.CBOR, BinaryMediaTypes.SMILE})
+    /**
+     * Upload d'un workout enregistré.
+     *
+     * Le workout est rattaché au plan (ou créé hors plan) puis ses analyses dérivées sont
+     * calculées en différé : la réponse est {@code 202 Accepted} (et non plus {@code 200 OK}),
+     * avec le même corps qu'auparavant. L'avancement du traitement se suit avec
+     * {@code GET /workouts/{id}/processing}.
+     *
+     * @param context Contexte de sécurité
+     * @param workout Workout enregistré
+     */
+    @Operation(summary = "Upload d'un workout",
+            description = "Enregistre un workout réalisé. Les analyses sont calculées en différé (202), " +
+                    "leur état est disponible sur GET /workouts/{id}/processing.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "202", description = "Workout enregistré, analyses en cours",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = WorkoutLightDto.class))),
+            @APIResponse(responseCode = "400", description = "Données invalides"),
+            @APIResponse(responseCode = "409", description = "Workout modifié en même temps par une autre requête"),
+            @APIResponse(responseCode = "429", description = "Trop de workouts en cours de traitement")
+    })
     public Response insertNewRecordedWorkout(@Context SecurityContext context, @Valid WorkoutUploadDto workout) {
+        if (!workoutProcessingService.hasCapacity()) {
+            return tooManyUploads();
+        }
+        return saveRecordedWorkout(context, workout);
+    }
+
+    @POST
+    @Path("/stream")
+    @Consumes({RestMediaType.APPLICATION_JSON, BinaryMediaTypes.CBOR, BinaryMediaTypes.SMILE})
+    /**
+     * Upload d'un workout enregistré, lu en streaming.
+     *
+     * Même format que {@code POST /workouts} (JSON, CBOR ou Smile selon le Content-Type), mais les
+     * échantillons sont lus au fil de l'eau sans matérialiser de listes : à privilégier pour les
+     * longues sorties. Les échantillons peuvent être envoyés en listes de points
+     * ({@code bpmDataPoints}, {@code speedDataPoints}) ou en colonnes ({@code bpmSeries},
+     * {@code speedSeries}, schéma 2).
+     *
+     * @param context Contexte de sécurité
+     * @param headers En-têtes de la requête, pour le Content-Type
+     * @param body Corps de la requête
+     */
+    @Operation(summary = "Upload d'un workout (streaming)",
+            description = "Enregistre un workout réalisé en lisant ses échantillons en streaming, pour les gros volumes.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "202", description = "Workout enregistré, analyses en cours",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = WorkoutLightDto.class))),
+            @APIResponse(responseCode = "400", description = "Données invalides"),
+            @APIResponse(responseCode = "409", description = "Workout modifié en même temps par une autre requête"),
+            @APIResponse(responseCode = "429", description = "Trop de workouts en cours de traitement")
+    })
+    @RequestBody(description = "Workout enregistré (même format que POST /workouts)", required = true,
+            content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = WorkoutUploadDto.class)),
+                    @Content(mediaType = BinaryMediaTypes.CBOR, schema = @Schema(implementation = WorkoutUploadDto.class)),
+                    @Content(mediaType = BinaryMediaTypes.SMILE, schema = @Schema(implementation = WorkoutUploadDto.class))
+            })
+    public Response insertNewRecordedWorkoutStream(@Context SecurityContext context, @Context HttpHeaders headers,
+                                                   InputStream body) {
+        if (!workoutProcessingService.hasCapacity()) {
+            return tooManyUploads();
+        }
+
+        WorkoutUploadDto workout;
+        try {
+            workout = workoutUploadParser.parse(body, BinaryMediaTypes.parserFactory(headers.getMediaType()));
+        } catch (IOException | DateTimeException | NumberFormatException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\": \"Invalid workout payload: " + e.getMessage() + "\"}")
+                    .build();
+        }
+
+        Set<ConstraintViolation<WorkoutUploadDto>> violations = validator.validate(workout);
+        if (!violations.isEmpty()) {
+            String fields = violations.stream()
+                    .map(v -> v.getPropertyPath().toString())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\": \"Missing or invalid fields: " + fields + "\"}")
+                    .build();
+        }
+
+        return saveRecordedWorkout(context, workout);
+    }
+
+    /**
+     * Enregistre l'upload dans sa propre transaction. Un upload concurrent sur le même workout fait
+     * échouer la validation (verrou optimiste) : l'upload est rejoué une fois sur l'état à jour,
+     * puis refusé en 409 si le conflit persiste.
+     */
+    private Response saveRecordedWorkout(SecurityContext context, WorkoutUploadDto workout) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return QuarkusTransaction.requiringNew().call(() -> saveRecordedWorkoutInTransaction(context, workout));
+            } catch (RuntimeException e) {
+                if (!isOptimisticLockFailure(e)) {
+                    throw e;
+                }
+                if (attempt >= UPLOAD_ATTEMPTS) {
+                    return Response.status(Response.Status.CONFLICT)
+                            .entity("{\"error\": \"Workout was modified concurrently, please retry\"}")
+                            .build();
+                }
+            }
+        }
+    }
+
+    private static boolean isOptimisticLockFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException || cause instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Response saveRecordedWorkoutInTransaction(SecurityContext context, WorkoutUploadDto workout) {
         UUID authenticatedAccountId = UUID.fromString(context.getUserPrincipal().getName());
         Optional<Account> a = accountService.findById(authenticatedAccountId);
 
@@ -139,21 +374,83 @@ public class WorkoutResource {
         Workout toReturn;
 
         if (w.isEmpty()) {
-            System.out.println("Creating new workout");
             toReturn = workoutService.createWorkoutOutOfTP(a.get(), workout);
         } else {
-            System.out.println("Merging with existing workout");
             toReturn = workoutService.mergeWorkoutWithExisting(w.get(), workout);
         }
 
-        return Response.ok(new WorkoutLightDto(toReturn)).build();
+        // Les analyses dérivées sont calculées après la validation de la transaction
+        workoutProcessingService.enqueue(toReturn);
+
+        return Response.accepted(new WorkoutLightDto(toReturn)).build();
+    }
+
+    private Response tooManyUploads() {
+        return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, UPLOAD_RETRY_AFTER_SEC)
+                .entity("{\"error\": \"Too many workouts are being processed, please retry later\"}")
+                .build();
+    }
+
+    @GET
+    @Path("/{id}/processing")
+    /**
+     * Récupère l'état du traitement différé d'un workout uploadé.
+     *
+     * @param id Identifiant du workout
+     * @param context Contexte de sécurité
+     */
+    @Operation(summary = "État du traitement d'un workout",
+            description = "Retourne le dernier job d'analyse d'un workout uploadé (PENDING, RUNNING, DONE ou FAILED).")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Job trouvé",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProcessingJob.class))),
+            @APIResponse(responseCode = "403", description = "Accès refusé"),
+            @APIResponse(responseCode = "404", description = "Workout ou job introuvable"),
+            @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    public Response getWorkoutProcessing(
+            @Parameter(description = "Identifiant du workout", required = true)
+            @PathParam("id") UUID id,
+            @Context SecurityContext context) {
+        try {
+            UUID authenticatedAccountId = UUID.fromString(context.getUserPrincipal().getName());
+
+            Optional<Workout> workoutOpt = workoutService.getWorkoutByID(id);
+            if (workoutOpt.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("{\"error\": \"Workout not found\"}")
+                        .build();
+            }
+
+            if (!workoutOpt.get().getAccount().getId().equals(authenticatedAccountId)) {
+                return Response.status(Response.Status.FORBIDDEN)
+                        .entity("{\"error\": \"You can only access your own workouts\"}")
+                        .build();
+            }
+
+            Optional<ProcessingJob> job = workoutProcessingService.findLatestJob(id);
+            if (job.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("{\"error\": \"No processing job for this workout\"}")
+                        .build();
+            }
+
+            return Response.ok(job.get()).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\": \"Internal server error: " + e.getMessage() + "\"}")
+                    .build();
+        }
     }
 
 
     @GET
     @Path("/{id}")
+    @Produces({RestMediaType.APPLICATION_JSON, BinaryMediaTypes.CBOR, BinaryMediaTypes.SMILE})
     /**
-     * Récupère un workout par identifiant.
+     * Récupère un workout par identifiant, en JSON, CBOR ou Smile selon l'en-tête Accept.
      *
      * @param id Identifiant du workout
      * @param context Contexte de sécurité
@@ -164,6 +461,7 @@ public class WorkoutResource {
             @APIResponse(responseCode = "200", description = "Workout trouvé",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = Workout.class))),
+            @APIResponse(responseCode = "304", description = "Workout inchangé depuis l'ETag fourni (If-None-Match)"),
             @APIResponse(responseCode = "403", description = "Accès refusé"),
             @APIResponse(responseCode = "404", description = "Workout introuvable"),
             @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
@@ -171,22 +469,164 @@ public class WorkoutResource {
     public Response getWorkout(
             @Parameter(description = "Identifiant du workout", required = true)
             @PathParam("id") UUID id,
-            @Context SecurityContext context){
+            @Context SecurityContext context,
+            @Context Request request){
         try {
             UUID authenticatedAccountId = UUID.fromString(context.getUserPrincipal().getName());
 
-            Optional<Account> optAccount = accountService.findById(authenticatedAccountId);
+            // Le détail dépend du workout et de la FC max du compte : 304 sans charger le workout
+            Optional<WorkoutService.WorkoutVersion> version = workoutService.getWorkoutVersion(id);
+            EntityTag etag = null;
+            if (version.isPresent() && version.get().accountId().equals(authenticatedAccountId)) {
+                // Chaque format est une représentation distincte, avec son propre ETag
+                etag = ConditionalRequests.etag("workout", id, version.get().version(), version.get().accountVersion(),
+                        BinaryMediaTypes.select(request).getSubtype());
+                Response notModified = ConditionalRequests.notModified(request, etag);
+                if (notModified != null) {
+                    return notModified;
+                }
+            }
 
-            if (optAccount.isEmpty()) {
-                return Response.status(Response.Status.BAD_REQUEST)
-                        .entity("{\"error\": \"Account not found\"}")
+            // Compte, blocs planifiés et résultats chargés avec le workout
+            Optional<Workout> workoutOpt = workoutService.getWorkoutByID(id, WorkoutFetchPlan.DETAIL);
+
+            if (workoutOpt.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("{\"error\": \"Workout not found\"}")
                         .build();
             }
 
-            Account account = optAccount.get();
+            Workout workout = workoutOpt.get();
+
+            if (!workout.getAccount().getId().equals(authenticatedAccountId)) {
+                return Response.status(Response.Status.FORBIDDEN)
+                        .entity("{\"error\": \"You can only access your own workouts\"}")
+                        .build();
+            }
+
+            WorkoutFullDto dto = workoutService.toWorkoutFullDto(workout, workout.getAccount().getFCMax());
+            return etag != null ? ConditionalRequests.ok(dto, etag) : Response.ok(dto).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\": \"Internal server error: " + e.getMessage() + "\"}")
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/{id}/samples")
+    @Produces({RestMediaType.APPLICATION_JSON, BinaryMediaTypes.CBOR, BinaryMediaTypes.SMILE})
+    /**
+     * Récupère les échantillons BPM et vitesse enregistrés d'un workout, en JSON, CBOR ou Smile
+     * selon l'en-tête Accept. Le schéma 1 renvoie un objet par échantillon, le schéma 2 des
+     * séries en colonnes ({@code t0}, {@code dt} et tableaux de valeurs parallèles).
+     *
+     * @param id Identifiant du workout
+     * @param schema Version du schéma de réponse (1 ou 2)
+     * @param context Contexte de sécurité
+     */
+    @Operation(summary = "Échantillons d'un workout",
+            description = "Retourne les séries BPM et vitesse enregistrées d'un workout appartenant à l'utilisateur authentifié.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Échantillons trouvés",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(oneOf = {WorkoutSamplesDto.class, WorkoutColumnarSamplesDto.class}))),
+            @APIResponse(responseCode = "400", description = "Schéma inconnu"),
+            @APIResponse(responseCode = "403", description = "Accès refusé"),
+            @APIResponse(responseCode = "404", description = "Workout introuvable"),
+            @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    public Response getWorkoutSamples(
+            @Parameter(description = "Identifiant du workout", required = true)
+            @PathParam("id") UUID id,
+            @Parameter(description = "Version du schéma : 1 (un objet par échantillon) ou 2 (colonnes)")
+            @QueryParam("schema") @DefaultValue("1") int schema,
+            @Context SecurityContext context) {
+        if (schema != 1 && schema != WorkoutColumnarSamplesDto.SCHEMA) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\": \"Unsupported samples schema: " + schema + "\"}")
+                    .build();
+        }
+        try {
+            UUID authenticatedAccountId = UUID.fromString(context.getUserPrincipal().getName());
 
             Optional<Workout> workoutOpt = workoutService.getWorkoutByID(id);
+            if (workoutOpt.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("{\"error\": \"Workout not found\"}")
+                        .build();
+            }
+
+            Workout workout = workoutOpt.get();
+            if (!workout.getAccount().getId().equals(authenticatedAccountId)) {
+                return Response.status(Response.Status.FORBIDDEN)
+                        .entity("{\"error\": \"You can only access your own workouts\"}")
+                        .build();
+            }
 
+            return schema == WorkoutColumnarSamplesDto.SCHEMA
+                    ? Response.ok(workoutService.getColumnarSamples(workout)).build()
+                    : Response.ok(workoutService.getSamples(workout)).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\": \"Internal server error: " + e.getMessage() + "\"}")
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/{id}/series")
+    /**
+     * Récupère une série d'un workout sous-échantillonnée pour l'affichage en graphique.
+     *
+     * @param id Identifiant du workout
+     * @param metric Série voulue (bpm, speed, pace)
+     * @param points Nombre de points maximum
+     * @param mode Algorithme de sous-échantillonnage (lttb, minmax)
+     * @param context Contexte de sécurité
+     */
+    @Operation(summary = "Série sous-échantillonnée d'un workout",
+            description = "Retourne au plus N points d'une série (BPM, vitesse ou allure) d'un workout, " +
+                    "sous-échantillonnée par LTTB ou par min/max de buckets.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Série trouvée",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = WorkoutSeriesDto.class))),
+            @APIResponse(responseCode = "400", description = "Paramètres invalides"),
+            @APIResponse(responseCode = "403", description = "Accès refusé"),
+            @APIResponse(responseCode = "404", description = "Workout introuvable"),
+            @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    public Response getWorkoutSeries(
+            @Parameter(description = "Identifiant du workout", required = true)
+            @PathParam("id") UUID id,
+            @Parameter(description = "Série voulue : bpm, speed ou pace")
+            @QueryParam("metric") @DefaultValue("bpm") String metric,
+            @Parameter(description = "Nombre de points maximum (" + MIN_SERIES_POINTS + " à " + MAX_SERIES_POINTS + ")")
+            @QueryParam("points") @DefaultValue("500") int points,
+            @Parameter(description = "Algorithme : lttb ou minmax")
+            @QueryParam("mode") @DefaultValue("lttb") String mode,
+            @Context SecurityContext context) {
+        try {
+            UUID authenticatedAccountId = UUID.fromString(context.getUserPrincipal().getName());
+
+            SeriesMetric seriesMetric;
+            DownsampleMode downsampleMode;
+            try {
+                seriesMetric = SeriesMetric.valueOf(metric.toUpperCase());
+                downsampleMode = DownsampleMode.valueOf(mode.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\": \"Invalid metric or mode\"}")
+                        .build();
+            }
+            if (points < MIN_SERIES_POINTS || points > MAX_SERIES_POINTS) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\": \"points must be between " + MIN_SERIES_POINTS + " and " + MAX_SERIES_POINTS + "\"}")
+                        .build();
+            }
+
+            Optional<Workout> workoutOpt = workoutService.getWorkoutByID(id);
             if (workoutOpt.isEmpty()) {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity("{\"error\": \"Workout not found\"}")
@@ -194,16 +634,105 @@ public class WorkoutResource {
             }
 
             Workout workout = workoutOpt.get();
+            if (!workout.getAccount().getId().equals(authenticatedAccountId)) {
+                return Response.status(Response.Status.FORBIDDEN)
+                        .entity("{\"error\": \"You can only access your own workouts\"}")
+                        .build();
+            }
 
+            return Response.ok(workoutService.getDownsampledSeries(workout, seriesMetric, points, downsampleMode)).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\": \"Internal server error: " + e.getMessage() + "\"}")
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/{id}/zones")
+    /**
+     * Récupère le temps passé dans chaque zone de fréquence cardiaque pendant un workout.
+     *
+     * @param id Identifiant du workout
+     * @param context Contexte de sécurité
+     */
+    @Operation(summary = "Temps par zone de FC d'un workout",
+            description = "Retourne le temps passé dans chaque zone de fréquence cardiaque, " +
+                    "calculé avec la FC max actuelle de l'utilisateur.")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Zones calculées",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = WorkoutZonesDto.class))),
+            @APIResponse(responseCode = "400", description = "Compte introuvable"),
+            @APIResponse(responseCode = "403", description = "Accès refusé"),
+            @APIResponse(responseCode = "404", description = "Workout introuvable"),
+            @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    public Response getWorkoutZones(
+            @Parameter(description = "Identifiant du workout", required = true)
+            @PathParam("id") UUID id,
+            @Context SecurityContext context) {
+        try {
+            UUID authenticatedAccountId = UUID.fromString(context.getUserPrincipal().getName());
+
+            Optional<Account> optAccount = accountService.findById(authenticatedAccountId);
+            if (optAccount.isEmpty()) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\": \"Account not found\"}")
+                        .build();
+            }
+
+            Optional<Workout> workoutOpt = workoutService.getWorkoutByID(id);
+            if (workoutOpt.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("{\"error\": \"Workout not found\"}")
+                        .build();
+            }
+
+            Workout workout = workoutOpt.get();
             if (!workout.getAccount().getId().equals(authenticatedAccountId)) {
                 return Response.status(Response.Status.FORBIDDEN)
                         .entity("{\"error\": \"You can only access your own workouts\"}")
                         .build();
             }
 
+            return Response.ok(workoutService.getZones(workout, optAccount.get().getFCMax())).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\": \"Internal server error: " + e.getMessage() + "\"}")
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/my/zones/week")
+    /**
+     * Récupère le temps passé dans chaque zone de FC sur les workouts réalisés de la semaine en cours.
+     *
+     * @param context Contexte de sécurité
+     */
+    @Operation(summary = "Temps par zone de FC de la semaine",
+            description = "Somme, par zone de fréquence cardiaque, du temps des workouts réalisés " +
+                    "de la semaine en cours (lundi à dimanche).")
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Résumé de la semaine",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = WorkoutZonesDto.class))),
+            @APIResponse(responseCode = "400", description = "Compte introuvable"),
+            @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
+    })
+    public Response getMyWeekZones(@Context SecurityContext context) {
+        try {
+            UUID authenticatedAccountId = UUID.fromString(context.getUserPrincipal().getName());
 
+            Optional<Account> optAccount = accountService.findById(authenticatedAccountId);
+            if (optAccount.isEmpty()) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\": \"Account not found\"}")
+                        .build();
+            }
 
-            return Response.ok(workoutService.toWorkoutFullDto(workout, account.getFCMax())).build();
+            return Response.ok(workoutService.getCurrentWeekZones(authenticatedAccountId, optAccount.get().getFCMax())).build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity("{\"error\": \"Internal server error: " + e.getMessage() + "\"}")
@@ -214,36 +743,46 @@ public class WorkoutResource {
     @GET
     @Path("/my/sport/{sport}")
     /**
-     * Liste les workouts de l'utilisateur authentifié filtrés par sport.
+     * Liste paginée des workouts de l'utilisateur authentifié filtrés par sport, du plus ancien au plus récent.
      *
      * @param sport Sport cible (ex: RUNNING)
+     * @param limit Nombre maximum de workouts par page
+     * @param cursor Curseur de la page suivante (en-tête X-Next-Cursor de la page précédente)
      * @param context Contexte de sécurité
      */
-    @Operation(summary = "Mes workouts par sport",
-            description = "Retourne les workouts filtrés par sport pour l'utilisateur authentifié.")
+    @Operation(summary = "Mes workouts par sport (paginé)",
+            description = "Retourne les workouts filtrés par sport pour l'utilisateur authentifié : tous sans limit " +
+                    "ni cursor, sinon une page. S'il reste des workouts, l'en-tête " + NEXT_CURSOR_HEADER +
+                    " contient le curseur de la page suivante.")
     @APIResponses(value = {
-            @APIResponse(responseCode = "200", description = "Liste filtrée des workouts",
+            @APIResponse(responseCode = "200", description = "Page filtrée des workouts",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Curseur de la page suivante"),
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Workout.class))),
-            @APIResponse(responseCode = "400", description = "Sport invalide"),
+                            schema = @Schema(implementation = WorkoutLightDto.class))),
+            @APIResponse(responseCode = "400", description = "Sport, limite ou curseur invalide"),
             @APIResponse(responseCode = "500", description = "Erreur interne du serveur")
     })
     public Response getMyWorkoutsBySport(
             @Parameter(description = "Sport (ex: RUNNING, CYCLING)", required = true)
             @PathParam("sport") String sport,
+            @Parameter(description = "Nombre maximum de workouts (1 à " + MAX_PAGE_SIZE + ", " + DEFAULT_PAGE_SIZE +
+                    " par défaut avec un curseur ; sans limit ni cursor, tous les workouts)")
+            @QueryParam("limit") Integer limit,
+            @Parameter(description = "Curseur opaque de la page suivante")
+            @QueryParam("cursor") String cursor,
             @Context SecurityContext context) {
         try {
             UUID authenticatedAccountId = UUID.fromString(context.getUserPrincipal().getName());
 
+            Sport sportEnum;
             try {
-                Sport sportEnum = Sport.valueOf(sport.toUpperCase());
-                List<Workout> workouts = workoutService.findByAccountIdAndSport(authenticatedAccountId, sportEnum);
-                return Response.ok(workouts).build();
+                sportEnum = Sport.valueOf(sport.toUpperCase());
             } catch (IllegalArgumentException e) {
                 return Response.status(Response.Status.BAD_REQUEST)
                         .entity("{\"error\": \"Invalid sport: " + sport + "\"}")
                         .build();
             }
+            return getWorkoutPage(authenticatedAccountId, sportEnum, limit, cursor, false, null);
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity("{\"error\": \"Internal server error: " + e.getMessage() + "\"}")
@@ -6,6 +6,8 @@ import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.heigvd.dto.workout_dto.WorkoutUploadDto;
 import org.heigvd.entity.Account;
+import org.heigvd.entity.ChangeOp;
+import org.heigvd.entity.SyncEntityType;
 import org.heigvd.entity.workout.Workout;
 import org.mindrot.jbcrypt.BCrypt;
 
@@ -25,6 +27,9 @@ public class AccountService {
     @Inject
     EntityManager em;
 
+    @Inject
+    ChangeLogService changeLogService;
+
     /**
      * Récupère tous les comptes utilisateurs.
      * @return liste des comptes
@@ -94,6 +99,7 @@ public class AccountService {
             account.setPassword(hashPassword(account.getPassword()));
         }
         em.persist(account);
+        changeLogService.append(account.getId(), SyncEntityType.ACCOUNT, account.getId(), ChangeOp.CREATE);
         return account;
     }
 
@@ -104,6 +110,7 @@ public class AccountService {
      */
     public void update(Account account) {
         em.merge(account);
+        changeLogService.append(account.getId(), SyncEntityType.ACCOUNT, account.getId(), ChangeOp.UPDATE);
     }
 
     @Transactional
@@ -115,6 +122,7 @@ public class AccountService {
         Account account = em.find(Account.class, UUID.fromString(id));
         if (account != null) {
             em.remove(account);
+            changeLogService.append(account.getId(), SyncEntityType.ACCOUNT, account.getId(), ChangeOp.DELETE);
         }
     }
 
@@ -127,6 +135,7 @@ public class AccountService {
         Account account = em.find(Account.class, id);
         if (account != null) {
             em.remove(account);
+            changeLogService.append(account.getId(), SyncEntityType.ACCOUNT, account.getId(), ChangeOp.DELETE);
         }
     }
 
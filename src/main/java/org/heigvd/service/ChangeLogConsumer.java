@@ -0,0 +1,40 @@
+package org.heigvd.service;
+
+import org.heigvd.entity.ChangeLogEntry;
+
+import java.util.List;
+
+/**
+ * Consommateur du journal des modifications, appelé par {@link ChangeLogRelay}.
+ *
+ * La livraison est « au moins une fois » : un lot dont le traitement échoue, ou dont la position n'a
+ * pas pu être enregistrée (arrêt de l'application), est relivré. Le traitement doit donc être
+ * idempotent.
+ */
+public interface ChangeLogConsumer {
+
+    /**
+     * Nom unique du consommateur, clé de sa position dans le journal (suivi de l'identifiant de
+     * l'instance si {@link #perInstance()}).
+     */
+    String name();
+
+    /**
+     * Vrai si chaque instance de l'application doit recevoir tout le journal, avec sa propre
+     * position (cache local à tenir à jour, par exemple). Sinon, la position est partagée et
+     * chaque lot n'est livré qu'à une seule instance.
+     *
+     * Une position par instance démarre à la fin du journal : les entrées antérieures au
+     * démarrage ne sont pas livrées.
+     */
+    default boolean perInstance() {
+        return false;
+    }
+
+    /**
+     * Traite un lot d'entrées, dans l'ordre du journal. Appelé hors transaction.
+     * @param entries entrées à traiter
+     * @throws Exception si le lot doit être relivré
+     */
+    void accept(List<ChangeLogEntry> entries) throws Exception;
+}
@@ -0,0 +1,195 @@
+package org.heigvd.service;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.narayana.jta.QuarkusTransactionException;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.heigvd.entity.ChangeLogCheckpoint;
+import org.heigvd.entity.ChangeLogEntry;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Publication du journal des modifications ({@link ChangeLogEntry}) aux {@link ChangeLogConsumer}.
+ *
+ * Chaque consommateur a sa position ({@link ChangeLogCheckpoint}), enregistrée après chaque lot
+ * traité : un lot en échec est relivré au passage suivant, avec l'erreur gardée sur la position.
+ *
+ * Les numéros de séquence sont attribués avant la validation : une entrée peut devenir visible
+ * après une entrée de numéro plus grand. Le journal est donc parcouru dans l'ordre
+ * ({@code tx_id}, {@code sequence}) et seulement pour les transactions antérieures au xmin du
+ * snapshot courant, toutes terminées : aucune entrée ne peut plus apparaître avant la position.
+ *
+ * Plusieurs instances partagent la base. Une position partagée est verrouillée
+ * ({@code FOR UPDATE SKIP LOCKED}) pendant la livraison d'un lot : une seule instance le livre,
+ * les autres passent leur tour. Un consommateur {@link ChangeLogConsumer#perInstance()} a une
+ * position par instance ({@link InstanceIdentity}) et reçoit ainsi tout le journal sur chacune.
+ */
+@ApplicationScoped
+public class ChangeLogRelay {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    /** Entrées qui suivent une position, limitées aux transactions terminées. */
+    private static final String BATCH_QUERY =
+            "SELECT * FROM change_log " +
+                    "WHERE (tx_id, sequence) > (:txId, :sequence) " +
+                    "AND tx_id < CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint) " +
+                    "ORDER BY tx_id, sequence LIMIT :limit";
+
+    /** Dernière entrée des transactions terminées : départ d'une position par instance. */
+    private static final String END_QUERY =
+            "SELECT tx_id, sequence FROM change_log " +
+                    "WHERE tx_id < CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint) " +
+                    "ORDER BY tx_id DESC, sequence DESC LIMIT 1";
+
+    private static final String INSERT_CHECKPOINT =
+            "INSERT INTO change_log_checkpoints (consumer, tx_id, sequence, updated_at) " +
+                    "VALUES (:consumer, :txId, :sequence, :now) ON CONFLICT (consumer) DO NOTHING";
+
+    /** Position verrouillée pour la durée d'un lot, rien si une autre instance la tient. */
+    private static final String LOCK_CHECKPOINT =
+            "SELECT * FROM change_log_checkpoints WHERE consumer = :consumer FOR UPDATE SKIP LOCKED";
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    @Any
+    Instance<ChangeLogConsumer> consumers;
+
+    @Inject
+    InstanceIdentity instance;
+
+    @ConfigProperty(name = "change-log.relay.batch-size", defaultValue = "500")
+    int batchSize;
+
+    /**
+     * Livre à chaque consommateur les entrées qui suivent sa position.
+     */
+    @Scheduled(every = "${change-log.relay.interval:1s}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void relay() {
+        for (ChangeLogConsumer consumer : consumers) {
+            relay(consumer);
+        }
+    }
+
+    /**
+     * Les positions par instance ne servent plus après l'arrêt : l'instance suivante a un autre
+     * identifiant et repart de la fin du journal.
+     */
+    void onStop(@Observes ShutdownEvent event) {
+        for (ChangeLogConsumer consumer : consumers) {
+            if (consumer.perInstance()) {
+                QuarkusTransaction.requiringNew().run(() -> em.createQuery("DELETE FROM ChangeLogCheckpoint c WHERE c.consumer = :consumer")
+                        .setParameter("consumer", checkpointKey(consumer))
+                        .executeUpdate());
+            }
+        }
+    }
+
+    /**
+     * Livre à un consommateur les entrées qui suivent sa position, par lots, jusqu'à la fin du
+     * journal, jusqu'au premier lot en échec ou tant qu'une autre instance tient la position.
+     * @param consumer consommateur
+     * @return nombre d'entrées livrées
+     */
+    public int relay(ChangeLogConsumer consumer) {
+        String key = checkpointKey(consumer);
+        QuarkusTransaction.requiringNew().run(() -> createCheckpoint(key, consumer.perInstance()));
+
+        int delivered = 0;
+        while (true) {
+            int count = QuarkusTransaction.requiringNew().call(() -> deliverBatch(consumer, key));
+            delivered += count;
+            if (count < batchSize) {
+                return delivered;
+            }
+        }
+    }
+
+    /**
+     * Clé de la position d'un consommateur : son nom, suivi de l'instance s'il a une position par
+     * instance.
+     * @param consumer consommateur
+     */
+    public String checkpointKey(ChangeLogConsumer consumer) {
+        return consumer.perInstance() ? consumer.name() + "@" + instance.id() : consumer.name();
+    }
+
+    private void createCheckpoint(String key, boolean perInstance) {
+        if (em.find(ChangeLogCheckpoint.class, key) != null) {
+            return;
+        }
+        long txId = 0L;
+        long sequence = 0L;
+        if (perInstance) {
+            List<?> end = em.createNativeQuery(END_QUERY).getResultList();
+            if (!end.isEmpty()) {
+                Object[] row = (Object[]) end.getFirst();
+                txId = ((Number) row[0]).longValue();
+                sequence = ((Number) row[1]).longValue();
+            }
+        }
+        em.createNativeQuery(INSERT_CHECKPOINT)
+                .setParameter("consumer", key)
+                .setParameter("txId", txId)
+                .setParameter("sequence", sequence)
+                .setParameter("now", OffsetDateTime.now())
+                .executeUpdate();
+    }
+
+    /**
+     * Livre le lot qui suit la position, verrouillée jusqu'à la fin de la transaction. Le
+     * consommateur est appelé avec la transaction suspendue.
+     * @return nombre d'entrées livrées, 0 si la position est tenue ailleurs ou si le lot a échoué
+     */
+    @SuppressWarnings("unchecked")
+    private int deliverBatch(ChangeLogConsumer consumer, String key) {
+        List<ChangeLogCheckpoint> locked = em.createNativeQuery(LOCK_CHECKPOINT, ChangeLogCheckpoint.class)
+                .setParameter("consumer", key)
+                .getResultList();
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        ChangeLogCheckpoint checkpoint = locked.getFirst();
+
+        List<ChangeLogEntry> batch = em.createNativeQuery(BATCH_QUERY, ChangeLogEntry.class)
+                .setParameter("txId", checkpoint.getTxId())
+                .setParameter("sequence", checkpoint.getSequence())
+                .setParameter("limit", batchSize)
+                .getResultList();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            QuarkusTransaction.suspendingExisting().call(() -> {
+                consumer.accept(batch);
+                return null;
+            });
+        } catch (Exception e) {
+            Throwable cause = e instanceof QuarkusTransactionException && e.getCause() != null ? e.getCause() : e;
+            String error = cause.getClass().getName() + ": " + cause.getMessage();
+            checkpoint.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            checkpoint.setUpdatedAt(OffsetDateTime.now());
+            return 0;
+        }
+
+        ChangeLogEntry last = batch.getLast();
+        checkpoint.setTxId(last.getTxId());
+        checkpoint.setSequence(last.getSequence());
+        checkpoint.setUpdatedAt(OffsetDateTime.now());
+        checkpoint.setLastError(null);
+        return batch.size();
+    }
+}
@@ -0,0 +1,38 @@
+package org.heigvd.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.heigvd.entity.ChangeLogEntry;
+import org.heigvd.entity.ChangeOp;
+import org.heigvd.entity.SyncEntityType;
+
+import java.util.UUID;
+
+/**
+ * Ajout au journal des modifications ({@link ChangeLogEntry}).
+ *
+ * Les écritures de workouts et de plans y passent par {@link RevisionService}, celles des comptes
+ * par {@link AccountService}. Les entrées sont ensuite publiées aux consommateurs par
+ * {@link ChangeLogRelay}.
+ */
+@ApplicationScoped
+public class ChangeLogService {
+
+    @Inject
+    EntityManager em;
+
+    /**
+     * Ajoute une entrée au journal. Doit être appelé dans la transaction de l'écriture : l'entrée
+     * n'existe que si l'écriture est validée.
+     * @param accountId compte propriétaire de l'entité
+     * @param type type de l'entité
+     * @param entityId identifiant de l'entité
+     * @param op nature de l'écriture
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void append(UUID accountId, SyncEntityType type, UUID entityId, ChangeOp op) {
+        em.persist(new ChangeLogEntry(accountId, type, entityId, op));
+    }
+}
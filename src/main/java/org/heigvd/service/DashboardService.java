@@ -0,0 +1,161 @@
+package org.heigvd.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.heigvd.dto.AccountDto;
+import org.heigvd.dto.dashboard_dto.DashboardDto;
+import org.heigvd.dto.dashboard_dto.PlanProgressDto;
+import org.heigvd.dto.dashboard_dto.SportTotalsDto;
+import org.heigvd.dto.workout_dto.WorkoutLightDto;
+import org.heigvd.entity.Account;
+import org.heigvd.entity.Sport;
+import org.heigvd.entity.training_plan.PlanCalendar;
+import org.heigvd.entity.training_plan.TrainingPlan;
+import org.heigvd.entity.workout.WorkoutStatus;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Données de l'écran d'accueil : profil, semaine du plan, progression, prochains workouts et
+ * totaux de la semaine par sport.
+ *
+ * Le compte et la structure du plan viennent du cache de second niveau et du {@link PlanCalendar} ;
+ * le reste est calculé par trois requêtes (projection des prochains workouts, agrégat par sport de
+ * la semaine, nombre de séances réalisées du plan), quel que soit le nombre de workouts.
+ */
+@ApplicationScoped
+public class DashboardService {
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    TrainingPlanService trainingPlanService;
+
+    @Inject
+    WorkoutService workoutService;
+
+    /**
+     * Construit le tableau de bord d'un compte.
+     * @param accountId identifiant du compte
+     * @return Optional<DashboardDto>, vide si le compte n'existe pas
+     */
+    public Optional<DashboardDto> getDashboard(UUID accountId) {
+        Account account = em.find(Account.class, accountId);
+        if (account == null) {
+            return Optional.empty();
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        LocalDate weekStart = now.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        OffsetDateTime weekStartTime = weekStart.atStartOfDay().atOffset(now.getOffset());
+
+        Optional<PlanContext.ResolvedPlan> resolved = trainingPlanService.resolvePlan(accountId);
+
+        // Période des prochains workouts : celle du plan, sinon la semaine en cours et la suivante
+        List<OffsetDateTime> period = resolved
+                .map(PlanContext.ResolvedPlan::nextWorkoutsDates)
+                .orElseGet(() -> List.of(weekStartTime, weekStart.plusDays(13).atTime(LocalTime.MAX).atOffset(now.getOffset())));
+        List<WorkoutLightDto> nextWorkouts = workoutService.getLightWorkoutsBetweenDates(
+                accountId, period.getFirst(), period.getLast());
+
+        PlanProgressDto plan = null;
+        if (resolved.isPresent()) {
+            PlanCalendar calendar = resolved.get().calendar();
+            for (WorkoutLightDto dto : nextWorkouts) {
+                dto.setWeek(calendar.weekNumber(dto.getStart().toLocalDate()));
+            }
+            plan = toPlanProgress(accountId, resolved.get());
+        }
+
+        return Optional.of(new DashboardDto(
+                toProfile(account),
+                weekStart,
+                plan,
+                nextWorkouts,
+                getWeekTotals(accountId, weekStartTime, weekStartTime.plusWeeks(1))));
+    }
+
+    /**
+     * Totaux des workouts réalisés sur une période, par sport, en une seule agrégation.
+     * @param accountId identifiant du compte
+     * @param from début de la période (inclus)
+     * @param to fin de la période (exclue)
+     * @return un élément par sport pratiqué sur la période
+     */
+    public List<SportTotalsDto> getWeekTotals(UUID accountId, OffsetDateTime from, OffsetDateTime to) {
+        return em.createQuery(
+                        "SELECT w.sport AS sport, COUNT(w) AS totalWorkouts, " +
+                                "COALESCE(SUM(w.distanceMeters), 0) AS totalDistance, " +
+                                "COALESCE(SUM(w.durationSec), 0) AS totalDuration, " +
+                                "COALESCE(SUM(w.trimp), 0) AS totalLoad " +
+                                "FROM Workout w WHERE w.account.id = :accountId AND w.status = :completed " +
+                                "AND w.startTime >= :from AND w.startTime < :to " +
+                                "GROUP BY w.sport ORDER BY w.sport",
+                        Tuple.class)
+                .setParameter("accountId", accountId)
+                .setParameter("completed", WorkoutStatus.COMPLETED)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultStream()
+                .map(row -> new SportTotalsDto(
+                        row.get("sport", Sport.class),
+                        row.get("totalWorkouts", Number.class).longValue(),
+                        row.get("totalDistance", Number.class).doubleValue(),
+                        row.get("totalDuration", Number.class).longValue(),
+                        row.get("totalLoad", Number.class).doubleValue()))
+                .toList();
+    }
+
+    private PlanProgressDto toPlanProgress(UUID accountId, PlanContext.ResolvedPlan resolved) {
+        TrainingPlan tp = resolved.plan();
+        PlanCalendar calendar = resolved.calendar();
+
+        long completed = 0;
+        if (tp.getStartDate() != null && tp.getEndDate() != null) {
+            OffsetDateTime now = OffsetDateTime.now();
+            completed = em.createQuery(
+                            "SELECT COUNT(w) FROM Workout w WHERE w.account.id = :accountId AND w.status = :completed " +
+                                    "AND w.startTime >= :start AND w.startTime < :end",
+                            Long.class)
+                    .setParameter("accountId", accountId)
+                    .setParameter("completed", WorkoutStatus.COMPLETED)
+                    .setParameter("start", tp.getStartDate().atStartOfDay().atOffset(now.getOffset()))
+                    .setParameter("end", tp.getEndDate().plusDays(1).atStartOfDay().atOffset(now.getOffset()))
+                    .getSingleResult();
+        }
+
+        Integer currentWeek = resolved.currentWeek();
+        return new PlanProgressDto(
+                tp.getId(),
+                currentWeek,
+                calendar.getWeekCount(),
+                calendar.phase(currentWeek),
+                calendar.slots(currentWeek).size(),
+                completed,
+                calendar.getTotalSessions());
+    }
+
+    private static AccountDto toProfile(Account account) {
+        return new AccountDto(
+                account.getId(),
+                account.getEmail(),
+                account.getFirstName(),
+                account.getLastName(),
+                account.getPhoneNumber(),
+                account.getBirthDate(),
+                account.getWeight(),
+                account.getHeight(),
+                account.getFCMax()
+        );
+    }
+}
@@ -5,16 +5,25 @@ import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import org.heigvd.entity.Goal;
 import org.heigvd.entity.Sport;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 @ApplicationScoped
 /**
  * Service d'accès aux objectifs d'entraînement (Goals).
+ *
+ * Les objectifs sont un référentiel statique : les entités sont dans le cache de second niveau
+ * ({@link Goal#CACHE_REGION}) et les résultats des requêtes dans la région {@link #QUERY_REGION}.
  */
 public class GoalService {
 
+    /** Région du cache des résultats de requêtes sur les objectifs. */
+    public static final String QUERY_REGION = "goal-queries";
+
     @Inject
     EntityManager em;
 
@@ -28,6 +37,8 @@ public class GoalService {
         return em.createQuery("SELECT g FROM Goal g WHERE g.sport = :sport AND g.targetDistance = :targetDistance", Goal.class)
                 .setParameter("sport", sport)
                 .setParameter("targetDistance", targetDistance)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, QUERY_REGION)
                 .getSingleResult();
     }
 
@@ -37,9 +48,11 @@ public class GoalService {
      * @return liste des objectifs
      */
     public List<Goal> getGoalsByIds(List<UUID> goalIds) {
-        return em.createQuery("SELECT g FROM Goal g WHERE g.id IN :goalIds", Goal.class)
-                .setParameter("goalIds", goalIds)
-                .getResultList();
+        // Chargement par identifiants : les objectifs déjà en cache ne sont pas relus en base
+        return em.unwrap(Session.class).findMultiple(Goal.class, goalIds).stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
     }
 
     /**
@@ -54,11 +67,15 @@ public class GoalService {
     public List<Goal> getGoalsBySport(Sport sport) {
         return em.createQuery("SELECT g FROM Goal g WHERE g.sport IN :sport", Goal.class)
                 .setParameter("sport", sport)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, QUERY_REGION)
                 .getResultList();
     }
 
     public List<Goal> getAllGoals() {
         return em.createQuery("SELECT g FROM Goal g", Goal.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, QUERY_REGION)
                 .getResultList();
     }
 }
@@ -0,0 +1,31 @@
+package org.heigvd.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Identifiant de l'instance de l'application en cours d'exécution.
+ *
+ * Sert à distinguer les instances qui partagent la même base (plusieurs répliques derrière un
+ * répartiteur de charge, déploiement progressif). Par défaut, un identifiant aléatoire est tiré
+ * à chaque démarrage ; {@code app.instance-id} permet de le fixer.
+ */
+@ApplicationScoped
+public class InstanceIdentity {
+
+    @ConfigProperty(name = "app.instance-id")
+    Optional<String> configured;
+
+    private String id;
+
+    @PostConstruct
+    void init() {
+        id = configured.filter(s -> !s.isBlank()).orElseGet(() -> UUID.randomUUID().toString());
+    }
+
+    public String id() { return id; }
+}
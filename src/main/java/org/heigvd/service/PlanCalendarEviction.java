@@ -0,0 +1,41 @@
+package org.heigvd.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.heigvd.entity.ChangeLogEntry;
+import org.heigvd.entity.ChangeOp;
+import org.heigvd.entity.SyncEntityType;
+
+import java.util.List;
+
+/**
+ * Retire du cache de {@link TrainingPlanService} les calendriers des plans supprimés, pour toute
+ * suppression notée au journal des modifications.
+ *
+ * Le cache est propre à chaque instance : chacune suit le journal avec sa propre position.
+ */
+@ApplicationScoped
+public class PlanCalendarEviction implements ChangeLogConsumer {
+
+    @Inject
+    TrainingPlanService trainingPlanService;
+
+    @Override
+    public String name() {
+        return "plan-calendar-eviction";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    @Override
+    public void accept(List<ChangeLogEntry> entries) {
+        for (ChangeLogEntry entry : entries) {
+            if (entry.getEntityType() == SyncEntityType.TRAINING_PLAN && entry.getOp() == ChangeOp.DELETE) {
+                trainingPlanService.evictCalendar(entry.getEntityId());
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.heigvd.service;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import org.heigvd.entity.training_plan.PlanCalendar;
+import org.heigvd.entity.training_plan.TrainingPlan;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Plan d'entraînement des comptes concernés par la requête HTTP en cours, résolu une seule fois.
+ *
+ * Les helpers de {@link TrainingPlanService} passent par ce contexte au lieu de recharger le plan
+ * (et ses collections) à chaque appel : le nombre de requêtes SQL liées au plan ne dépend plus du
+ * nombre d'appels. Les écritures sur le plan d'un compte invalident son entrée.
+ */
+@RequestScoped
+public class PlanContext {
+
+    /**
+     * Plan d'un compte et les valeurs qui en découlent pour la date de la requête.
+     * @param plan plan d'entraînement
+     * @param calendar calendrier du plan (semaines, phases, créneaux)
+     * @param currentWeek numéro de la semaine en cours (1 pour la première), null si les dates du plan sont invalides
+     * @param lastWeek true si la semaine en cours est la dernière du plan
+     * @param nextWorkoutsDates bornes de la période des prochains workouts (lundi de la semaine en cours,
+     *                          dimanche de cette semaine ou de la suivante)
+     */
+    public record ResolvedPlan(TrainingPlan plan, PlanCalendar calendar, Integer currentWeek, boolean lastWeek,
+                               List<OffsetDateTime> nextWorkoutsDates) {}
+
+    @Inject
+    TrainingPlanService trainingPlanService;
+
+    private final Map<UUID, Optional<ResolvedPlan>> plans = new HashMap<>();
+
+    /**
+     * Plan du compte, chargé au premier appel de la requête.
+     * @param accountId identifiant du compte
+     * @return Optional<ResolvedPlan>, vide si le compte n'a pas de plan
+     */
+    public Optional<ResolvedPlan> get(UUID accountId) {
+        Optional<ResolvedPlan> resolved = plans.get(accountId);
+        if (resolved == null) {
+            resolved = trainingPlanService.getMyTrainingPlan(accountId).map(trainingPlanService::resolve);
+            plans.put(accountId, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Oublie le plan d'un compte après une écriture.
+     */
+    public void invalidate(UUID accountId) {
+        plans.remove(accountId);
+    }
+}
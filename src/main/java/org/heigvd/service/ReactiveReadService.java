@@ -0,0 +1,195 @@
+package org.heigvd.service;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.heigvd.dto.training_plan_dto.TrainingPlanLightDto;
+import org.heigvd.dto.workout_dto.WorkoutLightDto;
+import org.heigvd.entity.Sport;
+import org.heigvd.entity.training_plan.DailyPlan;
+import org.heigvd.entity.training_plan.PlanCalendar;
+import org.heigvd.entity.training_plan.TrainingPlanPhase;
+import org.heigvd.entity.training_plan.WeeklyPlan;
+import org.heigvd.entity.workout.WorkoutStatus;
+import org.heigvd.entity.workout.WorkoutType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Lectures non bloquantes des workouts et du plan d'entraînement, par le client PostgreSQL réactif.
+ *
+ * Mêmes résultats que {@link WorkoutService} et {@link TrainingPlanService} pour les endpoints de
+ * lecture les plus sollicités, mais la requête ne retient aucun thread pendant l'attente de la base :
+ * elle s'exécute sur la boucle d'événements. Les requêtes sont écrites en SQL sur le schéma généré
+ * par Hibernate ; les écritures restent sur le chemin bloquant (JPA).
+ */
+@ApplicationScoped
+public class ReactiveReadService {
+
+    /** Colonnes de {@link WorkoutLightDto}, comme la projection JPQL de {@link WorkoutService}. */
+    private static final String LIGHT_DTO_SELECT =
+            "SELECT w.id, w.sport, w.type, w.status, w.duration_sec, w.source, w.start_time FROM workout w ";
+
+    @Inject
+    Pool client;
+
+    /**
+     * Révision courante d'un compte (voir {@link RevisionService#current(UUID)}).
+     * @param accountId identifiant du compte
+     * @return révision, 0 si le compte n'a encore rien modifié
+     */
+    public Uni<Long> currentRevision(UUID accountId) {
+        return client.preparedQuery("SELECT revision FROM account_revisions WHERE account_id = $1")
+                .execute(Tuple.of(accountId))
+                .map(rows -> rows.iterator().hasNext() ? rows.iterator().next().getLong("revision") : 0L);
+    }
+
+    /**
+     * Workouts d'un compte compris entre deux dates (voir {@link WorkoutService#getLightWorkoutsBetweenDates}).
+     * @param accountId identifiant du compte
+     * @param start début de la période (inclus)
+     * @param end fin de la période (incluse)
+     * @return workouts triés par date de début
+     */
+    public Multi<WorkoutLightDto> getLightWorkoutsBetweenDates(UUID accountId, OffsetDateTime start, OffsetDateTime end) {
+        return client.preparedQuery(LIGHT_DTO_SELECT +
+                        "WHERE w.account_id = $1 AND w.start_time >= $2 AND w.end_time <= $3 " +
+                        "ORDER BY w.start_time ASC, w.id ASC")
+                .execute(Tuple.of(accountId, start, end))
+                .onItem().transformToMulti(rows -> Multi.createFrom().iterable(rows))
+                .map(ReactiveReadService::toLightDto);
+    }
+
+    /**
+     * Workouts de la semaine en cours, du lundi 00:00 au dimanche 23:59:59
+     * (voir {@link WorkoutService#getCurrentWeekWorkouts}).
+     * @param accountId identifiant du compte
+     * @return workouts triés par date de début
+     */
+    public Multi<WorkoutLightDto> getCurrentWeekWorkouts(UUID accountId) {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime startOfWeek = now.toLocalDate()
+                .with(DayOfWeek.MONDAY)
+                .atStartOfDay()
+                .atOffset(now.getOffset());
+        OffsetDateTime endOfWeek = startOfWeek.plusDays(6).withHour(23).withMinute(59).withSecond(59);
+
+        return client.preparedQuery(LIGHT_DTO_SELECT +
+                        "WHERE w.account_id = $1 AND w.start_time >= $2 AND w.start_time <= $3 " +
+                        "ORDER BY w.start_time ASC, w.id ASC")
+                .execute(Tuple.of(accountId, startOfWeek, endOfWeek))
+                .onItem().transformToMulti(rows -> Multi.createFrom().iterable(rows))
+                .map(ReactiveReadService::toLightDto);
+    }
+
+    /**
+     * Workouts d'un compte pour un sport (voir {@link WorkoutService#findByAccountIdAndSport}).
+     * @param accountId identifiant du compte
+     * @param sport sport ciblé
+     * @return workouts triés par date de début
+     */
+    public Multi<WorkoutLightDto> findByAccountIdAndSport(UUID accountId, Sport sport) {
+        return client.preparedQuery(LIGHT_DTO_SELECT +
+                        "WHERE w.account_id = $1 AND w.sport = $2 " +
+                        "ORDER BY w.start_time ASC, w.id ASC")
+                .execute(Tuple.of(accountId, sport.name()))
+                .onItem().transformToMulti(rows -> Multi.createFrom().iterable(rows))
+                .map(ReactiveReadService::toLightDto);
+    }
+
+    /**
+     * Résumé du plan d'entraînement d'un compte et semaine en cours, comme GET /training-plan
+     * (voir {@link TrainingPlanService#getMyTrainingPlan}). Deux requêtes : le plan avec son nombre
+     * de workouts, puis ses semaines et leurs plans quotidiens.
+     * @param accountId identifiant du compte
+     * @return Optional<TrainingPlanLightDto>, vide si le compte n'a pas de plan
+     */
+    public Uni<Optional<TrainingPlanLightDto>> getMyTrainingPlan(UUID accountId) {
+        return client.preparedQuery(
+                        "SELECT tp.id, tp.version, tp.start_date, tp.end_date, " +
+                                "(SELECT COUNT(*) FROM trainingplan_workout tw WHERE tw.trainingplan_id = tp.id) AS workouts " +
+                                "FROM trainingplan tp WHERE tp.account_id = $1 LIMIT 1")
+                .execute(Tuple.of(accountId))
+                .flatMap(rows -> {
+                    if (!rows.iterator().hasNext()) {
+                        return Uni.createFrom().item(Optional.<TrainingPlanLightDto>empty());
+                    }
+                    Row plan = rows.iterator().next();
+                    UUID planId = plan.getUUID("id");
+                    return getWeeklyPlans(planId).map(weeks -> {
+                        PlanCalendar calendar = PlanCalendar.of(planId, plan.getLong("version"),
+                                plan.getLocalDate("start_date"), plan.getLocalDate("end_date"), weeks);
+                        Integer currentWeek = calendar.currentWeekNumber(LocalDate.now());
+                        WeeklyPlan currentWeeklyPlan = currentWeek != null && calendar.contains(currentWeek)
+                                ? weeks.get(currentWeek - 1)
+                                : null;
+                        return Optional.of(new TrainingPlanLightDto(
+                                planId,
+                                currentWeek,
+                                calendar.getWeekCount(),
+                                plan.getLong("workouts").intValue(),
+                                calendar.getTotalSessions(),
+                                currentWeeklyPlan));
+                    });
+                });
+    }
+
+    private Uni<List<WeeklyPlan>> getWeeklyPlans(UUID planId) {
+        return client.preparedQuery(
+                        "SELECT wp.id, wp.week_number, wp.phase, dp.id AS daily_id, dp.day_of_week, dp.sport " +
+                                "FROM trainingplan_weeklyplan tw " +
+                                "JOIN weeklyplan wp ON wp.id = tw.weeklyplans_id " +
+                                "LEFT JOIN weeklyplan_dailyplan wd ON wd.weeklyplan_id = wp.id " +
+                                "LEFT JOIN dailyplan dp ON dp.id = wd.dailyplans_id " +
+                                "WHERE tw.trainingplan_id = $1 " +
+                                "ORDER BY wp.week_number")
+                .execute(Tuple.of(planId))
+                .map(rows -> {
+                    Map<UUID, WeeklyPlan> weeks = new LinkedHashMap<>();
+                    for (Row row : rows) {
+                        WeeklyPlan week = weeks.computeIfAbsent(row.getUUID("id"), id -> {
+                            WeeklyPlan wp = new WeeklyPlan(new ArrayList<>(), row.getInteger("week_number"),
+                                    enumValue(TrainingPlanPhase.class, row.getString("phase")));
+                            wp.setId(id);
+                            return wp;
+                        });
+                        UUID dailyId = row.getUUID("daily_id");
+                        if (dailyId != null) {
+                            DailyPlan dp = new DailyPlan(enumValue(DayOfWeek.class, row.getString("day_of_week")),
+                                    enumValue(Sport.class, row.getString("sport")));
+                            dp.setId(dailyId);
+                            week.getDailyPlans().add(dp);
+                        }
+                    }
+                    return new ArrayList<>(weeks.values());
+                });
+    }
+
+    private static WorkoutLightDto toLightDto(Row row) {
+        Integer duration = row.getInteger("duration_sec");
+        return new WorkoutLightDto(
+                row.getUUID("id"),
+                enumValue(Sport.class, row.getString("sport")),
+                enumValue(WorkoutType.class, row.getString("type")),
+                enumValue(WorkoutStatus.class, row.getString("status")),
+                duration != null ? duration : 0,
+                row.getString("source"),
+                row.getOffsetDateTime("start_time"));
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name) {
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+}
@@ -0,0 +1,20 @@
+package org.heigvd.service;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Méthode de lecture pouvant être servie par la réplique (voir {@link ReplicaRouting}).
+ *
+ * La méthode lit par {@link ReplicaRouting#entityManager} au lieu de l'EntityManager principal ;
+ * l'intercepteur décide à chaque appel si la réplique peut être utilisée.
+ */
+@InterceptorBinding
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnly {
+}
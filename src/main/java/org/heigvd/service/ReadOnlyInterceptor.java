@@ -0,0 +1,30 @@
+package org.heigvd.service;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Route les méthodes {@link ReadOnly} vers la réplique quand {@link ReplicaRouting} l'autorise.
+ *
+ * Passe avant l'intercepteur de {@code @Transactional} : la décision porte sur la transaction de
+ * l'appelant, pas sur celle que la méthode ouvrirait elle-même.
+ */
+@ReadOnly
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class ReadOnlyInterceptor {
+
+    @Inject
+    ReplicaRouting replicaRouting;
+
+    @AroundInvoke
+    Object route(InvocationContext context) throws Exception {
+        if (replicaRouting.isRouted() || !replicaRouting.canUseReplica()) {
+            return context.proceed();
+        }
+        return replicaRouting.onReplica(context::proceed);
+    }
+}
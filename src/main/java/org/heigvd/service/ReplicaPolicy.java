@@ -0,0 +1,41 @@
+package org.heigvd.service;
+
+import java.time.Duration;
+
+/**
+ * Règles de routage d'une lecture vers la réplique (voir {@link ReplicaRouting}), séparées de
+ * l'état de la requête et du conteneur pour pouvoir être vérifiées seules.
+ *
+ * @param enabled réplique activée ({@code replica.enabled})
+ * @param maxLag retard maximal accepté ({@code replica.max-lag})
+ * @param readYourWrites durée après une écriture pendant laquelle le compte lit la base
+ *                       principale ({@code replica.read-your-writes})
+ */
+public record ReplicaPolicy(boolean enabled, Duration maxLag, Duration readYourWrites) {
+
+    /**
+     * Vrai si la requête peut lire la réplique : réplique activée et à jour, requête GET hors
+     * transaction (les entités lues restent ainsi hors des écritures).
+     * @param httpMethod méthode HTTP de la requête
+     * @param inTransaction une transaction est active
+     * @param lagMillis dernier retard mesuré de la réplique
+     */
+    public boolean allowsRequest(String httpMethod, boolean inTransaction, long lagMillis) {
+        return enabled && "GET".equals(httpMethod) && !inTransaction && lagMillis <= maxLag.toMillis();
+    }
+
+    /**
+     * Vrai si la dernière écriture du compte est sortie de la fenêtre read-your-writes.
+     * @param millisSinceLastWrite temps écoulé depuis la dernière écriture, null si aucune
+     */
+    public boolean allowsAfterWrite(Long millisSinceLastWrite) {
+        return millisSinceLastWrite == null || millisSinceLastWrite > readYourWritesWindow().toMillis();
+    }
+
+    /**
+     * La réplique peut avoir jusqu'à {@code maxLag} de retard : la fenêtre doit au moins le couvrir.
+     */
+    public Duration readYourWritesWindow() {
+        return readYourWrites.compareTo(maxLag) >= 0 ? readYourWrites : maxLag;
+    }
+}
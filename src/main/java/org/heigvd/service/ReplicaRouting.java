@@ -0,0 +1,197 @@
+package org.heigvd.service;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnit;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.quarkus.vertx.http.runtime.CurrentVertxRequest;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Routage des lectures {@link ReadOnly} vers la réplique en lecture (unité de persistance
+ * {@code replica}).
+ *
+ * Une lecture va à la réplique seulement si :
+ * <ul>
+ *     <li>la réplique est activée ({@code replica.enabled}) et son retard mesuré ne dépasse pas
+ *     {@code replica.max-lag} ;</li>
+ *     <li>elle est faite pour une requête HTTP GET, hors transaction (les entités lues restent
+ *     ainsi hors des écritures, qui passent toutes par la base principale) ;</li>
+ *     <li>la requête n'a pas lu la révision du compte ({@link #pinToPrimary()}) : un ETag
+ *     construit sur la révision de la base principale doit décrire un corps lu au même endroit ;</li>
+ *     <li>le compte authentifié n'a rien écrit depuis {@code replica.read-your-writes} (au moins
+ *     {@code replica.max-lag}) : un client qui vient d'uploader relit ses propres écritures. La
+ *     date de la dernière écriture est lue dans {@code account_revisions} sur la base principale,
+ *     elle vaut donc quelle que soit l'instance qui a reçu l'écriture.</li>
+ * </ul>
+ * Sinon, ou si la réplique ne répond pas, la lecture reste sur la base principale.
+ */
+@ApplicationScoped
+public class ReplicaRouting {
+
+    /** Retard de rejeu de la réplique en millisecondes (0 sur un serveur qui n'est pas en réplication). */
+    private static final String LAG_QUERY =
+            "SELECT CAST(CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+                    "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END AS bigint)";
+
+    /** Temps écoulé depuis la dernière écriture du compte en millisecondes, mesuré par l'horloge de la base. */
+    private static final String LAST_WRITE_QUERY =
+            "SELECT CAST(EXTRACT(EPOCH FROM clock_timestamp() - updated_at) * 1000 AS bigint) " +
+                    "FROM account_revisions WHERE account_id = :accountId AND updated_at IS NOT NULL";
+
+    /** Marque une requête dont les lectures restent sur la base principale. */
+    private static final String PRIMARY_ONLY = ReplicaRouting.class.getName() + ".primaryOnly";
+
+    /** Résultat de la vérification read-your-writes, gardé pour la durée de la requête. */
+    private static final String AFTER_WRITE = ReplicaRouting.class.getName() + ".afterWrite";
+
+    @ConfigProperty(name = "replica.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "replica.max-lag", defaultValue = "5s")
+    Duration maxLag;
+
+    @ConfigProperty(name = "replica.read-your-writes", defaultValue = "10s")
+    Duration readYourWrites;
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    @PersistenceUnit("replica")
+    Instance<EntityManager> replica;
+
+    @Inject
+    SecurityIdentity identity;
+
+    @Inject
+    CurrentVertxRequest currentRequest;
+
+    private final ThreadLocal<Boolean> routed = new ThreadLocal<>();
+
+    private ReplicaPolicy policy;
+
+    /** Inconnu tant que la réplique n'a pas été mesurée : les lectures restent sur la base principale. */
+    private volatile long lagMillis = Long.MAX_VALUE;
+
+    /**
+     * EntityManager d'une méthode {@link ReadOnly} : la réplique si l'appel y a été routé.
+     * @param primary EntityManager de la base principale
+     * @return EntityManager à utiliser pour la lecture
+     */
+    public EntityManager entityManager(EntityManager primary) {
+        return isRouted() ? replica.get() : primary;
+    }
+
+    @PostConstruct
+    void init() {
+        policy = new ReplicaPolicy(enabled, maxLag, readYourWrites);
+    }
+
+    /**
+     * Garde les lectures suivantes de la requête courante sur la base principale. Appelé quand la
+     * requête lit une valeur de la base principale qui doit correspondre au reste de la réponse
+     * (révision servant d'ETag).
+     */
+    public void pinToPrimary() {
+        RoutingContext request = currentRequest();
+        if (request != null) {
+            request.put(PRIMARY_ONLY, Boolean.TRUE);
+        }
+    }
+
+    boolean isRouted() {
+        return routed.get() != null;
+    }
+
+    boolean canUseReplica() {
+        RoutingContext request = currentRequest();
+        if (request == null || request.get(PRIMARY_ONLY) != null
+                || !policy.allowsRequest(request.request().method().name(), QuarkusTransaction.isActive(), lagMillis)) {
+            return false;
+        }
+        UUID accountId = currentAccountId();
+        if (accountId == null) {
+            return true;
+        }
+        Boolean afterWrite = request.get(AFTER_WRITE);
+        if (afterWrite == null) {
+            afterWrite = policy.allowsAfterWrite(millisSinceLastWrite(accountId));
+            request.put(AFTER_WRITE, afterWrite);
+        }
+        return afterWrite;
+    }
+
+    <T> T onReplica(Callable<T> call) throws Exception {
+        routed.set(Boolean.TRUE);
+        try {
+            return call.call();
+        } finally {
+            routed.remove();
+        }
+    }
+
+    /**
+     * Mesure le retard de la réplique.
+     */
+    @Scheduled(every = "${replica.lag-check-interval:5s}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void checkLag() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Number lag = QuarkusTransaction.requiringNew().call(() ->
+                    (Number) replica.get().createNativeQuery(LAG_QUERY).getSingleResult());
+            lagMillis = lag.longValue();
+        } catch (RuntimeException e) {
+            lagMillis = Long.MAX_VALUE;
+        }
+    }
+
+    private RoutingContext currentRequest() {
+        if (!enabled || !Arc.container().requestContext().isActive()) {
+            return null;
+        }
+        return currentRequest.getCurrent();
+    }
+
+    /**
+     * Temps écoulé depuis la dernière écriture du compte, toutes instances confondues.
+     * @return millisecondes, null si le compte n'a jamais écrit
+     */
+    private Long millisSinceLastWrite(UUID accountId) {
+        try {
+            List<?> rows = QuarkusTransaction.requiringNew().call(() -> em.createNativeQuery(LAST_WRITE_QUERY)
+                    .setParameter("accountId", accountId)
+                    .getResultList());
+            return rows.isEmpty() ? null : ((Number) rows.getFirst()).longValue();
+        } catch (RuntimeException e) {
+            // Écriture récente inconnue : la base principale est le seul choix sûr
+            return 0L;
+        }
+    }
+
+    private UUID currentAccountId() {
+        if (identity.isAnonymous()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(identity.getPrincipal().getName());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
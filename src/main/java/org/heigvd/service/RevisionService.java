@@ -0,0 +1,133 @@
+package org.heigvd.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.heigvd.entity.AccountRevision;
+import org.heigvd.entity.ChangeOp;
+import org.heigvd.entity.SyncChange;
+import org.heigvd.entity.SyncEntityType;
+import org.hibernate.query.NativeQuery;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compteur de modifications par compte ({@link AccountRevision}).
+ *
+ * Les services qui écrivent des workouts ou le plan d'un compte appellent {@link #bump(UUID)} dans
+ * leur transaction ; les ressources lisent {@link #current(UUID)} pour construire l'ETag d'une
+ * liste sans charger son contenu.
+ *
+ * {@link #recordChanges} et {@link #recordDeletion} incrémentent la révision et notent en plus
+ * les entités touchées dans le journal de synchronisation ({@link SyncChange}) et dans le journal
+ * des modifications ({@link ChangeLogService}).
+ */
+@ApplicationScoped
+public class RevisionService {
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    ReplicaRouting replicaRouting;
+
+    @Inject
+    ChangeLogService changeLogService;
+
+    /**
+     * Révision courante d'un compte, lue sur la base principale. Les lectures suivantes de la
+     * requête y restent aussi, pour qu'un ETag construit sur la révision décrive le corps renvoyé.
+     * @param accountId identifiant du compte
+     * @return révision, 0 si le compte n'a encore rien modifié
+     */
+    public long current(UUID accountId) {
+        replicaRouting.pinToPrimary();
+        return em.createQuery("SELECT r.revision FROM AccountRevision r WHERE r.accountId = :accountId", Long.class)
+                .setParameter("accountId", accountId)
+                .getResultStream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    /**
+     * Incrémente la révision d'un compte. Doit être appelé dans la transaction de l'écriture.
+     * Les lectures du compte restent ensuite sur la base principale (voir {@link ReplicaRouting}).
+     * @param accountId identifiant du compte
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void bump(UUID accountId) {
+        em.createNativeQuery(
+                        "INSERT INTO account_revisions (account_id, revision, updated_at) VALUES (:accountId, 1, clock_timestamp()) " +
+                                "ON CONFLICT (account_id) DO UPDATE SET revision = account_revisions.revision + 1, " +
+                                "updated_at = EXCLUDED.updated_at")
+                .setParameter("accountId", accountId)
+                .unwrap(NativeQuery.class)
+                // Seule cette table est concernée : le cache de second niveau n'est pas vidé
+                .addSynchronizedEntityClass(AccountRevision.class)
+                .executeUpdate();
+    }
+
+    /**
+     * Incrémente la révision d'un compte et y rattache des entités créées ou modifiées.
+     * Doit être appelé dans la transaction de l'écriture.
+     * @param accountId identifiant du compte
+     * @param type type des entités
+     * @param entityIds identifiants des entités
+     * @param op création ou modification
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordChanges(UUID accountId, SyncEntityType type, Collection<UUID> entityIds, ChangeOp op) {
+        bump(accountId);
+        for (UUID entityId : entityIds) {
+            writeChange(accountId, type, entityId, false);
+            changeLogService.append(accountId, type, entityId, op);
+        }
+    }
+
+    /**
+     * Incrémente la révision d'un compte et y rattache une entité créée ou modifiée.
+     * @param accountId identifiant du compte
+     * @param type type de l'entité
+     * @param entityId identifiant de l'entité
+     * @param op création ou modification
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordChange(UUID accountId, SyncEntityType type, UUID entityId, ChangeOp op) {
+        recordChanges(accountId, type, List.of(entityId), op);
+    }
+
+    /**
+     * Incrémente la révision d'un compte et y rattache la suppression d'une entité.
+     * @param accountId identifiant du compte
+     * @param type type de l'entité
+     * @param entityId identifiant de l'entité supprimée
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordDeletion(UUID accountId, SyncEntityType type, UUID entityId) {
+        bump(accountId);
+        writeChange(accountId, type, entityId, true);
+        changeLogService.append(accountId, type, entityId, ChangeOp.DELETE);
+    }
+
+    /**
+     * Remplace la ligne du journal d'une entité par la révision que vient de prendre le compte.
+     */
+    private void writeChange(UUID accountId, SyncEntityType type, UUID entityId, boolean deleted) {
+        em.createNativeQuery(
+                        "INSERT INTO sync_changes (id, account_id, entity_type, entity_id, revision, deleted) " +
+                                "SELECT gen_random_uuid(), r.account_id, :type, :entityId, r.revision, :deleted " +
+                                "FROM account_revisions r WHERE r.account_id = :accountId " +
+                                "ON CONFLICT (account_id, entity_type, entity_id) " +
+                                "DO UPDATE SET revision = EXCLUDED.revision, deleted = EXCLUDED.deleted")
+                .setParameter("accountId", accountId)
+                .setParameter("type", type.name())
+                .setParameter("entityId", entityId)
+                .setParameter("deleted", deleted)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(SyncChange.class)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,294 @@
+package org.heigvd.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.heigvd.entity.workout.Workout;
+import org.heigvd.entity.workout.data_point.BPMDataPoint;
+import org.heigvd.entity.workout.data_point.SampleBuffer;
+import org.heigvd.entity.workout.data_point.SpeedDataPoint;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Écriture en masse des échantillons d'un workout stockés une ligne par point
+ * ({@link BPMDataPoint}, {@link SpeedDataPoint}).
+ *
+ * Au lieu de laisser la cascade JPA générer deux INSERT par échantillon (la ligne et la table
+ * de jointure), les lignes sont envoyées avec {@code COPY ... FROM STDIN} de PostgreSQL, ou en
+ * INSERT batchés si la connexion ne permet pas le COPY. Les noms de tables et de colonnes sont
+ * lus dans le métamodèle Hibernate pour rester alignés sur le mapping des entités.
+ *
+ * Les lignes sont écrites directement en JDBC : les collections {@code actualBPMDataPoints} et
+ * {@code actualSpeedDataPoints} du workout ne doivent donc pas être modifiées dans la même session.
+ */
+@ApplicationScoped
+public class SampleBulkWriter {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    @Inject
+    EntityManager em;
+
+    private volatile SampleTables bpmTables;
+    private volatile SampleTables speedTables;
+
+    /**
+     * Remplace les échantillons BPM d'un workout.
+     * @param workout workout déjà persisté (il est flushé avant l'écriture)
+     * @param buffer échantillons, une colonne (bpm)
+     * @param zone offset des timestamps écrits
+     * @return nombre de lignes écrites
+     */
+    public int replaceBpmRows(Workout workout, SampleBuffer buffer, ZoneOffset zone) {
+        return replaceRows(workout, bpmTables(), buffer, zone);
+    }
+
+    /**
+     * Remplace les échantillons de vitesse d'un workout.
+     * @param workout workout déjà persisté (il est flushé avant l'écriture)
+     * @param buffer échantillons, deux colonnes (km/h, min/km)
+     * @param zone offset des timestamps écrits
+     * @return nombre de lignes écrites
+     */
+    public int replaceSpeedRows(Workout workout, SampleBuffer buffer, ZoneOffset zone) {
+        return replaceRows(workout, speedTables(), buffer, zone);
+    }
+
+    private int replaceRows(Workout workout, SampleTables tables, SampleBuffer buffer, ZoneOffset zone) {
+        if (buffer.nbColumns() != tables.valueColumns().length) {
+            throw new IllegalArgumentException("Expected " + tables.valueColumns().length
+                    + " sample columns but got " + buffer.nbColumns());
+        }
+
+        em.flush();
+        UUID workoutId = workout.getId();
+
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            deleteRows(connection, tables, workoutId);
+            if (buffer.size() == 0) {
+                return 0;
+            }
+
+            UUID[] ids = new UUID[buffer.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = UUID.randomUUID();
+            }
+
+            PGConnection pg = unwrapPg(connection);
+            if (pg != null) {
+                copyRows(pg, tables, workoutId, ids, buffer, zone);
+            } else {
+                insertRows(connection, tables, workoutId, ids, buffer, zone);
+            }
+            return ids.length;
+        });
+    }
+
+    // DELETE ---------------------------------------------------
+
+    private void deleteRows(Connection connection, SampleTables tables, UUID workoutId) throws SQLException {
+        List<UUID> ids = new ArrayList<>();
+        String deleteJoin = "DELETE FROM " + tables.joinTable() + " WHERE " + tables.keyColumn() + " = ? "
+                + "RETURNING " + tables.elementColumn();
+        try (PreparedStatement ps = connection.prepareStatement(deleteJoin)) {
+            ps.setObject(1, workoutId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getObject(1, UUID.class));
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        String deleteRows = "DELETE FROM " + tables.dataTable() + " WHERE " + tables.idColumn() + " = ANY (?)";
+        try (PreparedStatement ps = connection.prepareStatement(deleteRows)) {
+            Array array = connection.createArrayOf("uuid", ids.toArray());
+            ps.setArray(1, array);
+            ps.executeUpdate();
+            array.free();
+        }
+    }
+
+    // COPY -----------------------------------------------------
+
+    private void copyRows(PGConnection pg, SampleTables tables, UUID workoutId, UUID[] ids,
+                          SampleBuffer buffer, ZoneOffset zone) throws SQLException {
+        String copyData = "COPY " + tables.dataTable() + " (" + tables.dataColumnList() + ") FROM STDIN";
+        try (Writer out = copyWriter(pg, copyData)) {
+            for (int i = 0; i < ids.length; i++) {
+                out.write(ids[i].toString());
+                out.write('\t');
+                out.write(toOffsetDateTime(buffer.epochMillis(i), zone).toString());
+                for (int c = 0; c < buffer.nbColumns(); c++) {
+                    out.write('\t');
+                    double value = buffer.value(c, i);
+                    out.write(Double.isNaN(value) ? "\\N" : Double.toString(value));
+                }
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw copyFailure(e);
+        }
+
+        String copyJoin = "COPY " + tables.joinTable() + " (" + tables.keyColumn() + ", " + tables.elementColumn()
+                + ") FROM STDIN";
+        String key = workoutId.toString();
+        try (Writer out = copyWriter(pg, copyJoin)) {
+            for (UUID id : ids) {
+                out.write(key);
+                out.write('\t');
+                out.write(id.toString());
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw copyFailure(e);
+        }
+    }
+
+    private static Writer copyWriter(PGConnection pg, String sql) throws SQLException {
+        return new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(pg, sql, COPY_BUFFER_SIZE), StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+    }
+
+    private static SQLException copyFailure(IOException e) {
+        if (e.getCause() instanceof SQLException sqlException) {
+            return sqlException;
+        }
+        return new SQLException("COPY of workout samples failed", e);
+    }
+
+    // BATCHED INSERTS ------------------------------------------
+
+    private void insertRows(Connection connection, SampleTables tables, UUID workoutId, UUID[] ids,
+                            SampleBuffer buffer, ZoneOffset zone) throws SQLException {
+        String insertData = "INSERT INTO " + tables.dataTable() + " (" + tables.dataColumnList() + ") VALUES ("
+                + "?, ?" + ", ?".repeat(buffer.nbColumns()) + ")";
+        try (PreparedStatement ps = connection.prepareStatement(insertData)) {
+            for (int i = 0; i < ids.length; i++) {
+                ps.setObject(1, ids[i]);
+                ps.setObject(2, toOffsetDateTime(buffer.epochMillis(i), zone));
+                for (int c = 0; c < buffer.nbColumns(); c++) {
+                    double value = buffer.value(c, i);
+                    if (Double.isNaN(value)) {
+                        ps.setNull(3 + c, Types.DOUBLE);
+                    } else {
+                        ps.setDouble(3 + c, value);
+                    }
+                }
+                ps.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+
+        String insertJoin = "INSERT INTO " + tables.joinTable() + " (" + tables.keyColumn() + ", "
+                + tables.elementColumn() + ") VALUES (?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(insertJoin)) {
+            for (int i = 0; i < ids.length; i++) {
+                ps.setObject(1, workoutId);
+                ps.setObject(2, ids[i]);
+                ps.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // MAPPING --------------------------------------------------
+
+    private SampleTables bpmTables() {
+        if (bpmTables == null) {
+            bpmTables = resolveTables(BPMDataPoint.class, "actualBPMDataPoints", "bpm");
+        }
+        return bpmTables;
+    }
+
+    private SampleTables speedTables() {
+        if (speedTables == null) {
+            speedTables = resolveTables(SpeedDataPoint.class, "actualSpeedDataPoints", "kmh", "paceMinPerKm");
+        }
+        return speedTables;
+    }
+
+    private SampleTables resolveTables(Class<?> entity, String collectionRole, String... valueProperties) {
+        MappingMetamodel metamodel = em.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel();
+
+        AbstractEntityPersister data = (AbstractEntityPersister) metamodel.getEntityDescriptor(entity);
+        AbstractCollectionPersister join = (AbstractCollectionPersister) metamodel
+                .getCollectionDescriptor(Workout.class.getName() + "." + collectionRole);
+
+        String[] valueColumns = new String[valueProperties.length];
+        for (int i = 0; i < valueProperties.length; i++) {
+            valueColumns[i] = data.getPropertyColumnNames(valueProperties[i])[0];
+        }
+
+        return new SampleTables(
+                data.getIdentifierTableName(),
+                data.getIdentifierColumnNames()[0],
+                data.getPropertyColumnNames("timestamp")[0],
+                valueColumns,
+                join.getTableName(),
+                join.getKeyColumnNames()[0],
+                join.getElementColumnNames()[0]);
+    }
+
+    private static PGConnection unwrapPg(Connection connection) {
+        try {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                return connection.unwrap(PGConnection.class);
+            }
+        } catch (SQLException e) {
+            // pas de COPY possible : INSERT batchés
+        }
+        return null;
+    }
+
+    private static OffsetDateTime toOffsetDateTime(long epochMs, ZoneOffset zone) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMs), zone);
+    }
+
+    /**
+     * Tables et colonnes d'une série d'échantillons : la table des points et la table de
+     * jointure vers {@link Workout}.
+     */
+    private record SampleTables(String dataTable, String idColumn, String timestampColumn, String[] valueColumns,
+                                String joinTable, String keyColumn, String elementColumn) {
+
+        String dataColumnList() {
+            return idColumn + ", " + timestampColumn + ", " + String.join(", ", valueColumns);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.heigvd.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.heigvd.analysis.filter.HampelFilter;
+import org.heigvd.analysis.filter.MaxDeltaFilter;
+import org.heigvd.analysis.filter.RangeFilter;
+import org.heigvd.analysis.filter.SampleFilter;
+import org.heigvd.analysis.filter.SampleFilterChain;
+import org.heigvd.analysis.filter.SampleSink;
+import org.heigvd.entity.workout.data_point.SampleBuffer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Nettoyage des échantillons BPM à l'ingestion (pics et décrochages des capteurs optiques).
+ *
+ * Les étapes sont appliquées dans l'ordre : plage plausible, variation maximale par seconde, puis
+ * filtre de Hampel ; les trous d'enregistrement séparent la série en segments filtrés
+ * indépendamment. Les réglages sont sous {@code workout.filter.*} ; avec
+ * {@code workout.filter.enabled=false} les échantillons sont gardés tels quels.
+ */
+@ApplicationScoped
+public class SampleFilterService {
+
+    @ConfigProperty(name = "workout.filter.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "workout.filter.bpm-min", defaultValue = "30")
+    double bpmMin;
+
+    @ConfigProperty(name = "workout.filter.bpm-max", defaultValue = "240")
+    double bpmMax;
+
+    @ConfigProperty(name = "workout.filter.max-delta-per-sec", defaultValue = "20")
+    double maxDeltaPerSec;
+
+    @ConfigProperty(name = "workout.filter.hampel-half-window", defaultValue = "3")
+    int hampelHalfWindow;
+
+    @ConfigProperty(name = "workout.filter.hampel-threshold", defaultValue = "3")
+    double hampelThreshold;
+
+    @ConfigProperty(name = "workout.filter.hampel-min-deviation", defaultValue = "5")
+    double hampelMinDeviation;
+
+    @ConfigProperty(name = "workout.filter.max-gap", defaultValue = "10s")
+    Duration maxGap;
+
+    /**
+     * Crée une chaîne de filtrage BPM qui écrit dans {@code out}.
+     * {@link SampleFilterChain#finish()} doit être appelé après le dernier échantillon.
+     */
+    public SampleFilterChain bpmChain(SampleSink out) {
+        List<SampleFilter> stages = enabled
+                ? List.of(new RangeFilter(bpmMin, bpmMax),
+                        new MaxDeltaFilter(maxDeltaPerSec),
+                        new HampelFilter(hampelHalfWindow, hampelThreshold, hampelMinDeviation))
+                : List.of();
+        return new SampleFilterChain(stages, maxGap.toMillis(), out);
+    }
+
+    /**
+     * Filtre un tampon BPM déjà rempli.
+     * @param raw échantillons bruts (une colonne)
+     * @return nouveau tampon filtré, de même taille
+     */
+    public SampleBuffer filterBpm(SampleBuffer raw) {
+        SampleBuffer cleaned = new SampleBuffer(1);
+        SampleFilterChain chain = bpmChain(cleaned::add);
+        for (int i = 0; i < raw.size(); i++) {
+            chain.add(raw.epochMillis(i), raw.value(0, i));
+        }
+        chain.finish();
+        return cleaned;
+    }
+}
@@ -40,8 +40,13 @@ public class SportAnalysisService {
             .connectTimeout(Duration.ofSeconds(10))
             .build();
 
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isEmpty()
+                && !"your-groq-key-here".equals(apiKey) && !"your-groq-api-key-here".equals(apiKey);
+    }
+
     public String analyzeSportActivity(String activityJson) {
-        if (apiKey == null || apiKey.isEmpty() || "your-groq-key-here".equals(apiKey)) {
+        if (!isConfigured()) {
             return "Clé API Groq non configurée.";
         }
 
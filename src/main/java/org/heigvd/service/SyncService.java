@@ -0,0 +1,122 @@
+package org.heigvd.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.heigvd.dto.FitnessLevelDto;
+import org.heigvd.dto.sync_dto.SyncResponseDto;
+import org.heigvd.dto.sync_dto.SyncToken;
+import org.heigvd.entity.SyncChange;
+import org.heigvd.entity.SyncEntityType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Synchronisation incrémentale des workouts, du plan d'entraînement et des niveaux de forme d'un
+ * compte.
+ *
+ * Le jeton d'un client est la révision du compte ({@link RevisionService}) qu'il a déjà reçue. Si
+ * elle n'a pas bougé, la synchronisation se limite à la lecture de cette révision ; sinon seules
+ * les entités notées dans {@link SyncChange} depuis ce jeton sont relues. Sans jeton utilisable,
+ * le client reçoit toutes ses données ({@code full}).
+ */
+@ApplicationScoped
+public class SyncService {
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    RevisionService revisionService;
+
+    @Inject
+    WorkoutService workoutService;
+
+    @Inject
+    TrainingPlanService trainingPlanService;
+
+    /**
+     * Modifications d'un compte depuis un jeton.
+     * @param accountId identifiant du compte
+     * @param since jeton renvoyé par le client, null pour une première synchronisation
+     * @return entités modifiées ou supprimées depuis le jeton, et le jeton suivant
+     */
+    public SyncResponseDto sync(UUID accountId, SyncToken since) {
+        long current = revisionService.current(accountId);
+        String next = new SyncToken(accountId, current).encode();
+
+        boolean usable = since != null && since.accountId().equals(accountId) && since.revision() <= current;
+        if (!usable) {
+            return snapshot(accountId, next);
+        }
+        if (since.revision() == current) {
+            return new SyncResponseDto(next, false);
+        }
+
+        // Bornée par la révision lue : les écritures plus récentes viendront avec le jeton suivant
+        List<SyncChange> changes = em.createQuery(
+                        "SELECT c FROM SyncChange c WHERE c.accountId = :accountId " +
+                                "AND c.revision > :since AND c.revision <= :current",
+                        SyncChange.class)
+                .setParameter("accountId", accountId)
+                .setParameter("since", since.revision())
+                .setParameter("current", current)
+                .getResultList();
+
+        Map<SyncEntityType, List<UUID>> changed = new EnumMap<>(SyncEntityType.class);
+        Map<SyncEntityType, List<UUID>> deleted = new EnumMap<>(SyncEntityType.class);
+        for (SyncEntityType type : SyncEntityType.values()) {
+            changed.put(type, new ArrayList<>());
+            deleted.put(type, new ArrayList<>());
+        }
+        for (SyncChange change : changes) {
+            (change.isDeleted() ? deleted : changed).get(change.getEntityType()).add(change.getEntityId());
+        }
+
+        SyncResponseDto response = new SyncResponseDto(next, false);
+        response.setWorkouts(workoutService.getLightWorkouts(accountId, changed.get(SyncEntityType.WORKOUT)));
+        response.setDeletedWorkouts(deleted.get(SyncEntityType.WORKOUT));
+        if (!changed.get(SyncEntityType.TRAINING_PLAN).isEmpty()) {
+            response.setTrainingPlan(trainingPlanService.getMyTrainingPlanLight(accountId).orElse(null));
+        }
+        response.setDeletedTrainingPlans(deleted.get(SyncEntityType.TRAINING_PLAN));
+        response.setFitnessLevels(getFitnessLevels(accountId, changed.get(SyncEntityType.FITNESS_LEVEL)));
+        response.setDeletedFitnessLevels(deleted.get(SyncEntityType.FITNESS_LEVEL));
+        return response;
+    }
+
+    private SyncResponseDto snapshot(UUID accountId, String next) {
+        SyncResponseDto response = new SyncResponseDto(next, true);
+        response.setWorkouts(workoutService.getLightWorkouts(accountId, null));
+        response.setTrainingPlan(trainingPlanService.getMyTrainingPlanLight(accountId).orElse(null));
+        response.setFitnessLevels(getFitnessLevels(accountId, null));
+        return response;
+    }
+
+    /**
+     * Niveaux de forme d'un compte.
+     * @param ids identifiants à relire, null pour tous
+     */
+    private List<FitnessLevelDto> getFitnessLevels(UUID accountId, Collection<UUID> ids) {
+        if (ids != null && ids.isEmpty()) {
+            return List.of();
+        }
+        TypedQuery<FitnessLevelDto> query = em.createQuery(
+                        "SELECT new org.heigvd.dto.FitnessLevelDto(f.id, f.date, f.fitnessLevel) " +
+                                "FROM Account a JOIN a.fitnessLevels f WHERE a.id = :accountId " +
+                                (ids != null ? "AND f.id IN :ids " : "") +
+                                "ORDER BY f.date ASC, f.id ASC",
+                        FitnessLevelDto.class)
+                .setParameter("accountId", accountId);
+        if (ids != null) {
+            query.setParameter("ids", ids);
+        }
+        return query.getResultList();
+    }
+}
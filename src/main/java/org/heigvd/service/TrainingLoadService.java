@@ -0,0 +1,207 @@
+package org.heigvd.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.heigvd.analysis.TrainingLoad;
+import org.heigvd.dto.TrainingLoadDayDto;
+import org.heigvd.entity.Account;
+import org.heigvd.entity.TrainingLoadDay;
+import org.heigvd.entity.workout.Workout;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Charge d'entraînement quotidienne (ATL / CTL / TSB) d'un compte.
+ *
+ * La table {@code training_load_days} est maintenue de façon incrémentale : quand la charge d'un
+ * workout change (upload, fusion, suppression), seule la charge des jours concernés est corrigée,
+ * puis les moyennes mobiles sont repropagées à partir du premier jour modifié. Seuls les jours
+ * avec de la charge ont une ligne ; les jours intermédiaires se déduisent par décroissance.
+ */
+@ApplicationScoped
+public class TrainingLoadService {
+
+    private static final double EPSILON = 1e-9;
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    WorkoutService workoutService;
+
+    /**
+     * Recalcule la charge (TRIMP) d'un workout à partir de ses échantillons BPM et met à jour
+     * la charge quotidienne du compte. Doit être appelé dans une transaction.
+     * @param workout workout persisté
+     */
+    public void refreshWorkoutLoad(Workout workout) {
+        Account account = workout.getAccount();
+        if (account == null) {
+            return;
+        }
+        double trimp = TrainingLoad.edwardsTrimp(workoutService.getBpmSeries(workout), account.getFCMax());
+        updateWorkoutLoad(workout, trimp > 0 ? trimp : null);
+    }
+
+    /**
+     * Retire la charge d'un workout de la charge quotidienne du compte, avant sa suppression.
+     * Doit être appelé dans une transaction.
+     * @param workout workout supprimé
+     */
+    public void removeWorkoutLoad(Workout workout) {
+        if (workout.getAccount() != null) {
+            updateWorkoutLoad(workout, null);
+        }
+    }
+
+    private void updateWorkoutLoad(Workout workout, Double trimp) {
+        Map<LocalDate, Double> deltas = new TreeMap<>();
+        if (workout.getTrimp() != null && workout.getLoadDate() != null) {
+            deltas.merge(workout.getLoadDate(), -workout.getTrimp(), Double::sum);
+        }
+        LocalDate day = trimp != null ? workout.getStartTime().toLocalDate() : null;
+        if (trimp != null) {
+            deltas.merge(day, trimp, Double::sum);
+        }
+
+        workout.setTrimp(trimp);
+        workout.setLoadDate(day);
+
+        deltas.values().removeIf(delta -> Math.abs(delta) < EPSILON);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // Sérialise les mises à jour concurrentes d'un même compte
+        Account account = em.find(Account.class, workout.getAccount().getId(), LockModeType.PESSIMISTIC_WRITE);
+
+        for (Map.Entry<LocalDate, Double> delta : deltas.entrySet()) {
+            TrainingLoadDay row = findDay(account.getId(), delta.getKey())
+                    .orElseGet(() -> {
+                        TrainingLoadDay created = new TrainingLoadDay(account, delta.getKey());
+                        em.persist(created);
+                        return created;
+                    });
+            row.setLoad(Math.max(0, row.getLoad() + delta.getValue()));
+            if (row.getLoad() < EPSILON) {
+                em.remove(row);
+            }
+        }
+        em.flush();
+
+        propagate(account.getId(), deltas.keySet().iterator().next());
+    }
+
+    /**
+     * Recalcule ATL / CTL / TSB des jours à partir de {@code from}, en partant de l'état du
+     * dernier jour précédent.
+     */
+    private void propagate(UUID accountId, LocalDate from) {
+        Optional<TrainingLoadDay> previous = em.createQuery(
+                        "SELECT d FROM TrainingLoadDay d WHERE d.account.id = :accountId AND d.day < :from " +
+                                "ORDER BY d.day DESC",
+                        TrainingLoadDay.class)
+                .setParameter("accountId", accountId)
+                .setParameter("from", from)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+
+        TrainingLoad.State state = previous
+                .map(d -> new TrainingLoad.State(d.getAtl(), d.getCtl()))
+                .orElse(TrainingLoad.State.ZERO);
+        LocalDate stateDay = previous.map(TrainingLoadDay::getDay).orElse(null);
+
+        List<TrainingLoadDay> days = em.createQuery(
+                        "SELECT d FROM TrainingLoadDay d WHERE d.account.id = :accountId AND d.day >= :from " +
+                                "ORDER BY d.day ASC",
+                        TrainingLoadDay.class)
+                .setParameter("accountId", accountId)
+                .setParameter("from", from)
+                .getResultList();
+
+        for (TrainingLoadDay day : days) {
+            TrainingLoad.State before = stateDay == null
+                    ? TrainingLoad.State.ZERO
+                    : state.decay(ChronoUnit.DAYS.between(stateDay, day.getDay()) - 1);
+            state = before.next(day.getLoad());
+            stateDay = day.getDay();
+
+            day.setTsb(before.tsb());
+            day.setAtl(state.atl());
+            day.setCtl(state.ctl());
+        }
+    }
+
+    /**
+     * Charge quotidienne d'un compte sur une période, jour par jour (y compris les jours sans
+     * entraînement), à partir de la table matérialisée.
+     * @param accountId identifiant du compte
+     * @param from premier jour (inclus)
+     * @param to dernier jour (inclus)
+     * @return un élément par jour
+     */
+    public List<TrainingLoadDayDto> getRange(UUID accountId, LocalDate from, LocalDate to) {
+        Optional<TrainingLoadDay> previous = em.createQuery(
+                        "SELECT d FROM TrainingLoadDay d WHERE d.account.id = :accountId AND d.day < :from " +
+                                "ORDER BY d.day DESC",
+                        TrainingLoadDay.class)
+                .setParameter("accountId", accountId)
+                .setParameter("from", from)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+
+        Map<LocalDate, TrainingLoadDay> rows = new TreeMap<>();
+        em.createQuery(
+                        "SELECT d FROM TrainingLoadDay d WHERE d.account.id = :accountId " +
+                                "AND d.day >= :from AND d.day <= :to",
+                        TrainingLoadDay.class)
+                .setParameter("accountId", accountId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultStream()
+                .forEach(d -> rows.put(d.getDay(), d));
+
+        TrainingLoad.State state = previous
+                .map(d -> new TrainingLoad.State(d.getAtl(), d.getCtl()))
+                .orElse(TrainingLoad.State.ZERO);
+        LocalDate stateDay = previous.map(TrainingLoadDay::getDay).orElse(null);
+
+        List<TrainingLoadDayDto> result = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            TrainingLoadDay row = rows.get(day);
+            if (row != null) {
+                result.add(new TrainingLoadDayDto(day, row.getLoad(), row.getAtl(), row.getCtl(), row.getTsb()));
+                state = new TrainingLoad.State(row.getAtl(), row.getCtl());
+                stateDay = day;
+            } else {
+                TrainingLoad.State before = stateDay == null
+                        ? TrainingLoad.State.ZERO
+                        : state.decay(ChronoUnit.DAYS.between(stateDay, day) - 1);
+                TrainingLoad.State after = before.decay(1);
+                result.add(new TrainingLoadDayDto(day, 0, after.atl(), after.ctl(), before.tsb()));
+            }
+        }
+        return result;
+    }
+
+    private Optional<TrainingLoadDay> findDay(UUID accountId, LocalDate day) {
+        return em.createQuery(
+                        "SELECT d FROM TrainingLoadDay d WHERE d.account.id = :accountId AND d.day = :day",
+                        TrainingLoadDay.class)
+                .setParameter("accountId", accountId)
+                .setParameter("day", day)
+                .getResultStream()
+                .findFirst();
+    }
+}
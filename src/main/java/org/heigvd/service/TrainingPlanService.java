@@ -1,15 +1,26 @@
 package org.heigvd.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.quarkus.arc.Arc;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.heigvd.dto.training_plan_dto.TrainingPlanLightDto;
 import org.heigvd.dto.training_plan_dto.TrainingPlanRequestDto;
 import org.heigvd.entity.Account;
+import org.heigvd.entity.ChangeOp;
+import org.heigvd.entity.SyncEntityType;
+import org.heigvd.entity.training_plan.PlanCalendar;
 import org.heigvd.entity.training_plan.TrainingPlan;
 import org.heigvd.entity.training_plan.WeeklyPlan;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
@@ -28,6 +39,35 @@ public class TrainingPlanService {
     @Inject
     TrainingGeneratorService tgs;
 
+    @Inject
+    PlanContext planContext;
+
+    @Inject
+    RevisionService revisionService;
+
+    @Inject
+    ReplicaRouting replicaRouting;
+
+    @ConfigProperty(name = "training-plan.calendar-cache.max-size", defaultValue = "10000")
+    long calendarCacheMaxSize;
+
+    @ConfigProperty(name = "training-plan.calendar-cache.max-idle", defaultValue = "30m")
+    Duration calendarCacheMaxIdle;
+
+    /**
+     * Calendriers des plans persistés, reconstruits quand la version du plan change. Borné en
+     * taille et en inactivité : un plan qui n'est plus lu finit par en sortir.
+     */
+    private Cache<UUID, PlanCalendar> calendars;
+
+    @PostConstruct
+    void init() {
+        calendars = Caffeine.newBuilder()
+                .maximumSize(calendarCacheMaxSize)
+                .expireAfterAccess(calendarCacheMaxIdle)
+                .build();
+    }
+
     /**
      * Génère un nouveau plan d'entraînement pour l'utilisateur.
      * @param request DTO contenant les paramètres de génération
@@ -52,6 +92,7 @@ public class TrainingPlanService {
             throw new IllegalStateException("User already has a training plan.");
         }
         em.persist(tp);
+        invalidatePlan(tp.getAccount().getId(), tp.getId(), ChangeOp.CREATE);
     }
 
     /**
@@ -74,13 +115,25 @@ public class TrainingPlanService {
 
         // Persister le plan
         em.persist(newPlan);
+        invalidatePlan(account.getId(), newPlan.getId(), ChangeOp.CREATE);
 
         return newPlan;
     }
 
+    /**
+     * Enregistre les modifications d'un plan, y compris celles de ses semaines et de ses jours.
+     * @param tp plan d'entraînement modifié
+     */
     @Transactional
     public void merge(TrainingPlan tp) {
-        em.merge(tp);
+        TrainingPlan managed = em.merge(tp);
+        // Modifier une semaine ou un jour ne change pas la version du plan : elle est forcée pour
+        // que les calendriers en cache, indexés par version, soient reconstruits
+        em.lock(managed, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        calendars.invalidate(managed.getId());
+        if (tp.getAccount() != null) {
+            invalidatePlan(tp.getAccount().getId(), tp.getId(), ChangeOp.UPDATE);
+        }
     }
 
     /**
@@ -93,11 +146,16 @@ public class TrainingPlanService {
     public TrainingPlan replaceTrainingPlan(TrainingPlanRequestDto request, Account account) {
         // Supprimer l'ancien plan s'il existe
         Optional<TrainingPlan> existingPlan = getMyTrainingPlan(account.getId());
-        existingPlan.ifPresent(plan -> em.remove(plan));
+        existingPlan.ifPresent(plan -> {
+            calendars.invalidate(plan.getId());
+            em.remove(plan);
+            revisionService.recordDeletion(account.getId(), SyncEntityType.TRAINING_PLAN, plan.getId());
+        });
 
         // Générer et persister le nouveau plan
         TrainingPlan newPlan = tgs.generate(request, account);
         em.persist(newPlan);
+        invalidatePlan(account.getId(), newPlan.getId(), ChangeOp.CREATE);
 
         return newPlan;
     }
@@ -107,109 +165,165 @@ public class TrainingPlanService {
      * @param accountId identifiant de l'utilisateur
      * @return Optional<TrainingPlan>
      */
+    @ReadOnly
     public Optional<TrainingPlan> getMyTrainingPlan(UUID accountId) {
-        return em.createQuery("SELECT tp FROM TrainingPlan tp WHERE tp.account.id = :accountId", TrainingPlan.class)
+        return replicaRouting.entityManager(em).createQuery("SELECT tp FROM TrainingPlan tp WHERE tp.account.id = :accountId", TrainingPlan.class)
                 .setParameter("accountId", accountId)
                 .getResultStream()
                 .findFirst();
     }
 
-    public Integer getCurrentWeekNb(TrainingPlan tp) {
-        if (tp.getStartDate() == null || tp.getEndDate() == null) {
-            return null; // Training plan dates are not set
+    /**
+     * Plan de l'utilisateur et valeurs dérivées (semaine en cours, période des prochains workouts),
+     * résolus une seule fois par requête HTTP via {@link PlanContext}. Hors requête (tâches de
+     * fond), le plan est chargé à chaque appel.
+     * @param accountId identifiant de l'utilisateur
+     * @return Optional<PlanContext.ResolvedPlan>
+     */
+    public Optional<PlanContext.ResolvedPlan> resolvePlan(UUID accountId) {
+        if (Arc.container().requestContext().isActive()) {
+            return planContext.get(accountId);
         }
-        if (tp.getStartDate().isAfter(tp.getEndDate())) {
-            return null; // Invalid training plan dates
+        return getMyTrainingPlan(accountId).map(this::resolve);
+    }
+
+    /**
+     * Résumé du plan de l'utilisateur et de sa semaine en cours, tel que renvoyé par GET /training-plan.
+     * @param accountId identifiant de l'utilisateur
+     * @return Optional<TrainingPlanLightDto>, vide si l'utilisateur n'a pas de plan
+     */
+    public Optional<TrainingPlanLightDto> getMyTrainingPlanLight(UUID accountId) {
+        return resolvePlan(accountId).map(resolved -> {
+            TrainingPlan tp = resolved.plan();
+            PlanCalendar calendar = resolved.calendar();
+            return new TrainingPlanLightDto(
+                    tp.getId(),
+                    resolved.currentWeek(),
+                    calendar.getWeekCount(),
+                    tp.getWorkouts().size(),
+                    calendar.getTotalSessions(),
+                    getWeeklyPlan(tp, resolved.currentWeek()));
+        });
+    }
+
+    PlanContext.ResolvedPlan resolve(TrainingPlan tp) {
+        PlanCalendar calendar = getCalendar(tp);
+        Integer currentWeek = calendar.currentWeekNumber(LocalDate.now());
+        boolean lastWeek = calendar.isLastWeek(currentWeek);
+
+        List<OffsetDateTime> dates = new ArrayList<>();
+        // Add the date of the current week Monday
+        dates.add(OffsetDateTime.now()
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                .with(LocalTime.MIDNIGHT));
+
+        if(lastWeek) {
+            dates.add(OffsetDateTime.now()
+                    .with(TemporalAdjusters.next(DayOfWeek.SUNDAY))
+                    .with(LocalTime.MAX));
+        } else {
+            dates.add(OffsetDateTime.now()
+                    .plusWeeks(1)
+                    .with(TemporalAdjusters.next(DayOfWeek.SUNDAY))
+                    .with(LocalTime.MAX));
+        }
+
+        return new PlanContext.ResolvedPlan(tp, calendar, currentWeek, lastWeek, List.copyOf(dates));
+    }
+
+    /**
+     * Calendrier du plan, construit une seule fois par version du plan. Un plan pas encore
+     * persisté (en cours de génération) n'est pas mis en cache.
+     * @param tp plan d'entraînement
+     * @return PlanCalendar
+     */
+    public PlanCalendar getCalendar(TrainingPlan tp) {
+        if (tp.getId() == null) {
+            return PlanCalendar.of(tp);
         }
+        PlanCalendar calendar = calendars.getIfPresent(tp.getId());
+        long version = tp.getVersion() != null ? tp.getVersion() : 0L;
+        if (calendar == null || calendar.getVersion() != version) {
+            calendar = PlanCalendar.of(tp);
+            calendars.put(tp.getId(), calendar);
+        }
+        return calendar;
+    }
 
-        LocalDate currentDate = LocalDate.now();
-        long weeksBetween = java.time.temporal.ChronoUnit.WEEKS.between(tp.getStartDate(), currentDate);
-        return (int) weeksBetween + 1; // +1 to count the first week as week 1
+    /**
+     * Plan hebdomadaire d'une semaine, chargé seul quand il est déjà persisté.
+     * @param tp plan d'entraînement
+     * @param weekNumber numéro de semaine (1 pour la première)
+     * @return WeeklyPlan, null si la semaine n'existe pas
+     */
+    @ReadOnly
+    public WeeklyPlan getWeeklyPlan(TrainingPlan tp, Integer weekNumber) {
+        PlanCalendar calendar = getCalendar(tp);
+        if (!calendar.contains(weekNumber)) {
+            return null; // Invalid week number
+        }
+        UUID weeklyPlanId = calendar.weeklyPlanId(weekNumber);
+        return weeklyPlanId != null
+                ? replicaRouting.entityManager(em).find(WeeklyPlan.class, weeklyPlanId)
+                : tp.getWeeklyPlans().get(weekNumber - 1); // -1 for zero-based index
+    }
+
+    /**
+     * Retire le calendrier d'un plan du cache (voir {@link PlanCalendarEviction}).
+     * @param planId identifiant du plan
+     */
+    void evictCalendar(UUID planId) {
+        calendars.invalidate(planId);
+    }
+
+    private void invalidatePlan(UUID accountId, UUID planId, ChangeOp op) {
+        revisionService.recordChange(accountId, SyncEntityType.TRAINING_PLAN, planId, op);
+        if (Arc.container().requestContext().isActive()) {
+            planContext.invalidate(accountId);
+        }
+    }
+
+    public Integer getCurrentWeekNb(TrainingPlan tp) {
+        return getCalendar(tp).currentWeekNumber(LocalDate.now());
     }
 
     public Integer getCurrentWeekNbForUser(UUID accountId) {
-        Optional<TrainingPlan> tp = getMyTrainingPlan(accountId);
-        return tp.map(this::getCurrentWeekNb).orElse(null);
+        return resolvePlan(accountId).map(PlanContext.ResolvedPlan::currentWeek).orElse(null);
     }
 
     public boolean checkIfItsLastWeek(UUID accountId, Integer weekNb) {
-        Optional<TrainingPlan> tp = getMyTrainingPlan(accountId);
-        return tp.filter(trainingPlan -> weekNb.equals(trainingPlan.getWeeklyPlans().size())).isPresent();
-
+        return resolvePlan(accountId)
+                .filter(resolved -> resolved.calendar().isLastWeek(weekNb))
+                .isPresent();
     }
 
     public boolean checkIfLastWeek(UUID accountId) {
-        Optional<TrainingPlan> tp = getMyTrainingPlan(accountId);
-        if (tp.isEmpty()) {
-            return false;
-        }
-        Integer currentWeek = getCurrentWeekNb(tp.get());
-        return currentWeek != null && currentWeek.equals(tp.get().getWeeklyPlans().size());
+        return resolvePlan(accountId).map(PlanContext.ResolvedPlan::lastWeek).orElse(false);
     }
 
     public Integer getWeekNumberForDate(TrainingPlan tp, LocalDate date) {
-        if (tp.getStartDate() == null || tp.getEndDate() == null) {
-            return null; // Training plan dates are not set
-        }
-        if (tp.getStartDate().isAfter(tp.getEndDate())) {
-            return null; // Invalid training plan dates
-        }
-        if (date.isBefore(tp.getStartDate()) || date.isAfter(tp.getEndDate())) {
-            return null; // Date is outside the training plan period
-        }
-
-        long weeksBetween = java.time.temporal.ChronoUnit.WEEKS.between(tp.getStartDate(), date);
-        return (int) weeksBetween + 1; // +1 to count the first week as week 1
+        return getCalendar(tp).weekNumber(date);
     }
 
     public WeeklyPlan getWeeklyPlanForDate(UUID accountId, LocalDate date) {
-        Optional<TrainingPlan> tp = getMyTrainingPlan(accountId);
-        if (tp.isEmpty()) {
+        Optional<PlanContext.ResolvedPlan> resolved = resolvePlan(accountId);
+        if (resolved.isEmpty()) {
             return null;
         }
-        Integer weekNumber = getWeekNumberForDate(tp.get(), date);
-        if (weekNumber == null || weekNumber < 1 || weekNumber > tp.get().getWeeklyPlans().size()) {
-            return null; // Invalid week number
-        }
-        return tp.get().getWeeklyPlans().get(weekNumber - 1); // -1 for zero-based index
+        return getWeeklyPlan(resolved.get().plan(), resolved.get().calendar().weekNumber(date));
     }
 
     public WeeklyPlan getWeeklyPlanForDate(TrainingPlan tp, UUID accountId, LocalDate date) {
-        Integer weekNumber = getWeekNumberForDate(tp, date);
-        if (weekNumber == null || weekNumber < 1 || weekNumber > tp.getWeeklyPlans().size()) {
-            return null; // Invalid week number
-        }
-        return tp.getWeeklyPlans().get(weekNumber - 1); // -1 for zero-based index
+        return getWeeklyPlan(tp, getCalendar(tp).weekNumber(date));
     }
 
     public List<OffsetDateTime> getDatesForNextWorkouts(UUID accountId) {
-        Optional<TrainingPlan> tp = getMyTrainingPlan(accountId);
-        if (tp.isEmpty()) {
-            return List.of();
-        }
-
-        List<OffsetDateTime> dates = new ArrayList<>();
-        // Add the date of the current week Monday
-        dates.add(OffsetDateTime.now()
-                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
-                .with(LocalTime.MIDNIGHT));
-
-        if(checkIfLastWeek(accountId)) {
-            dates.add(OffsetDateTime.now()
-                    .with(TemporalAdjusters.next(DayOfWeek.SUNDAY))
-                    .with(LocalTime.MAX));
-        } else {
-            dates.add(OffsetDateTime.now()
-                    .plusWeeks(1)
-                    .with(TemporalAdjusters.next(DayOfWeek.SUNDAY))
-                    .with(LocalTime.MAX));
-        }
-
-        return dates;
+        return resolvePlan(accountId).map(PlanContext.ResolvedPlan::nextWorkoutsDates).orElse(List.of());
     }
 
     public Integer getNbWorkoutsPerWeek(UUID accountId) {
-        Optional<TrainingPlan> tp = getMyTrainingPlan(accountId);
+        Optional<PlanContext.ResolvedPlan> resolved = resolvePlan(accountId);
+        Optional<TrainingPlan> tp = resolved.map(PlanContext.ResolvedPlan::plan);
         // Check if current date is within the training plan period
         if (tp.isEmpty()) {
             return null; // No training plan found for the user
@@ -224,11 +338,10 @@ public class TrainingPlanService {
         // If the current date is before the start date of the training plan, return the nb
         // of training from the first week
         if(LocalDate.now().isBefore(tp.get().getStartDate())) {
-            return tp.get().getWeeklyPlans().getFirst().getDailyPlans().size();
+            return resolved.get().calendar().slots(1).size();
         } else if(LocalDate.now().isBefore(tp.get().getEndDate()) && LocalDate.now().isAfter(tp.get().getStartDate())) {
             // Find the correct week based on the current date
-            int indexCurrentWeeklyPlan = getCurrentWeekNb(tp.get()) - 1;
-            return tp.get().getWeeklyPlans().get(indexCurrentWeeklyPlan).getDailyPlans().size();
+            return resolved.get().calendar().slots(resolved.get().currentWeek()).size();
         } else {
             throw new IllegalStateException("We can't get the number of workouts.");
         }
@@ -0,0 +1,51 @@
+package org.heigvd.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.heigvd.entity.workout.Workout;
+
+import java.util.Map;
+
+/**
+ * Associations chargées avec un {@link Workout}, choisies explicitement par le service selon
+ * l'usage, pour charger en une requête ce qui sera parcouru au lieu d'une requête par
+ * association paresseuse.
+ *
+ * Les blocs planifiés et leurs détails sont des listes ordonnées ({@code @OrderColumn}) : ils
+ * peuvent être chargés par jointure dans la même requête. Les résultats par bloc ne sont pas joints
+ * (le produit avec les détails du plan multiplierait les lignes) : {@link #DETAIL} les charge par
+ * une seconde requête.
+ */
+public enum WorkoutFetchPlan {
+
+    /** Listes : le workout et son compte. */
+    LIST(Workout.GRAPH_LIST),
+    /** Analyse et vue du plan : compte, blocs planifiés et détails. */
+    PLAN(Workout.GRAPH_PLAN),
+    /** Détail complet : comme {@link #PLAN}, plus les résultats par bloc. */
+    DETAIL(Workout.GRAPH_PLAN);
+
+    static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    private final String graphName;
+
+    WorkoutFetchPlan(String graphName) {
+        this.graphName = graphName;
+    }
+
+    /**
+     * Hints à passer à {@code find} ou à une requête.
+     */
+    public Map<String, Object> hints(EntityManager em) {
+        return Map.of(FETCH_GRAPH_HINT, em.getEntityGraph(graphName));
+    }
+
+    /**
+     * Charge ce que le graphe ne couvre pas pour un workout déjà lu.
+     */
+    void complete(Workout workout) {
+        if (this == DETAIL) {
+            Hibernate.initialize(workout.getBlockResults());
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package org.heigvd.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.heigvd.entity.workout.ProcessingJob;
+import org.heigvd.entity.workout.ProcessingJobStatus;
+import org.heigvd.entity.workout.Workout;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Traitements différés d'un workout après l'upload.
+ *
+ * L'upload persiste seulement les données brutes et un {@link ProcessingJob} ; une fois la
+ * transaction validée, le job est confié à un pool de workers borné qui calcule les analyses
+ * dérivées (alignement sur les blocs planifiés, niveaux de sous-échantillonnage, temps par
+ * zone de FC, charge d'entraînement, revue IA).
+ * La latence de l'upload ne dépend donc plus du coût des analyses.
+ *
+ * Quand la file du pool est pleine, {@link #hasCapacity()} renvoie false et l'upload est refusé
+ * (429). Un job en échec est retenté avec un délai exponentiel jusqu'à
+ * {@code workout.processing.max-attempts} tentatives. Les jobs non terminés sont repris par un
+ * balayage périodique, qui supprime aussi les jobs terminés depuis plus de
+ * {@code workout.processing.retention}.
+ *
+ * Plusieurs instances peuvent partager la file : un worker loue le job qu'il traite
+ * ({@code claimed_by}, {@code claimed_at}) et le balayage renouvelle les baux des jobs en cours
+ * sur l'instance. Un job RUNNING n'est repris ailleurs qu'une fois son bail de
+ * {@code workout.processing.lease} expiré, c'est-à-dire quand l'instance qui le traitait s'est
+ * arrêtée sans le terminer.
+ */
+@ApplicationScoped
+public class WorkoutProcessingService {
+
+    /** Événement émis à la création d'un job, traité après la validation de la transaction. */
+    public record JobCreated(UUID jobId) {}
+
+    private static final Duration RETRY_BASE_DELAY = Duration.ofSeconds(10);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    WorkoutService workoutService;
+
+    @Inject
+    TrainingLoadService trainingLoadService;
+
+    @Inject
+    SportAnalysisService sportAnalysisService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Event<JobCreated> jobCreated;
+
+    @Inject
+    InstanceIdentity instance;
+
+    @ConfigProperty(name = "workout.processing.workers", defaultValue = "2")
+    int workers;
+
+    @ConfigProperty(name = "workout.processing.queue-capacity", defaultValue = "100")
+    int queueCapacity;
+
+    @ConfigProperty(name = "workout.processing.max-attempts", defaultValue = "5")
+    int maxAttempts;
+
+    @ConfigProperty(name = "workout.processing.ai-review", defaultValue = "true")
+    boolean aiReviewEnabled;
+
+    @ConfigProperty(name = "workout.processing.lease", defaultValue = "5m")
+    Duration lease;
+
+    @ConfigProperty(name = "workout.processing.retention", defaultValue = "7d")
+    Duration retention;
+
+    private ThreadPoolExecutor executor;
+
+    /** Jobs déjà confiés au pool, pour ne pas les soumettre deux fois. */
+    private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
+
+    /** Jobs loués par cette instance et en cours de traitement, dont le bail est renouvelé. */
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "workout-processing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Indique si un nouveau job peut être accepté sans dépasser la capacité de la file.
+     *
+     * Simple indication, sans réservation : des uploads simultanés peuvent tous la passer. La
+     * limite réelle est celle de la file du pool ; un job qu'elle refuse reste PENDING en base et
+     * est soumis par le balayage suivant.
+     */
+    public boolean hasCapacity() {
+        return executor.getQueue().remainingCapacity() > 0;
+    }
+
+    /**
+     * Crée le job de traitement d'un workout. Doit être appelé dans la transaction de l'upload :
+     * le job n'est soumis au pool qu'après sa validation.
+     * @param workout workout uploadé
+     * @return le job créé
+     */
+    public ProcessingJob enqueue(Workout workout) {
+        ProcessingJob job = new ProcessingJob(workout.getId());
+        em.persist(job);
+        em.flush();
+        jobCreated.fire(new JobCreated(job.getId()));
+        return job;
+    }
+
+    /**
+     * Dernier job de traitement d'un workout.
+     * @param workoutId identifiant du workout
+     * @return Optional<ProcessingJob>
+     */
+    public Optional<ProcessingJob> findLatestJob(UUID workoutId) {
+        return em.createQuery(
+                        "SELECT j FROM ProcessingJob j WHERE j.workoutId = :workoutId ORDER BY j.createdAt DESC",
+                        ProcessingJob.class)
+                .setParameter("workoutId", workoutId)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+    }
+
+    void onJobCreated(@Observes(during = TransactionPhase.AFTER_SUCCESS) JobCreated event) {
+        submit(event.jobId());
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        sweep();
+    }
+
+    /**
+     * Renouvelle les baux des jobs en cours sur cette instance, supprime les jobs terminés
+     * au-delà de la rétention, puis soumet les jobs en attente
+     * dont l'échéance est passée (nouvelles tentatives, jobs refusés par une file pleine) et les
+     * jobs RUNNING dont le bail a expiré, dans la limite de la place dans la file.
+     */
+    @Scheduled(every = "${workout.processing.sweep-interval:30s}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void sweep() {
+        renewLeases();
+        purgeFinishedJobs();
+
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity <= 0) {
+            return;
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<UUID> due = QuarkusTransaction.requiringNew().call(() -> em.createQuery(
+                        "SELECT j.id FROM ProcessingJob j " +
+                                "WHERE (j.status = :pending AND j.nextAttemptAt <= :now) " +
+                                "OR (j.status = :running AND j.claimedAt < :expired) " +
+                                "ORDER BY j.nextAttemptAt ASC",
+                        UUID.class)
+                .setParameter("pending", ProcessingJobStatus.PENDING)
+                .setParameter("running", ProcessingJobStatus.RUNNING)
+                .setParameter("now", now)
+                .setParameter("expired", now.minus(lease))
+                .setMaxResults(capacity + queued.size())
+                .getResultList());
+
+        for (UUID jobId : due) {
+            if (!queued.contains(jobId) && !submit(jobId)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Supprime les jobs DONE ou FAILED dont la dernière mise à jour date de plus de
+     * {@code workout.processing.retention}.
+     * @return nombre de jobs supprimés
+     */
+    public int purgeFinishedJobs() {
+        return QuarkusTransaction.requiringNew().call(() -> em.createQuery(
+                        "DELETE FROM ProcessingJob j WHERE j.status IN :finished AND j.updatedAt < :before")
+                .setParameter("finished", Set.of(ProcessingJobStatus.DONE, ProcessingJobStatus.FAILED))
+                .setParameter("before", OffsetDateTime.now().minus(retention))
+                .executeUpdate());
+    }
+
+    private boolean submit(UUID jobId) {
+        if (!queued.add(jobId)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    queued.remove(jobId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            // File pleine : le job reste PENDING et sera repris par le balayage
+            queued.remove(jobId);
+            return false;
+        }
+    }
+
+    /**
+     * Traite un job dans le thread appelant, s'il est en attente ou si son bail a expiré.
+     * @param jobId identifiant du job
+     * @return false si le job est terminé ou loué par un autre worker
+     */
+    public boolean run(UUID jobId) {
+        if (!claim(jobId)) {
+            return false;
+        }
+
+        running.add(jobId);
+        try {
+            Workout workout = QuarkusTransaction.requiringNew().call(() -> {
+                ProcessingJob job = em.find(ProcessingJob.class, jobId);
+                Workout w = workoutService.getWorkoutByID(job.getWorkoutId(), WorkoutFetchPlan.PLAN).orElse(null);
+                if (w != null) {
+                    process(w);
+                } else {
+                    // Workout supprimé avec son compte : le job n'a plus d'objet
+                    em.remove(job);
+                }
+                return w;
+            });
+            if (workout == null) {
+                return true;
+            }
+
+            String aiReview = reviewWithAi(workout.getId());
+
+            QuarkusTransaction.requiringNew().run(() -> {
+                ProcessingJob job = em.find(ProcessingJob.class, jobId, LockModeType.PESSIMISTIC_WRITE);
+                if (!holdsLease(job)) {
+                    return;
+                }
+                if (aiReview != null) {
+                    Workout w = em.find(Workout.class, workout.getId());
+                    if (w != null) {
+                        w.setAiReview(aiReview);
+                        workoutService.bumpRevision(w);
+                    }
+                }
+                job.setStatus(ProcessingJobStatus.DONE);
+                job.setLastError(null);
+                job.setClaimedBy(null);
+                job.setClaimedAt(null);
+                job.setUpdatedAt(OffsetDateTime.now());
+            });
+        } catch (Exception e) {
+            fail(jobId, e);
+        } finally {
+            running.remove(jobId);
+        }
+        return true;
+    }
+
+    /**
+     * Étapes de calcul dérivées des échantillons, exécutées dans une même transaction.
+     * @param workout workout à traiter
+     */
+    private void process(Workout workout) {
+        workoutService.analysePerformance(workout);
+        workoutService.buildSeriesLevels(workout);
+        workoutService.buildZoneHistogram(workout);
+        trainingLoadService.refreshWorkoutLoad(workout);
+        workoutService.bumpRevision(workout);
+    }
+
+    /**
+     * Revue IA du workout, hors transaction car l'appel HTTP peut durer plusieurs secondes.
+     * @return la revue, ou null si elle est désactivée
+     */
+    private String reviewWithAi(UUID workoutId) throws Exception {
+        if (!aiReviewEnabled || !sportAnalysisService.isConfigured()) {
+            return null;
+        }
+        String activityJson = QuarkusTransaction.requiringNew().call(() -> {
+            Workout workout = workoutService.getWorkoutByID(workoutId, WorkoutFetchPlan.DETAIL).orElse(null);
+            if (workout == null || workout.getBlockResults().isEmpty()) {
+                return null;
+            }
+            return objectMapper.writeValueAsString(
+                    workoutService.toWorkoutFullDto(workout, workout.getAccount().getFCMax()));
+        });
+        return activityJson != null ? sportAnalysisService.analyzeSportActivity(activityJson) : null;
+    }
+
+    /**
+     * Loue un job PENDING, ou RUNNING dont le bail a expiré, pour cette instance ; échoue si un
+     * autre worker le détient déjà.
+     */
+    private boolean claim(UUID jobId) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return QuarkusTransaction.requiringNew().call(() -> em.createQuery(
+                        "UPDATE ProcessingJob j SET j.status = :running, j.attempts = j.attempts + 1, " +
+                                "j.claimedBy = :instance, j.claimedAt = :now, j.updatedAt = :now " +
+                                "WHERE j.id = :id AND (j.status = :pending " +
+                                "OR (j.status = :running AND j.claimedAt < :expired))")
+                .setParameter("running", ProcessingJobStatus.RUNNING)
+                .setParameter("pending", ProcessingJobStatus.PENDING)
+                .setParameter("instance", instance.id())
+                .setParameter("now", now)
+                .setParameter("expired", now.minus(lease))
+                .setParameter("id", jobId)
+                .executeUpdate() == 1);
+    }
+
+    private void renewLeases() {
+        if (running.isEmpty()) {
+            return;
+        }
+        QuarkusTransaction.requiringNew().run(() -> em.createQuery(
+                        "UPDATE ProcessingJob j SET j.claimedAt = :now " +
+                                "WHERE j.id IN :ids AND j.status = :running AND j.claimedBy = :instance")
+                .setParameter("now", OffsetDateTime.now())
+                .setParameter("ids", Set.copyOf(running))
+                .setParameter("running", ProcessingJobStatus.RUNNING)
+                .setParameter("instance", instance.id())
+                .executeUpdate());
+    }
+
+    /**
+     * Vrai si cette instance détient encore le bail du job (il a pu être repris après expiration).
+     */
+    private boolean holdsLease(ProcessingJob job) {
+        return job != null && job.getStatus() == ProcessingJobStatus.RUNNING
+                && instance.id().equals(job.getClaimedBy());
+    }
+
+    private void fail(UUID jobId, Exception error) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            ProcessingJob job = em.find(ProcessingJob.class, jobId, LockModeType.PESSIMISTIC_WRITE);
+            if (!holdsLease(job)) {
+                return;
+            }
+            OffsetDateTime now = OffsetDateTime.now();
+            job.setClaimedBy(null);
+            job.setClaimedAt(null);
+            String message = String.valueOf(error.getMessage());
+            job.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            job.setUpdatedAt(now);
+            if (job.getAttempts() >= maxAttempts) {
+                job.setStatus(ProcessingJobStatus.FAILED);
+            } else {
+                job.setStatus(ProcessingJobStatus.PENDING);
+                job.setNextAttemptAt(now.plus(RETRY_BASE_DELAY.multipliedBy(1L << (job.getAttempts() - 1))));
+            }
+        });
+    }
+}
@@ -3,21 +3,52 @@ package org.heigvd.service;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.heigvd.analysis.BlockPerformanceEngine;
+import org.heigvd.analysis.BlockPerformanceEngine.BlockPerformance;
+import org.heigvd.analysis.DownsampleMode;
+import org.heigvd.analysis.Downsampler;
+import org.heigvd.analysis.ZoneHistogram;
+import org.heigvd.dto.workout_dto.WorkoutColumnarSamplesDto;
+import org.heigvd.dto.workout_dto.WorkoutCursor;
 import org.heigvd.dto.workout_dto.WorkoutFullDto;
+import org.heigvd.dto.workout_dto.WorkoutLightDto;
 import org.heigvd.dto.workout_dto.WorkoutPlanDetailsDto;
 import org.heigvd.dto.workout_dto.WorkoutPlanDto;
+import org.heigvd.dto.workout_dto.WorkoutSamplesDto;
+import org.heigvd.dto.workout_dto.WorkoutSeriesDto;
 import org.heigvd.dto.workout_dto.WorkoutUploadDto;
+import org.heigvd.dto.workout_dto.WorkoutZonesDto;
+import org.heigvd.dto.workout_dto.ZoneTimeDto;
+import org.heigvd.dto.workout_dto.data_point_dto.ColumnarSeriesDto;
+import org.heigvd.dto.workout_dto.data_point_dto.SeriesPointDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutPerfDetailsDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutBPMDataPointDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutSpeedDataPointDto;
 import org.heigvd.entity.*;
 import org.heigvd.entity.training_plan.TrainingPlan;
+import org.heigvd.entity.workout.IntensityZone;
 import org.heigvd.entity.workout.Workout;
 import org.heigvd.entity.workout.WorkoutStatus;
+import org.heigvd.entity.workout.data_point.BPMDataPoint;
+import org.heigvd.entity.workout.data_point.SampleBuffer;
+import org.heigvd.entity.workout.data_point.SampleSeries;
+import org.heigvd.entity.workout.data_point.SampleStorageMode;
+import org.heigvd.entity.workout.data_point.SeriesMetric;
+import org.heigvd.entity.workout.data_point.SpeedDataPoint;
+import org.heigvd.entity.workout.data_point.WorkoutSamples;
+import org.heigvd.entity.workout.details.WorkoutBlockResult;
 import org.heigvd.entity.workout.details.WorkoutPlan;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,6 +61,20 @@ import java.util.UUID;
  */
 public class WorkoutService {
 
+    /** Page de workouts et position de la page suivante (null s'il n'y en a plus). */
+    public record WorkoutPage(List<WorkoutLightDto> workouts, WorkoutCursor next) {}
+
+    /** Propriétaire et versions dont dépend le détail d'un workout (validateur HTTP). */
+    public record WorkoutVersion(UUID accountId, long version, long accountVersion) {}
+
+    /** Projection des colonnes de {@link WorkoutLightDto}, sans charger d'entité. */
+    private static final String LIGHT_DTO_SELECT =
+            "SELECT new org.heigvd.dto.workout_dto.WorkoutLightDto(" +
+                    "w.id, w.sport, w.type, w.status, w.durationSec, w.source, w.startTime) FROM Workout w ";
+
+    /** Tailles des niveaux sous-échantillonnés précalculés pour chaque série, du plus fin au plus grossier. */
+    private static final int[] SERIES_LEVEL_POINTS = {2000, 500, 125};
+
     @Inject
     EntityManager em;
 
@@ -39,6 +84,31 @@ public class WorkoutService {
     @Inject
     TrainingGeneratorService tgs;
 
+    @Inject
+    SampleBulkWriter sampleBulkWriter;
+
+    @Inject
+    TrainingLoadService trainingLoadService;
+
+    @Inject
+    SampleFilterService sampleFilterService;
+
+    @Inject
+    RevisionService revisionService;
+
+    @Inject
+    ReplicaRouting replicaRouting;
+
+    @ConfigProperty(name = "workout.samples.storage", defaultValue = "COLUMNAR")
+    SampleStorageMode sampleStorage;
+
+    /**
+     * EntityManager des méthodes {@link ReadOnly} : la réplique quand l'appel y a été routé.
+     */
+    private EntityManager reader() {
+        return replicaRouting.entityManager(em);
+    }
+
     /**
      * Recherche un workout par identifiant.
      * @param id identifiant du workout
@@ -53,13 +123,43 @@ public class WorkoutService {
         }
     }
 
+    /**
+     * Recherche un workout par identifiant en chargeant les associations du plan de chargement.
+     * @param id identifiant du workout
+     * @param fetchPlan associations à charger
+     * @return Optional<Workout>
+     */
+    public Optional<Workout> getWorkoutByID(UUID id, WorkoutFetchPlan fetchPlan) {
+        Workout workout = em.find(Workout.class, id, fetchPlan.hints(em));
+        if (workout != null) {
+            fetchPlan.complete(workout);
+        }
+        return Optional.ofNullable(workout);
+    }
+
+    /**
+     * Propriétaire et versions d'un workout, sans charger le workout.
+     * @param id identifiant du workout
+     * @return Optional<WorkoutVersion>, vide si le workout n'existe pas ou n'a pas de compte
+     */
+    public Optional<WorkoutVersion> getWorkoutVersion(UUID id) {
+        return em.createQuery(
+                        "SELECT a.id, w.version, a.version FROM Workout w JOIN w.account a WHERE w.id = :id",
+                        Object[].class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(row -> new WorkoutVersion((UUID) row[0], (Long) row[1], (Long) row[2]));
+    }
+
     /**
      * Liste les workouts d'un utilisateur, triés par date décroissante.
      * @param accountId identifiant du compte
      * @return liste des workouts
      */
+    @ReadOnly
     public List<Workout> findByAccountId(UUID accountId) {
-        return em.createQuery(
+        return reader().createQuery(
                         "SELECT w FROM Workout w WHERE w.account.id = :accountId " +
                                 "ORDER BY w.startTime DESC",
                         Workout.class)
@@ -68,6 +168,7 @@ public class WorkoutService {
     }
 
     @Transactional
+    @ReadOnly
     public List<Workout> getCurrentWeekWorkouts(UUID accountId) {
         OffsetDateTime now = OffsetDateTime.now();
         // On prend le LocalDate courant
@@ -82,19 +183,20 @@ public class WorkoutService {
         OffsetDateTime startOfWeek = startOfWeekLdt.atOffset(now.getOffset());
         OffsetDateTime endOfWeek   = endOfWeekLdt.atOffset(now.getOffset());
 
-        return em.createQuery(
+        return reader().createQuery(
                         "SELECT w FROM Workout w WHERE w.account.id = :accountId " +
                                 "AND w.startTime >= :startOfWeek AND w.startTime <= :endOfWeek " +
-                                "ORDER BY w.startTime ASC",
+                                "ORDER BY w.startTime ASC, w.id ASC",
                         Workout.class)
                 .setParameter("accountId", accountId)
                 .setParameter("startOfWeek", startOfWeek)
                 .setParameter("endOfWeek", endOfWeek)
+                .setHint(WorkoutFetchPlan.FETCH_GRAPH_HINT, reader().getEntityGraph(Workout.GRAPH_LIST))
                 .getResultList();
     }
 
     public List<Workout> getWorkoutForWeek(UUID accountId, int weekNumber) {
-        Optional<TrainingPlan> tp = trainingPlanService.getMyTrainingPlan(accountId);
+        Optional<TrainingPlan> tp = trainingPlanService.resolvePlan(accountId).map(PlanContext.ResolvedPlan::plan);
         if (tp.isEmpty()) {
             return List.of();
         } else {
@@ -123,10 +225,11 @@ public class WorkoutService {
      * @param sport sport ciblé
      * @return liste des workouts filtrés
      */
+    @ReadOnly
     public List<Workout> findByAccountIdAndSport(UUID accountId, Sport sport) {
-        return em.createQuery(
+        return reader().createQuery(
                         "SELECT w FROM Workout w WHERE w.account.id = :accountId AND w.sport = :sport " +
-                                "ORDER BY w.startTime ASC",
+                                "ORDER BY w.startTime ASC, w.id ASC",
                         Workout.class)
                 .setParameter("accountId", accountId)
                 .setParameter("sport", sport)
@@ -134,7 +237,7 @@ public class WorkoutService {
     }
 
     public List<Workout> getNextNWorkouts(UUID accountId) {
-        Optional<TrainingPlan> tp = trainingPlanService.getMyTrainingPlan(accountId);
+        Optional<TrainingPlan> tp = trainingPlanService.resolvePlan(accountId).map(PlanContext.ResolvedPlan::plan);
         if(tp.isEmpty()) {
             return getAllWorkouts(accountId);
         } else {
@@ -151,20 +254,77 @@ public class WorkoutService {
         }
     }
 
+    @ReadOnly
     public List<Workout> getAllWorkouts(UUID accountId) {
-        return em.createQuery(
+        return reader().createQuery(
                         "SELECT w FROM Workout w WHERE w.account.id = :accountId ORDER BY w.startTime DESC",
                         Workout.class)
                 .setParameter("accountId", accountId)
                 .getResultList();
     }
 
-    public List<Workout> getWorkoutsBetweenDates(UUID accountId, OffsetDateTime start, OffsetDateTime end) {
-        return em.createQuery(
-                        "SELECT w FROM Workout w WHERE w.account.id = :accountId " +
+    /**
+     * Page de workouts d'un compte, paginée par clé ({@code startTime}, {@code id}) : la page suit
+     * directement la position du curseur dans l'index, son coût ne dépend pas du nombre de pages
+     * qui précèdent. Les colonnes sont projetées dans des {@link WorkoutLightDto}.
+     * @param accountId identifiant du compte
+     * @param sport sport à garder, null pour tous
+     * @param cursor dernier élément de la page précédente, null pour la première page
+     * @param limit nombre maximum de workouts, null pour tous les workouts restants
+     * @param descending true pour les plus récents d'abord
+     * @return la page et le curseur de la suivante (null si c'est la dernière)
+     */
+    @ReadOnly
+    public WorkoutPage getWorkoutPage(UUID accountId, Sport sport, WorkoutCursor cursor, Integer limit, boolean descending) {
+        String cmp = descending ? "<" : ">";
+        String direction = descending ? "DESC" : "ASC";
+        StringBuilder jpql = new StringBuilder(LIGHT_DTO_SELECT).append("WHERE w.account.id = :accountId");
+        if (sport != null) {
+            jpql.append(" AND w.sport = :sport");
+        }
+        if (cursor != null) {
+            jpql.append(" AND w.startTime ").append(cmp).append("= :cursorStart")
+                    .append(" AND (w.startTime ").append(cmp).append(" :cursorStart OR w.id ").append(cmp).append(" :cursorId)");
+        }
+        jpql.append(" ORDER BY w.startTime ").append(direction).append(", w.id ").append(direction);
+
+        TypedQuery<WorkoutLightDto> query = reader().createQuery(jpql.toString(), WorkoutLightDto.class)
+                .setParameter("accountId", accountId);
+        if (limit != null) {
+            query.setMaxResults(limit + 1);
+        }
+        if (sport != null) {
+            query.setParameter("sport", sport);
+        }
+        if (cursor != null) {
+            query.setParameter("cursorStart", cursor.startTime());
+            query.setParameter("cursorId", cursor.id());
+        }
+
+        List<WorkoutLightDto> workouts = query.getResultList();
+        if (limit == null || workouts.size() <= limit) {
+            return new WorkoutPage(workouts, null);
+        }
+        workouts = workouts.subList(0, limit);
+        WorkoutLightDto last = workouts.getLast();
+        return new WorkoutPage(workouts, new WorkoutCursor(last.getStart(), last.getId()));
+    }
+
+    /**
+     * Workouts d'un compte compris entre deux dates, projetés dans des {@link WorkoutLightDto}.
+     * @param accountId identifiant du compte
+     * @param start début de la période (inclus)
+     * @param end fin de la période (incluse)
+     * @return workouts triés par date de début
+     */
+    @ReadOnly
+    public List<WorkoutLightDto> getLightWorkoutsBetweenDates(UUID accountId, OffsetDateTime start, OffsetDateTime end) {
+        return reader().createQuery(
+                        LIGHT_DTO_SELECT +
+                                "WHERE w.account.id = :accountId " +
                                 "AND w.startTime >= :start AND w.endTime <= :end " +
-                                "ORDER BY w.startTime ASC",
-                        Workout.class)
+                                "ORDER BY w.startTime ASC, w.id ASC",
+                        WorkoutLightDto.class)
                 .setParameter("accountId", accountId)
                 .setParameter("start", start)
                 .setParameter("end", end)
@@ -180,6 +340,7 @@ public class WorkoutService {
     public Workout create(Workout workout) {
 
         em.persist(workout);
+        bumpRevision(workout, ChangeOp.CREATE);
         return workout;
     }
 
@@ -193,7 +354,15 @@ public class WorkoutService {
         try {
             Workout workout = em.find(Workout.class, id);
             if (workout != null) {
+                trainingLoadService.removeWorkoutLoad(workout);
+                // Un job en cours sur un autre worker ne trouve plus son bail et s'arrête
+                em.createQuery("DELETE FROM ProcessingJob j WHERE j.workoutId = :id")
+                        .setParameter("id", id)
+                        .executeUpdate();
                 em.remove(workout);
+                if (workout.getAccount() != null) {
+                    revisionService.recordDeletion(workout.getAccount().getId(), SyncEntityType.WORKOUT, workout.getId());
+                }
                 return true;
             }
             return false;
@@ -229,6 +398,50 @@ public class WorkoutService {
         for (Workout w : workouts) {
             em.persist(w);
         }
+        if (trainingPlan.getAccount() != null) {
+            UUID accountId = trainingPlan.getAccount().getId();
+            revisionService.recordChanges(accountId, SyncEntityType.WORKOUT,
+                    workouts.stream().map(Workout::getId).toList(), ChangeOp.CREATE);
+            // Le nombre de workouts du plan change aussi
+            revisionService.recordChange(accountId, SyncEntityType.TRAINING_PLAN, trainingPlan.getId(), ChangeOp.UPDATE);
+        }
+    }
+
+    /**
+     * Incrémente la révision du compte propriétaire d'un workout modifié et note le workout dans
+     * les journaux de synchronisation et des modifications.
+     */
+    void bumpRevision(Workout workout) {
+        bumpRevision(workout, ChangeOp.UPDATE);
+    }
+
+    private void bumpRevision(Workout workout, ChangeOp op) {
+        if (workout.getAccount() != null) {
+            revisionService.recordChange(workout.getAccount().getId(), SyncEntityType.WORKOUT, workout.getId(), op);
+        }
+    }
+
+    /**
+     * Workouts d'un compte au format léger, triés par date de début.
+     * @param accountId identifiant du compte
+     * @param ids identifiants des workouts à relire, null pour tous
+     * @return workouts trouvés parmi ceux demandés
+     */
+    public List<WorkoutLightDto> getLightWorkouts(UUID accountId, Collection<UUID> ids) {
+        if (ids != null && ids.isEmpty()) {
+            return List.of();
+        }
+        TypedQuery<WorkoutLightDto> query = em.createQuery(
+                        LIGHT_DTO_SELECT +
+                                "WHERE w.account.id = :accountId " +
+                                (ids != null ? "AND w.id IN :ids " : "") +
+                                "ORDER BY w.startTime ASC, w.id ASC",
+                        WorkoutLightDto.class)
+                .setParameter("accountId", accountId);
+        if (ids != null) {
+            query.setParameter("ids", ids);
+        }
+        return query.getResultList();
     }
 
     /**
@@ -262,10 +475,13 @@ public class WorkoutService {
         // Conversion du plan d'entraînement avec FC Max
         dto.setPlan(convertWorkoutPlansToDto(workout.getPlans(), fcMax));
 
-        // Champs non encore implémentés
-        dto.setGrade(null);
-        dto.setAiReview(null);
-        dto.setPerformanceDetails(null);
+        // Analyses calculées après l'upload
+        dto.setGrade(workout.getGrade());
+        dto.setPerformanceDetails(workout.getBlockResults().isEmpty() ? null : workout.getBlockResults().stream()
+                .map(WorkoutPerfDetailsDto::new)
+                .toList());
+
+        dto.setAiReview(workout.getAiReview());
 
         return dto;
     }
@@ -312,6 +528,8 @@ public class WorkoutService {
 
     @Transactional
     public Workout createWorkoutOutOfTP(Account account, WorkoutUploadDto workout) {
+        cleanSamples(workout);
+
         Workout newWorkout = new Workout();
         newWorkout.setAccount(account);
         newWorkout.setSport(Sport.valueOf(workout.getSport().toUpperCase()));
@@ -326,16 +544,19 @@ public class WorkoutService {
         newWorkout.setDurationSec((int) (newWorkout.getEndTime().toEpochSecond() - newWorkout.getStartTime().toEpochSecond()));
         newWorkout.setAvgSpeed(workout.getAvgSpeed());
 
-        newWorkout.setActualBPMDataPoints(workout.getBpmDataPoints());
-        newWorkout.setActualSpeedDataPoints(workout.getSpeedDataPoints());
+        storeSamples(newWorkout, workout);
 
         em.persist(newWorkout);
+        writeSampleRows(newWorkout, workout, false);
+        bumpRevision(newWorkout, ChangeOp.CREATE);
 
         return newWorkout;
     }
 
     @Transactional
     public Workout mergeWorkoutWithExisting(Workout existingWorkout, WorkoutUploadDto workout) {
+        cleanSamples(workout);
+
         existingWorkout.setSport(Sport.valueOf(workout.getSport().toUpperCase()));
         existingWorkout.setStartTime(workout.getStart());
         existingWorkout.setEndTime(workout.getEnd());
@@ -348,11 +569,366 @@ public class WorkoutService {
         existingWorkout.setDurationSec((int) (existingWorkout.getEndTime().toEpochSecond() - existingWorkout.getStartTime().toEpochSecond()));
         existingWorkout.setAvgSpeed(workout.getAvgSpeed());
 
-        existingWorkout.setActualBPMDataPoints(workout.getBpmDataPoints());
-        existingWorkout.setActualSpeedDataPoints(workout.getSpeedDataPoints());
+        storeSamples(existingWorkout, workout);
+        clearDerivedData(existingWorkout);
 
         em.merge(existingWorkout);
+        writeSampleRows(existingWorkout, workout, true);
+        bumpRevision(existingWorkout);
 
         return existingWorkout;
     }
-}
\ No newline at end of file
+
+    /**
+     * Filtre les échantillons BPM uploadés (voir {@link SampleFilterService}) et recalcule la FC
+     * moyenne et maximale à partir des échantillons nettoyés. Les tampons remplis par
+     * {@link WorkoutUploadParser} sont déjà filtrés ; les séries en colonnes (schéma 2) et les
+     * listes de DTOs sont converties en tampon, filtré pour les BPM.
+     * @param upload données uploadées
+     */
+    private void cleanSamples(WorkoutUploadDto upload) {
+        if (upload.getBpmSamples() == null) {
+            SampleBuffer bpm = upload.getBpmSeries() != null
+                    ? upload.getBpmSeries().toBuffer(ColumnarSeriesDto.BPM)
+                    : SampleBuffer.fromBpmDataPoints(upload.getBpmDataPoints());
+            upload.setBpmSamples(sampleFilterService.filterBpm(bpm));
+        }
+        if (upload.getSpeedSamples() == null && upload.getSpeedSeries() != null) {
+            upload.setSpeedSamples(upload.getSpeedSeries().toBuffer(ColumnarSeriesDto.KMH, ColumnarSeriesDto.PACE));
+        }
+
+        SampleBuffer bpm = upload.getBpmSamples();
+        double sum = 0;
+        double max = Double.NEGATIVE_INFINITY;
+        int count = 0;
+        for (int i = 0; i < bpm.size(); i++) {
+            double value = bpm.value(0, i);
+            if (Double.isNaN(value)) continue;
+            sum += value;
+            max = Math.max(max, value);
+            count++;
+        }
+        if (count > 0) {
+            upload.setAvgBPM(sum / count);
+            upload.setMaxBPM(max);
+        }
+    }
+
+    /**
+     * Enregistre les échantillons uploadés selon le mode de stockage configuré
+     * ({@code workout.samples.storage}). En mode COLUMNAR, les deux séries tiennent
+     * dans une seule ligne {@link WorkoutSamples} ; en mode ROWS, elles sont écrites
+     * par {@link #writeSampleRows} une fois le workout persisté.
+     * @param workout workout cible
+     * @param upload données uploadées
+     */
+    private void storeSamples(Workout workout, WorkoutUploadDto upload) {
+        if (sampleStorage == SampleStorageMode.ROWS) {
+            workout.setSamples(null);
+            return;
+        }
+
+        WorkoutSamples samples = workout.getSamples() != null ? workout.getSamples() : new WorkoutSamples();
+        samples.setOrigin(workout.getStartTime());
+        if (upload.getBpmSamples() != null) {
+            samples.setBpmSamples(upload.getBpmSamples());
+        } else {
+            samples.setBpmDataPoints(upload.getBpmDataPoints());
+        }
+        if (upload.getSpeedSamples() != null) {
+            samples.setSpeedSamples(upload.getSpeedSamples());
+        } else {
+            samples.setSpeedDataPoints(upload.getSpeedDataPoints());
+        }
+        samples.getLevels().clear();
+        workout.setSamples(samples);
+    }
+
+    /**
+     * Efface les résultats dérivés des échantillons précédents ; ils sont recalculés par
+     * {@link WorkoutProcessingService} après l'upload.
+     * @param workout workout dont les échantillons ont été remplacés
+     */
+    private void clearDerivedData(Workout workout) {
+        workout.setBlockResults(List.of());
+        workout.setGrade(null);
+        workout.setAiReview(null);
+        workout.setZoneSeconds(null);
+    }
+
+    /**
+     * Précalcule les niveaux LTTB de chaque série, chacun étant dérivé du niveau plus fin.
+     * Sans effet pour les workouts stockés une ligne par échantillon.
+     * @param workout workout persisté
+     */
+    public void buildSeriesLevels(Workout workout) {
+        WorkoutSamples samples = workout.getSamples();
+        if (samples == null) {
+            return;
+        }
+        for (SeriesMetric metric : SeriesMetric.values()) {
+            List<SampleSeries> levels = new ArrayList<>();
+            SampleSeries current = samples.getSeries(metric);
+            for (int points : SERIES_LEVEL_POINTS) {
+                if (current.size() <= points) continue;
+                current = Downsampler.lttb(current, points);
+                levels.add(current);
+            }
+            samples.setLevels(metric, levels);
+        }
+    }
+
+    /**
+     * Calcule et enregistre le temps passé dans chaque zone de FC, avec la FC max actuelle du compte.
+     * @param workout workout persisté
+     */
+    public void buildZoneHistogram(Workout workout) {
+        if (workout.getAccount() == null) {
+            return;
+        }
+        workout.setZoneSeconds(toSeconds(ZoneHistogram.timeInZones(getBpmSeries(workout), workout.getAccount().getFCMax())));
+    }
+
+    /**
+     * Temps passé dans chaque zone de FC pendant un workout.
+     * @param workout workout concerné
+     * @param fcMax fréquence cardiaque maximale de l'utilisateur
+     * @return histogramme par zone
+     */
+    public WorkoutZonesDto getZones(Workout workout, int fcMax) {
+        return new WorkoutZonesDto(workout.getId(), null, 1, fcMax, toZoneTimes(zoneSeconds(workout, fcMax), fcMax));
+    }
+
+    /**
+     * Temps passé dans chaque zone de FC sur les workouts réalisés de la semaine en cours.
+     * @param accountId identifiant du compte
+     * @param fcMax fréquence cardiaque maximale de l'utilisateur
+     * @return histogramme cumulé de la semaine
+     */
+    @Transactional
+    public WorkoutZonesDto getCurrentWeekZones(UUID accountId, int fcMax) {
+        int[] total = new int[IntensityZone.values().length];
+        int count = 0;
+        for (Workout workout : getCurrentWeekWorkouts(accountId)) {
+            if (workout.getStatus() != WorkoutStatus.COMPLETED) continue;
+            int[] seconds = zoneSeconds(workout, fcMax);
+            for (int z = 0; z < total.length; z++) {
+                total[z] += seconds[z];
+            }
+            count++;
+        }
+        LocalDate weekStart = LocalDate.now().with(java.time.DayOfWeek.MONDAY);
+        return new WorkoutZonesDto(null, weekStart, count, fcMax, toZoneTimes(total, fcMax));
+    }
+
+    /**
+     * Secondes par zone enregistrées par le traitement du workout, ou recalculées si elles manquent
+     * ou ont été calculées avec une autre FC max.
+     */
+    private int[] zoneSeconds(Workout workout, int fcMax) {
+        int[] seconds = workout.getZoneSeconds();
+        if (seconds == null || workout.getAccount() == null || workout.getAccount().getFCMax() != fcMax) {
+            seconds = toSeconds(ZoneHistogram.timeInZones(getBpmSeries(workout), fcMax));
+        }
+        return seconds;
+    }
+
+    private static int[] toSeconds(long[] millis) {
+        int[] seconds = new int[millis.length];
+        for (int z = 0; z < millis.length; z++) {
+            seconds[z] = (int) (millis[z] / 1000);
+        }
+        return seconds;
+    }
+
+    private static List<ZoneTimeDto> toZoneTimes(int[] seconds, int fcMax) {
+        IntensityZone[] zones = IntensityZone.values();
+        double[] bounds = ZoneHistogram.lowerBounds(fcMax);
+        long total = 0;
+        for (int s : seconds) {
+            total += s;
+        }
+
+        List<ZoneTimeDto> result = new ArrayList<>(zones.length);
+        for (int z = 0; z < zones.length; z++) {
+            Integer bpmMax = z + 1 < zones.length ? (int) Math.ceil(bounds[z + 1]) - 1 : null;
+            double percent = total > 0 ? Math.round(seconds[z] * 1000.0 / total) / 10.0 : 0;
+            result.add(new ZoneTimeDto(zones[z], (int) Math.ceil(bounds[z]), bpmMax, seconds[z], percent));
+        }
+        return result;
+    }
+
+    /**
+     * Aligne la série BPM enregistrée sur les blocs planifiés du workout et enregistre le résultat
+     * de chaque segment ainsi que la note globale, pour ne pas les recalculer à chaque lecture.
+     * @param workout workout persisté (avec son compte et ses blocs planifiés)
+     */
+    public void analysePerformance(Workout workout) {
+        if (workout.getPlans() == null || workout.getPlans().isEmpty() || workout.getAccount() == null) {
+            workout.setBlockResults(List.of());
+            workout.setGrade(null);
+            return;
+        }
+
+        List<BlockPerformance> results = BlockPerformanceEngine.analyze(getBpmSeries(workout),
+                workout.getStartTime().toInstant().toEpochMilli(), workout.getPlans(), workout.getAccount().getFCMax());
+
+        workout.setBlockResults(results.stream().map(WorkoutBlockResult::new).toList());
+        workout.setGrade(BlockPerformanceEngine.grade(results));
+    }
+
+    /**
+     * Écrit (ou efface) les échantillons au format une ligne par point avec {@link SampleBulkWriter},
+     * sans passer par la cascade JPA.
+     * @param workout workout persisté
+     * @param upload données uploadées
+     * @param replace true si le workout peut déjà avoir des lignes à supprimer
+     */
+    private void writeSampleRows(Workout workout, WorkoutUploadDto upload, boolean replace) {
+        ZoneOffset offset = workout.getStartTime().getOffset();
+
+        if (sampleStorage == SampleStorageMode.ROWS) {
+            SampleBuffer bpm = upload.getBpmSamples() != null
+                    ? upload.getBpmSamples()
+                    : SampleBuffer.fromBpmDataPoints(upload.getBpmDataPoints());
+            SampleBuffer speed = upload.getSpeedSamples() != null
+                    ? upload.getSpeedSamples()
+                    : SampleBuffer.fromSpeedDataPoints(upload.getSpeedDataPoints());
+            sampleBulkWriter.replaceBpmRows(workout, bpm, offset);
+            sampleBulkWriter.replaceSpeedRows(workout, speed, offset);
+        } else if (replace) {
+            // Lignes laissées par un upload précédent au format historique
+            sampleBulkWriter.replaceBpmRows(workout, new SampleBuffer(1), offset);
+            sampleBulkWriter.replaceSpeedRows(workout, new SampleBuffer(2), offset);
+        }
+    }
+
+    /**
+     * Série BPM d'un workout, quel que soit son format de stockage.
+     * @param workout workout concerné
+     * @return série triée par timestamp
+     */
+    public SampleSeries getBpmSeries(Workout workout) {
+        if (workout.getSamples() != null) {
+            return workout.getSamples().getBpmSeries();
+        }
+        return SampleSeries.fromDataPoints(workout.getActualBPMDataPoints(),
+                BPMDataPoint::getTimestamp, BPMDataPoint::getBpm);
+    }
+
+    /**
+     * Série de vitesse (km/h) d'un workout, quel que soit son format de stockage.
+     * @param workout workout concerné
+     * @return série triée par timestamp
+     */
+    public SampleSeries getSpeedSeries(Workout workout) {
+        if (workout.getSamples() != null) {
+            return workout.getSamples().getSpeedKmhSeries();
+        }
+        return SampleSeries.fromDataPoints(workout.getActualSpeedDataPoints(),
+                SpeedDataPoint::getTimestamp, SpeedDataPoint::getKmh);
+    }
+
+    /**
+     * Série complète d'un workout, quel que soit son format de stockage.
+     * @param workout workout concerné
+     * @param metric série voulue
+     * @return série triée par timestamp
+     */
+    public SampleSeries getSeries(Workout workout, SeriesMetric metric) {
+        return switch (metric) {
+            case BPM -> getBpmSeries(workout);
+            case SPEED -> getSpeedSeries(workout);
+            case PACE -> workout.getSamples() != null
+                    ? workout.getSamples().getSpeedPaceSeries()
+                    : SampleSeries.fromDataPoints(workout.getActualSpeedDataPoints(),
+                            SpeedDataPoint::getTimestamp, SpeedDataPoint::getPaceMinPerKm);
+        };
+    }
+
+    /**
+     * Série d'un workout réduite à {@code points} points pour l'affichage.
+     *
+     * En LTTB, on part du plus petit niveau précalculé à l'upload qui a assez de points,
+     * et la série complète n'est décodée que si aucun niveau ne convient.
+     * @param workout workout concerné
+     * @param metric série voulue
+     * @param points nombre de points maximum
+     * @param mode algorithme de sous-échantillonnage
+     * @return série sous-échantillonnée
+     */
+    public WorkoutSeriesDto getDownsampledSeries(Workout workout, SeriesMetric metric, int points, DownsampleMode mode) {
+        WorkoutSamples samples = workout.getSamples();
+        int rawPoints = samples != null
+                ? (metric == SeriesMetric.BPM ? samples.getBpmCount() : samples.getSpeedCount())
+                : -1;
+
+        SampleSeries series = null;
+        if (mode == DownsampleMode.LTTB && samples != null) {
+            series = samples.findLevel(metric, points).orElse(null);
+        }
+        if (series == null) {
+            series = getSeries(workout, metric);
+        }
+        if (rawPoints < 0) {
+            rawPoints = series.size();
+        }
+
+        SampleSeries reduced = mode == DownsampleMode.MINMAX
+                ? Downsampler.minMax(series, points)
+                : Downsampler.lttb(series, points);
+
+        ZoneOffset zone = workout.getStartTime().getOffset();
+        List<SeriesPointDto> dto = new ArrayList<>(reduced.size());
+        for (int i = 0; i < reduced.size(); i++) {
+            dto.add(new SeriesPointDto(
+                    OffsetDateTime.ofInstant(Instant.ofEpochMilli(reduced.epochMillis(i)), zone),
+                    reduced.value(i)));
+        }
+        return new WorkoutSeriesDto(workout.getId(), metric, rawPoints, dto);
+    }
+
+    /**
+     * Relit les échantillons d'un workout, quel que soit leur format de stockage.
+     * @param workout workout concerné
+     * @return échantillons BPM et vitesse
+     */
+    public WorkoutSamplesDto getSamples(Workout workout) {
+        WorkoutSamples samples = workout.getSamples();
+        if (samples != null) {
+            return new WorkoutSamplesDto(workout.getId(), samples.getBpmDataPoints(), samples.getSpeedDataPoints());
+        }
+
+        // Workouts stockés au format historique (une ligne par échantillon)
+        List<WorkoutBPMDataPointDto> bpm = workout.getActualBPMDataPoints().stream()
+                .map(p -> new WorkoutBPMDataPointDto(p.getTimestamp(), p.getBpm()))
+                .toList();
+        List<WorkoutSpeedDataPointDto> speed = workout.getActualSpeedDataPoints().stream()
+                .map(p -> new WorkoutSpeedDataPointDto(p.getTimestamp(), p.getKmh(), p.getPaceMinPerKm()))
+                .toList();
+        return new WorkoutSamplesDto(workout.getId(), bpm, speed);
+    }
+
+    /**
+     * Relit les échantillons d'un workout au format colonnes (schéma 2), quel que soit leur
+     * format de stockage.
+     * @param workout workout concerné
+     * @return séries BPM et vitesse en colonnes
+     */
+    public WorkoutColumnarSamplesDto getColumnarSamples(Workout workout) {
+        WorkoutSamples samples = workout.getSamples();
+        SampleBuffer bpm;
+        SampleBuffer speed;
+        if (samples != null) {
+            bpm = samples.getBpmSamples();
+            speed = samples.getSpeedSamples();
+        } else {
+            WorkoutSamplesDto legacy = getSamples(workout);
+            bpm = SampleBuffer.fromBpmDataPoints(legacy.getBpmDataPoints());
+            speed = SampleBuffer.fromSpeedDataPoints(legacy.getSpeedDataPoints());
+        }
+        return new WorkoutColumnarSamplesDto(workout.getId(),
+                ColumnarSeriesDto.of(bpm, ColumnarSeriesDto.BPM),
+                ColumnarSeriesDto.of(speed, ColumnarSeriesDto.KMH, ColumnarSeriesDto.PACE));
+    }
+}
@@ -0,0 +1,220 @@
+package org.heigvd.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.heigvd.analysis.filter.SampleFilterChain;
+import org.heigvd.dto.workout_dto.data_point_dto.ColumnarSeriesDto;
+import org.heigvd.dto.workout_dto.WorkoutUploadDto;
+import org.heigvd.entity.workout.data_point.SampleBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Lecture en streaming d'un {@link WorkoutUploadDto}.
+ *
+ * Le JSON a la même forme que pour l'upload classique, mais les échantillons BPM et vitesse
+ * sont lus token par token avec l'API streaming de Jackson et copiés directement dans des
+ * {@link SampleBuffer} : aucune liste de DTOs n'est matérialisée, quelle que soit la durée
+ * du workout. Les échantillons BPM passent par la chaîne de {@link SampleFilterService} au fil de
+ * la lecture.
+ *
+ * Les séries au format colonnes ({@code bpmSeries} / {@code speedSeries}, voir
+ * {@link ColumnarSeriesDto}) sont lues directement en tableaux primitifs.
+ */
+@ApplicationScoped
+public class WorkoutUploadParser {
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    SampleFilterService sampleFilterService;
+
+    /**
+     * Lit un upload JSON depuis le flux de la requête.
+     * @param in corps de la requête
+     * @return DTO dont les échantillons sont dans {@code bpmSamples} (filtrés) / {@code speedSamples}
+     * @throws IOException si le JSON est invalide
+     */
+    public WorkoutUploadDto parse(InputStream in) throws IOException {
+        return parse(in, null);
+    }
+
+    /**
+     * Lit un upload depuis le flux de la requête, dans le format de la fabrique donnée : les formats
+     * binaires de Jackson (CBOR, Smile) produisent les mêmes tokens que le JSON.
+     * @param in corps de la requête
+     * @param format fabrique de parseurs du format du corps, null pour le JSON
+     * @return DTO dont les échantillons sont dans {@code bpmSamples} (filtrés) / {@code speedSamples}
+     * @throws IOException si le corps est invalide
+     */
+    public WorkoutUploadDto parse(InputStream in, JsonFactory format) throws IOException {
+        WorkoutUploadDto dto = new WorkoutUploadDto();
+
+        JsonFactory factory = format != null ? format : objectMapper.getFactory();
+        try (JsonParser p = factory.createParser(in)) {
+            expect(p, p.nextToken(), JsonToken.START_OBJECT);
+
+            JsonToken next;
+            while ((next = p.nextToken()) != JsonToken.END_OBJECT) {
+                expect(p, next, JsonToken.FIELD_NAME);
+                String field = p.currentName();
+                JsonToken token = p.nextToken();
+
+                switch (field) {
+                    case "start" -> dto.setStart(readDateTime(p, token));
+                    case "end" -> dto.setEnd(readDateTime(p, token));
+                    case "sport" -> dto.setSport(readString(p, token));
+                    case "source" -> dto.setSource(readString(p, token));
+                    case "distance" -> dto.setDistance(readDouble(p, token));
+                    case "caloriesKcal" -> dto.setCaloriesKcal(readDouble(p, token));
+                    case "avgSpeed" -> dto.setAvgSpeed(readDouble(p, token));
+                    case "avgBPM" -> dto.setAvgBPM(readDouble(p, token));
+                    case "maxBPM" -> dto.setMaxBPM(readDouble(p, token));
+                    case "bpmDataPoints" -> dto.setBpmSamples(readBpmSamples(p, token));
+                    case "speedDataPoints" -> dto.setSpeedSamples(readSpeedSamples(p, token));
+                    case "bpmSeries" -> dto.setBpmSamples(readBpmSeries(p, token));
+                    case "speedSeries" -> dto.setSpeedSamples(readSpeedSeries(p, token));
+                    default -> p.skipChildren();
+                }
+            }
+        }
+
+        return dto;
+    }
+
+    private SampleBuffer readBpmSamples(JsonParser p, JsonToken token) throws IOException {
+        SampleBuffer buffer = new SampleBuffer(1);
+        if (token == JsonToken.VALUE_NULL) {
+            return buffer;
+        }
+        expect(p, token, JsonToken.START_ARRAY);
+        SampleFilterChain filter = sampleFilterService.bpmChain(buffer::add);
+
+        JsonToken sample;
+        while ((sample = p.nextToken()) != JsonToken.END_ARRAY) {
+            expect(p, sample, JsonToken.START_OBJECT);
+            OffsetDateTime ts = null;
+            double bpm = Double.NaN;
+
+            JsonToken next;
+            while ((next = p.nextToken()) != JsonToken.END_OBJECT) {
+                expect(p, next, JsonToken.FIELD_NAME);
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                switch (field) {
+                    case "ts" -> ts = readDateTime(p, value);
+                    case "bpm" -> bpm = readPrimitive(p, value);
+                    default -> p.skipChildren();
+                }
+            }
+
+            if (ts != null) {
+                filter.add(ts.toInstant().toEpochMilli(), bpm);
+            }
+        }
+
+        filter.finish();
+        return buffer;
+    }
+
+    private SampleBuffer readSpeedSamples(JsonParser p, JsonToken token) throws IOException {
+        SampleBuffer buffer = new SampleBuffer(2);
+        if (token == JsonToken.VALUE_NULL) {
+            return buffer;
+        }
+        expect(p, token, JsonToken.START_ARRAY);
+
+        JsonToken sample;
+        while ((sample = p.nextToken()) != JsonToken.END_ARRAY) {
+            expect(p, sample, JsonToken.START_OBJECT);
+            OffsetDateTime ts = null;
+            double kmh = Double.NaN;
+            double pace = Double.NaN;
+
+            JsonToken next;
+            while ((next = p.nextToken()) != JsonToken.END_OBJECT) {
+                expect(p, next, JsonToken.FIELD_NAME);
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                switch (field) {
+                    case "ts" -> ts = readDateTime(p, value);
+                    case "kmh" -> kmh = readPrimitive(p, value);
+                    case "pace_min_per_km" -> pace = readPrimitive(p, value);
+                    default -> p.skipChildren();
+                }
+            }
+
+            if (ts != null) {
+                buffer.add(ts.toInstant().toEpochMilli(), kmh, pace);
+            }
+        }
+
+        return buffer;
+    }
+
+    private SampleBuffer readBpmSeries(JsonParser p, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return new SampleBuffer(1);
+        }
+        ColumnarSeriesDto series = objectMapper.readValue(p, ColumnarSeriesDto.class);
+        return sampleFilterService.filterBpm(series.toBuffer(ColumnarSeriesDto.BPM));
+    }
+
+    private SampleBuffer readSpeedSeries(JsonParser p, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return new SampleBuffer(2);
+        }
+        return objectMapper.readValue(p, ColumnarSeriesDto.class)
+                .toBuffer(ColumnarSeriesDto.KMH, ColumnarSeriesDto.PACE);
+    }
+
+    /**
+     * Lit une date ISO-8601, ou un nombre de secondes epoch (comme le fait Jackson par défaut).
+     */
+    private OffsetDateTime readDateTime(JsonParser p, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NULL -> null;
+            case VALUE_STRING -> OffsetDateTime.parse(p.getText());
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                BigDecimal seconds = p.getDecimalValue();
+                long epochSeconds = seconds.longValue();
+                long nanos = seconds.subtract(BigDecimal.valueOf(epochSeconds)).movePointRight(9).longValue();
+                yield OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSeconds, nanos), ZoneOffset.UTC);
+            }
+            default -> throw new IOException("Unexpected token " + token + " for a date at " + p.currentLocation());
+        };
+    }
+
+    private String readString(JsonParser p, JsonToken token) throws IOException {
+        return token == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+    }
+
+    private Double readDouble(JsonParser p, JsonToken token) throws IOException {
+        return token == JsonToken.VALUE_NULL ? null : readPrimitive(p, token);
+    }
+
+    private double readPrimitive(JsonParser p, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NULL -> Double.NaN;
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getDoubleValue();
+            case VALUE_STRING -> Double.parseDouble(p.getText());
+            default -> throw new IOException("Unexpected token " + token + " for a number at " + p.currentLocation());
+        };
+    }
+
+    private void expect(JsonParser p, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual + " at " + p.currentLocation());
+        }
+    }
+}
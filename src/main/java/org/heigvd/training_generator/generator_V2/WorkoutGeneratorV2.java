@@ -4,10 +4,9 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.heigvd.entity.Account;
 import org.heigvd.entity.Sport;
-import org.heigvd.entity.training_plan.DailyPlan;
+import org.heigvd.entity.training_plan.PlanCalendar;
 import org.heigvd.entity.training_plan.TrainingPlan;
 import org.heigvd.entity.training_plan.TrainingPlanPhase;
-import org.heigvd.entity.training_plan.WeeklyPlan;
 import org.heigvd.entity.workout.Workout;
 import org.heigvd.entity.workout.WorkoutStatus;
 import org.heigvd.entity.workout.WorkoutType;
@@ -40,23 +39,22 @@ public class WorkoutGeneratorV2 implements TrainingWorkoutGenerator {
     public List<Workout> generate(TrainingPlan trainingPlan, LocalDate actualDate) {
         Account account = trainingPlan.getAccount();
 
-        Integer currentWeekNumber = trainingPlanService.getWeekNumberForDate(trainingPlan, actualDate);
-        WeeklyPlan currentWeek = trainingPlanService.getWeeklyPlanForDate(trainingPlan, account.getId(), actualDate);
+        PlanCalendar calendar = trainingPlanService.getCalendar(trainingPlan);
+        Integer currentWeekNumber = calendar.weekNumber(actualDate);
 
-        if(currentWeek == null) {
+        if(!calendar.contains(currentWeekNumber)) {
             throw new IllegalArgumentException("No weekly plan found for the given date.");
         }
 
         LocalDate monday = actualDate.minusDays(actualDate.getDayOfWeek().getValue() - 1);
 
-        List<Workout> workouts = generateWorkoutForWeek(trainingPlan, currentWeek, monday, account, currentWeekNumber);
+        List<Workout> workouts = generateWorkoutForWeek(calendar, monday, account, currentWeekNumber);
 
         // Génération optionnelle de la semaine suivante
-        if(currentWeekNumber != null && currentWeekNumber < trainingPlan.getWeeklyPlans().size()) {
+        if(calendar.contains(currentWeekNumber + 1)) {
             workouts.addAll(
                     generateWorkoutForWeek(
-                            trainingPlan,
-                            trainingPlan.getWeeklyPlans().get(currentWeekNumber),
+                            calendar,
                             monday.plusWeeks(1),
                             account,
                             currentWeekNumber + 1
@@ -69,21 +67,20 @@ public class WorkoutGeneratorV2 implements TrainingWorkoutGenerator {
 
     /**
      * Génère les entraînements pour une semaine complète
-     * @param trainingPlan Plan d'entraînement global
-     * @param plan Plan hebdomadaire
+     * @param calendar Calendrier du plan d'entraînement
      * @param monday Lundi de la semaine concernée
      * @param account Compte utilisateur
      * @param weekNumber Numéro de la semaine
      * @return Liste des entraînements de la semaine
      */
-    private List<Workout> generateWorkoutForWeek(TrainingPlan trainingPlan, WeeklyPlan plan,
-                                                 LocalDate monday, Account account, Integer weekNumber) {
-        List<DailyPlan> dailyPlans = plan.getDailyPlans();
+    private List<Workout> generateWorkoutForWeek(PlanCalendar calendar, LocalDate monday,
+                                                 Account account, Integer weekNumber) {
+        List<PlanCalendar.Slot> dailyPlans = calendar.slots(weekNumber);
         List<Workout> workouts = new ArrayList<>();
 
         // Calcul des paramètres globaux de la semaine
-        TrainingPlanPhase currentPhase = getCurrentPhase(trainingPlan, weekNumber);
-        double progressionPercent = calculateProgressionPercent(trainingPlan, weekNumber);
+        TrainingPlanPhase currentPhase = calendar.phase(weekNumber);
+        double progressionPercent = calendar.progression(weekNumber);
         int fitnessLevel = account.getLastFitnessLevel().getFitnessLevel();
 
         // Génération intelligente des types d'entraînements par sport
@@ -93,19 +90,19 @@ public class WorkoutGeneratorV2 implements TrainingWorkoutGenerator {
         // Compteurs pour distribuer équitablement les types d'entraînements
         Map<Sport, Integer> sportCounters = new HashMap<>();
 
-        for(DailyPlan dp : dailyPlans) {
-            WorkoutType workoutType = getNextWorkoutType(dp.getSport(), sportPatterns, sportCounters);
+        for(PlanCalendar.Slot dp : dailyPlans) {
+            WorkoutType workoutType = getNextWorkoutType(dp.sport(), sportPatterns, sportCounters);
 
             int estimatedDurationMinutes = calculateDynamicWorkoutDuration(
-                    dp.getSport(), workoutType, fitnessLevel, currentPhase, progressionPercent);
+                    dp.sport(), workoutType, fitnessLevel, currentPhase, progressionPercent);
 
             OffsetDateTime startTime = monday
-                    .plusDays(dp.getDayOfWeek().getValue() - 1)
+                    .plusDays(dp.dayOfWeek().getValue() - 1)
                     .atTime(18, 0)
                     .atOffset(OffsetDateTime.now().getOffset());
 
             List<WorkoutPlan> workoutPlans = tgs.generate(
-                    dp.getSport(),
+                    dp.sport(),
                     workoutType,
                     fitnessLevel,
                     progressionPercent,
@@ -114,7 +111,7 @@ public class WorkoutGeneratorV2 implements TrainingWorkoutGenerator {
 
             Workout workout = new Workout(
                     account,
-                    dp.getSport(),
+                    dp.sport(),
                     startTime,
                     startTime.plusMinutes(estimatedDurationMinutes),
                     "Smart Training Generator V2",
@@ -139,7 +136,7 @@ public class WorkoutGeneratorV2 implements TrainingWorkoutGenerator {
      * @return Map des patterns par sport
      */
     private Map<Sport, List<WorkoutType>> generateSmartWorkoutPatterns(
-            List<DailyPlan> dailyPlans, TrainingPlanPhase phase,
+            List<PlanCalendar.Slot> dailyPlans, TrainingPlanPhase phase,
             int fitnessLevel, double progression) {
 
         Map<Sport, Integer> sportCounts = countSportWorkouts(dailyPlans);
@@ -429,31 +426,10 @@ public class WorkoutGeneratorV2 implements TrainingWorkoutGenerator {
         };
     }
 
-    private TrainingPlanPhase getCurrentPhase(TrainingPlan trainingPlan, Integer weekNumber) {
-        if (weekNumber == null) return TrainingPlanPhase.BASE;
-
-        int totalWeeks = trainingPlan.getWeeklyPlans().size();
-        int baseWeeks = TrainingPlanPhase.BASE.computeWeeks(totalWeeks);
-        int specificWeeks = TrainingPlanPhase.SPECIFIC.computeWeeks(totalWeeks);
-
-        if (weekNumber <= baseWeeks) {
-            return TrainingPlanPhase.BASE;
-        } else if (weekNumber <= baseWeeks + specificWeeks) {
-            return TrainingPlanPhase.SPECIFIC;
-        } else {
-            return TrainingPlanPhase.SHARPENING;
-        }
-    }
-
-    private double calculateProgressionPercent(TrainingPlan trainingPlan, Integer weekNumber) {
-        if (weekNumber == null) return 0.0;
-        return Math.min(1.0, (double) weekNumber / trainingPlan.getWeeklyPlans().size());
-    }
-
-    private Map<Sport, Integer> countSportWorkouts(List<DailyPlan> dailyPlans) {
+    private Map<Sport, Integer> countSportWorkouts(List<PlanCalendar.Slot> dailyPlans) {
         Map<Sport, Integer> counts = new HashMap<>();
-        for (DailyPlan dp : dailyPlans) {
-            counts.merge(dp.getSport(), 1, Integer::sum);
+        for (PlanCalendar.Slot dp : dailyPlans) {
+            counts.merge(dp.sport(), 1, Integer::sum);
         }
         return counts;
     }
@@ -0,0 +1,140 @@
+package org.heigvd;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.heigvd.dto.workout_dto.WorkoutUploadDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutBPMDataPointDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutSpeedDataPointDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compare JSON, CBOR et Smile pour l'upload d'un workout de 2 heures (un échantillon BPM et un
+ * échantillon de vitesse par seconde) : taille du corps, brute et compressée en gzip, et temps de
+ * sérialisation / désérialisation avec la configuration Jackson de l'application.
+ *
+ * Lancement : {@code mvn test -Dtest=BinaryFormatBenchmark -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    private static final int SECONDS = 2 * 3600;
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 9, 1, 7, 0, 0, 0, ZoneOffset.ofHours(2));
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    ObjectMapper mapper;
+    WorkoutUploadDto workout;
+    byte[] payload;
+
+    @Setup
+    public void setup() throws IOException {
+        mapper = mapper(format);
+        workout = twoHourWorkout();
+        payload = mapper.writeValueAsBytes(workout);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(workout);
+    }
+
+    @Benchmark
+    public WorkoutUploadDto deserialize() throws IOException {
+        return mapper.readValue(payload, WorkoutUploadDto.class);
+    }
+
+    @Test
+    void runBenchmark() throws Exception {
+        WorkoutUploadDto workout = twoHourWorkout();
+        for (String format : List.of("json", "cbor", "smile")) {
+            ObjectMapper mapper = mapper(format);
+            byte[] bytes = mapper.writeValueAsBytes(workout);
+            WorkoutUploadDto read = mapper.readValue(bytes, WorkoutUploadDto.class);
+            assertEquals(SECONDS, read.getBpmDataPoints().size());
+            assertEquals(SECONDS, read.getSpeedDataPoints().size());
+            System.out.printf("%-5s : %,9d octets, %,9d octets en gzip%n", format, bytes.length, gzip(bytes).length);
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(BinaryFormatBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    /**
+     * Mapper configuré comme celui de Quarkus (dates ISO-8601, propriétés inconnues ignorées),
+     * sur la fabrique du format.
+     */
+    private static ObjectMapper mapper(String format) {
+        ObjectMapper json = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return switch (format) {
+            case "cbor" -> json.copyWith(new CBORFactory());
+            case "smile" -> json.copyWith(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build());
+            default -> json;
+        };
+    }
+
+    private static WorkoutUploadDto twoHourWorkout() {
+        Random random = new Random(42);
+        List<WorkoutBPMDataPointDto> bpm = new ArrayList<>(SECONDS);
+        List<WorkoutSpeedDataPointDto> speed = new ArrayList<>(SECONDS);
+        for (int i = 0; i < SECONDS; i++) {
+            OffsetDateTime ts = START.plusSeconds(i);
+            bpm.add(new WorkoutBPMDataPointDto(ts, (double) Math.round(140 + 20 * Math.sin(i / 600.0) + random.nextGaussian() * 3)));
+            double kmh = 11 + Math.sin(i / 300.0) + random.nextGaussian() * 0.3;
+            speed.add(new WorkoutSpeedDataPointDto(ts, kmh, 60 / kmh));
+        }
+        return new WorkoutUploadDto(START, START.plusSeconds(SECONDS), "RUNNING", 22_000.0, 1_600.0,
+                11.0, 140.0, 175.0, bpm, speed, "watch");
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,50 @@
+package org.heigvd;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.heigvd.resource.BinaryMediaTypes;
+import org.heigvd.service.JwtService;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+
+@QuarkusTest
+public class BinaryVariantFilterTest {
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    JwtService jwtService;
+
+    @Test
+    void testErrorsStayJsonAndVaryOnAccept() {
+        UUID accountId = QuarkusTransaction.requiringNew().call(() -> em.createQuery("SELECT a.id FROM Account a", UUID.class)
+                .setMaxResults(1)
+                .getSingleResult());
+        String token = jwtService.generateToken(accountId);
+
+        for (String accept : new String[] {BinaryMediaTypes.CBOR, BinaryMediaTypes.SMILE, "application/json"}) {
+            given().auth().oauth2(token)
+                    .accept(accept)
+                    .when().get("/workouts/" + UUID.randomUUID())
+                    .then().statusCode(404)
+                    .header("Vary", containsString("Accept"))
+                    .contentType(startsWith("application/json"))
+                    .body(containsString("Workout not found"));
+
+            given().auth().oauth2(token)
+                    .accept(accept)
+                    .when().get("/workouts/" + UUID.randomUUID() + "/samples?schema=3")
+                    .then().statusCode(400)
+                    .header("Vary", containsString("Accept"))
+                    .contentType(startsWith("application/json"));
+        }
+    }
+}
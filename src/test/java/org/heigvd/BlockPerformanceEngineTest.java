@@ -0,0 +1,79 @@
+package org.heigvd;
+
+import org.heigvd.analysis.BlockPerformanceEngine;
+import org.heigvd.analysis.BlockPerformanceEngine.BlockPerformance;
+import org.heigvd.entity.workout.IntensityZone;
+import org.heigvd.entity.workout.WorkoutType;
+import org.heigvd.entity.workout.data_point.SampleSeries;
+import org.heigvd.entity.workout.details.WorkoutPlan;
+import org.heigvd.entity.workout.details.WorkoutPlanDetails;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockPerformanceEngineTest {
+
+    private static final int FC_MAX = 200;
+    private static final long START = 1_756_742_400_000L;
+
+    @Test
+    void testBlocksAreExpandedAndAligned() {
+        // Plan : 10 min d'endurance (120-138), puis 2 x (1 min VO2 max (180-188) + 1 min récupération (100-118))
+        List<WorkoutPlan> plans = List.of(
+                new WorkoutPlan(2, 2, List.of(
+                        new WorkoutPlanDetails(2, 60, IntensityZone.RECOVERY),
+                        new WorkoutPlanDetails(1, 60, IntensityZone.VO2_MAX)), WorkoutType.INTERVAL),
+                new WorkoutPlan(1, 1, List.of(
+                        new WorkoutPlanDetails(1, 600, IntensityZone.ENDURANCE)), WorkoutType.INTERVAL));
+
+        int seconds = 600 + 2 * 120;
+        long[] ts = new long[seconds];
+        double[] bpm = new double[seconds];
+        for (int s = 0; s < seconds; s++) {
+            ts[s] = START + s * 1000L;
+            if (s < 600) {
+                bpm[s] = s < 300 ? 110 : 130;       // la première moitié est trop basse
+            } else {
+                bpm[s] = (s - 600) % 120 < 60 ? 185 : 110;
+            }
+        }
+
+        List<BlockPerformance> results = BlockPerformanceEngine.analyze(SampleSeries.of(ts, bpm), START, plans, FC_MAX);
+
+        assertEquals(5, results.size());
+
+        BlockPerformance warmup = results.get(0);
+        assertEquals(1, warmup.blocId());
+        assertEquals(120, warmup.plannedBpmMin());
+        assertEquals(600, warmup.sampleCount());
+        assertEquals(120.0, warmup.meanBpm(), 1e-9);
+        assertEquals(110.0, warmup.minBpm());
+        assertEquals(130.0, warmup.maxBpm());
+        assertEquals(300, warmup.timeInZoneSec());
+        assertEquals(0.5, warmup.compliance(), 1e-9);
+
+        BlockPerformance secondInterval = results.get(3);
+        assertEquals(2, secondInterval.repetition());
+        assertEquals(1, secondInterval.blocDetailId());
+        assertEquals(720, secondInterval.startOffsetSec());
+        assertEquals(1.0, secondInterval.compliance(), 1e-9);
+
+        // (600 * 0.5 + 240 * 1) / 840
+        assertEquals(6.4, BlockPerformanceEngine.grade(results));
+    }
+
+    @Test
+    void testBlockWithoutSamples() {
+        List<WorkoutPlan> plans = List.of(new WorkoutPlan(1, 1, List.of(
+                new WorkoutPlanDetails(1, 600, IntensityZone.ENDURANCE)), WorkoutType.INTERVAL));
+
+        List<BlockPerformance> results = BlockPerformanceEngine.analyze(SampleSeries.EMPTY, START, plans, FC_MAX);
+
+        assertEquals(1, results.size());
+        assertEquals(0, results.get(0).sampleCount());
+        assertTrue(Double.isNaN(results.get(0).meanBpm()));
+        assertEquals(0.0, BlockPerformanceEngine.grade(results));
+    }
+}
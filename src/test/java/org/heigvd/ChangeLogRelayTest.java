@@ -0,0 +1,153 @@
+package org.heigvd;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.heigvd.entity.Account;
+import org.heigvd.entity.ChangeLogCheckpoint;
+import org.heigvd.entity.ChangeLogEntry;
+import org.heigvd.entity.ChangeOp;
+import org.heigvd.entity.Sport;
+import org.heigvd.entity.SyncEntityType;
+import org.heigvd.entity.workout.Workout;
+import org.heigvd.entity.workout.WorkoutStatus;
+import org.heigvd.service.ChangeLogConsumer;
+import org.heigvd.service.ChangeLogRelay;
+import org.heigvd.service.InstanceIdentity;
+import org.heigvd.service.WorkoutService;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Le relais planifié est désactivé en test : chaque passage est lancé par {@link ChangeLogRelay#relay(ChangeLogConsumer)}.
+ */
+@QuarkusTest
+public class ChangeLogRelayTest {
+
+    /** Consommateur de test : garde toutes les entrées livrées. */
+    public abstract static class Recording implements ChangeLogConsumer {
+
+        final List<ChangeLogEntry> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void accept(List<ChangeLogEntry> entries) {
+            received.addAll(entries);
+        }
+    }
+
+    /** Consommateur de test à position partagée. */
+    @ApplicationScoped
+    public static class RecordingConsumer extends Recording {
+
+        @Override
+        public String name() {
+            return "test-recording";
+        }
+    }
+
+    /** Consommateur de test à position par instance. */
+    @ApplicationScoped
+    public static class LocalRecordingConsumer extends Recording {
+
+        @Override
+        public String name() {
+            return "test-local-recording";
+        }
+
+        @Override
+        public boolean perInstance() {
+            return true;
+        }
+    }
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    WorkoutService workoutService;
+
+    @Inject
+    ChangeLogRelay relay;
+
+    @Inject
+    InstanceIdentity instance;
+
+    @Inject
+    RecordingConsumer consumer;
+
+    @Inject
+    LocalRecordingConsumer localConsumer;
+
+    @Test
+    void testWorkoutWritesAreRelayedInOrder() {
+        UUID workoutId = createAndDeleteWorkout();
+
+        assertTrue(relay.relay(consumer) >= 2);
+        assertEquals(List.of(ChangeOp.CREATE, ChangeOp.DELETE), ops(consumer, workoutId));
+
+        // La position partagée porte le nom du consommateur et suit la dernière entrée livrée
+        ChangeLogCheckpoint checkpoint = findCheckpoint(consumer.name());
+        assertNotNull(checkpoint);
+        assertNull(checkpoint.getLastError());
+        assertTrue(checkpoint.getTxId() > 0);
+        assertEquals(consumer.name(), relay.checkpointKey(consumer));
+
+        // Rien de nouveau : rien n'est relivré
+        assertEquals(0, relay.relay(consumer));
+    }
+
+    @Test
+    void testPerInstanceConsumerStartsAtEndOfLog() {
+        UUID before = createAndDeleteWorkout();
+        relay.relay(localConsumer);
+
+        String key = relay.checkpointKey(localConsumer);
+        assertEquals(localConsumer.name() + "@" + instance.id(), key);
+        assertNotNull(findCheckpoint(key));
+        assertNull(findCheckpoint(localConsumer.name()));
+
+        UUID after = createAndDeleteWorkout();
+        relay.relay(localConsumer);
+
+        // Les écritures antérieures à la création de la position ne sont pas livrées
+        assertEquals(List.of(), ops(localConsumer, before));
+        assertEquals(List.of(ChangeOp.CREATE, ChangeOp.DELETE), ops(localConsumer, after));
+    }
+
+    private UUID createAndDeleteWorkout() {
+        UUID accountId = QuarkusTransaction.requiringNew().call(() -> em.createQuery("SELECT a.id FROM Account a", UUID.class)
+                .setMaxResults(1)
+                .getSingleResult());
+
+        UUID workoutId = QuarkusTransaction.requiringNew().call(() -> {
+            Workout workout = new Workout();
+            workout.setAccount(em.find(Account.class, accountId));
+            workout.setSport(Sport.RUNNING);
+            workout.setStatus(WorkoutStatus.PLANNED);
+            workout.setStartTime(OffsetDateTime.now());
+            workout.setEndTime(OffsetDateTime.now().plusHours(1));
+            return workoutService.create(workout).getId();
+        });
+        QuarkusTransaction.requiringNew().run(() -> workoutService.delete(workoutId));
+        return workoutId;
+    }
+
+    private ChangeLogCheckpoint findCheckpoint(String key) {
+        return QuarkusTransaction.requiringNew().call(() -> em.find(ChangeLogCheckpoint.class, key));
+    }
+
+    private static List<ChangeOp> ops(Recording consumer, UUID workoutId) {
+        return consumer.received.stream()
+                .filter(e -> e.getEntityType() == SyncEntityType.WORKOUT && workoutId.equals(e.getEntityId()))
+                .map(ChangeLogEntry::getOp)
+                .toList();
+    }
+}
@@ -0,0 +1,77 @@
+package org.heigvd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.heigvd.dto.workout_dto.WorkoutUploadDto;
+import org.heigvd.dto.workout_dto.data_point_dto.ColumnarSeriesDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutBPMDataPointDto;
+import org.heigvd.entity.workout.data_point.SampleBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnarSeriesTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 9, 1, 18, 0, 0, 0, ZoneOffset.ofHours(2));
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void testRoundTrip() throws Exception {
+        long t0 = START.toInstant().toEpochMilli();
+        SampleBuffer speed = new SampleBuffer(2);
+        speed.add(t0, 10.5, 5.71);
+        speed.add(t0 + 1000, Double.NaN, 6.0);
+        speed.add(t0 + 2500, 9.0, Double.NaN);
+
+        String json = MAPPER.writeValueAsString(ColumnarSeriesDto.of(speed, ColumnarSeriesDto.KMH, ColumnarSeriesDto.PACE));
+        assertEquals("{\"t0\":" + t0 + ",\"dt\":[0,1000,1500],\"kmh\":[10.5,null,9.0],\"pace_min_per_km\":[5.71,6.0,null]}", json);
+
+        SampleBuffer read = MAPPER.readValue(json, ColumnarSeriesDto.class)
+                .toBuffer(ColumnarSeriesDto.KMH, ColumnarSeriesDto.PACE);
+        assertEquals(3, read.size());
+        assertEquals(t0 + 2500, read.epochMillis(2));
+        assertTrue(Double.isNaN(read.value(0, 1)));
+        assertEquals(5.71, read.value(1, 0));
+    }
+
+    @Test
+    void testFieldOrderAndMissingColumn() throws Exception {
+        ColumnarSeriesDto series = MAPPER.readValue(
+                "{\"kmh\":[12.0,12.5],\"dt\":[0,1000],\"t0\":1000}", ColumnarSeriesDto.class);
+
+        SampleBuffer buffer = series.toBuffer(ColumnarSeriesDto.KMH, ColumnarSeriesDto.PACE);
+        assertEquals(1000, buffer.epochMillis(0));
+        assertEquals(2000, buffer.epochMillis(1));
+        assertEquals(12.5, buffer.value(0, 1));
+        assertTrue(Double.isNaN(buffer.value(1, 1)));
+    }
+
+    @Test
+    void testMismatchedColumnLength() {
+        assertThrows(Exception.class, () -> MAPPER.readValue(
+                "{\"t0\":0,\"dt\":[0,1000],\"bpm\":[140.0]}", ColumnarSeriesDto.class));
+    }
+
+    @Test
+    void testSmallerThanObjectPerSample() throws Exception {
+        List<WorkoutBPMDataPointDto> points = new ArrayList<>();
+        for (int i = 0; i < 3600; i++) {
+            points.add(new WorkoutBPMDataPointDto(START.plusSeconds(i), 120.0 + i % 40));
+        }
+        WorkoutUploadDto legacy = new WorkoutUploadDto();
+        legacy.setBpmDataPoints(points);
+        WorkoutUploadDto columnar = new WorkoutUploadDto();
+        columnar.setBpmSeries(ColumnarSeriesDto.of(SampleBuffer.fromBpmDataPoints(points), ColumnarSeriesDto.BPM));
+
+        int legacySize = MAPPER.writeValueAsBytes(legacy).length;
+        int columnarSize = MAPPER.writeValueAsBytes(columnar).length;
+        assertTrue(columnarSize * 3 < legacySize, columnarSize + " vs " + legacySize);
+
+        WorkoutUploadDto read = MAPPER.readValue(MAPPER.writeValueAsBytes(columnar), WorkoutUploadDto.class);
+        assertEquals(3600, read.getBpmSeries().size());
+    }
+}
@@ -0,0 +1,101 @@
+package org.heigvd;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.heigvd.dto.dashboard_dto.DashboardDto;
+import org.heigvd.dto.dashboard_dto.SportTotalsDto;
+import org.heigvd.entity.Account;
+import org.heigvd.entity.Sport;
+import org.heigvd.entity.workout.Workout;
+import org.heigvd.entity.workout.WorkoutStatus;
+import org.heigvd.service.AccountService;
+import org.heigvd.service.DashboardService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+public class DashboardServiceTest {
+
+    private static final int WORKOUTS = 5;
+
+    /** Plan d'entraînement, prochains workouts et totaux de la semaine ; le compte vient du cache. */
+    private static final long STATEMENTS = 3;
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    EntityManagerFactory emf;
+
+    @Inject
+    DashboardService dashboardService;
+
+    @Inject
+    AccountService accountService;
+
+    private UUID accountId;
+
+    @AfterEach
+    void tearDown() {
+        // Supprime aussi les workouts du compte (cascade)
+        if (accountId != null) {
+            accountService.delete(accountId);
+        }
+    }
+
+    @Test
+    void testStatementCountDoesNotDependOnWorkouts() {
+        SqlStatementCounter counter = new SqlStatementCounter(emf);
+        accountId = QuarkusTransaction.requiringNew().call(() -> {
+            Account account = new Account();
+            account.setEmail("dashboard-" + UUID.randomUUID() + "@example.com");
+            account.setPassword("secret");
+            account.setFirstName("Dash");
+            account.setLastName("Board");
+            account.setFCMax(190);
+            em.persist(account);
+            return account.getId();
+        });
+
+        // Premier appel : met le compte en cache
+        QuarkusTransaction.requiringNew().run(() -> dashboardService.getDashboard(accountId));
+        long empty = counter.countStatements(() ->
+                QuarkusTransaction.requiringNew().run(() -> dashboardService.getDashboard(accountId)));
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            Account account = em.find(Account.class, accountId);
+            OffsetDateTime start = OffsetDateTime.now().withHour(6);
+            for (int i = 0; i < WORKOUTS; i++) {
+                Workout workout = new Workout();
+                workout.setAccount(account);
+                workout.setSport(Sport.RUNNING);
+                workout.setStatus(WorkoutStatus.COMPLETED);
+                workout.setStartTime(start.plusMinutes(10L * i));
+                workout.setEndTime(start.plusMinutes(10L * i + 5));
+                workout.setDurationSec(300);
+                workout.setDistanceMeters(1000);
+                em.persist(workout);
+            }
+        });
+
+        DashboardDto[] dashboard = new DashboardDto[1];
+        long filled = counter.countStatements(() -> QuarkusTransaction.requiringNew().run(() ->
+                dashboard[0] = dashboardService.getDashboard(accountId).orElseThrow()));
+
+        assertEquals(STATEMENTS, empty);
+        assertEquals(STATEMENTS, filled);
+        SportTotalsDto running = dashboard[0].getWeekTotals().getFirst();
+        assertEquals(Sport.RUNNING, running.getSport());
+        assertEquals(WORKOUTS, running.getWorkoutCount());
+        assertEquals(WORKOUTS * 1000.0, running.getDistanceMeters());
+        assertEquals(WORKOUTS * 300L, running.getDurationSec());
+    }
+}
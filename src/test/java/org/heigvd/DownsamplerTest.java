@@ -0,0 +1,60 @@
+package org.heigvd;
+
+import org.heigvd.analysis.Downsampler;
+import org.heigvd.entity.workout.data_point.SampleSeries;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DownsamplerTest {
+
+    private static SampleSeries sine(int n) {
+        long[] ts = new long[n];
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            ts[i] = 1_000L * i;
+            values[i] = 140 + 20 * Math.sin(i / 60.0);
+        }
+        values[1234] = 200.0;
+        values[10] = Double.NaN;
+        return SampleSeries.of(ts, values);
+    }
+
+    @Test
+    void testLttbKeepsEndpointsAndPeaks() {
+        SampleSeries series = sine(3600);
+        SampleSeries reduced = Downsampler.lttb(series, 300);
+
+        assertEquals(300, reduced.size());
+        assertEquals(series.startMillis(), reduced.startMillis());
+        assertEquals(series.endMillis(), reduced.endMillis());
+        for (int i = 1; i < reduced.size(); i++) {
+            assertTrue(reduced.epochMillis(i) > reduced.epochMillis(i - 1));
+            assertFalse(Double.isNaN(reduced.value(i)));
+        }
+        // Le pic isolé est conservé
+        assertTrue(reduced.lowerBound(1_234_000L) < reduced.size());
+        assertEquals(200.0, reduced.value(reduced.lowerBound(1_234_000L)));
+    }
+
+    @Test
+    void testMinMaxKeepsExtremes() {
+        SampleSeries series = sine(3600);
+        SampleSeries reduced = Downsampler.minMax(series, 100);
+
+        assertTrue(reduced.size() <= 100);
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < reduced.size(); i++) {
+            max = Math.max(max, reduced.value(i));
+        }
+        assertEquals(200.0, max);
+    }
+
+    @Test
+    void testShortSeriesIsReturnedWithoutNaN() {
+        SampleSeries series = SampleSeries.of(new long[]{0, 1000, 2000}, new double[]{120, Double.NaN, 130});
+        SampleSeries reduced = Downsampler.lttb(series, 500);
+        assertEquals(2, reduced.size());
+        assertEquals(130.0, reduced.value(1));
+    }
+}
@@ -0,0 +1,41 @@
+package org.heigvd;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import org.heigvd.entity.Goal;
+import org.heigvd.service.GoalService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@QuarkusTest
+public class GoalCacheTest {
+
+    @Inject
+    EntityManagerFactory emf;
+
+    @Inject
+    GoalService goalService;
+
+    @Test
+    void testGoalsAreServedFromSecondLevelCache() {
+        SqlStatementCounter counter = new SqlStatementCounter(emf);
+
+        List<UUID> ids = QuarkusTransaction.requiringNew().call(() ->
+                goalService.getAllGoals().stream().map(Goal::getId).toList());
+        assertFalse(ids.isEmpty());
+
+        // Les entités et le résultat de la requête sont en cache : aucune requête SQL
+        counter.assertStatementCount(0, "cached goal list", () ->
+                QuarkusTransaction.requiringNew().call(() -> goalService.getAllGoals()));
+        List<Goal> goals = counter.assertStatementCount(0, "goals by ids", () ->
+                QuarkusTransaction.requiringNew().call(() -> goalService.getGoalsByIds(ids)));
+        assertEquals(ids.size(), goals.size());
+    }
+}
@@ -0,0 +1,69 @@
+package org.heigvd;
+
+import org.heigvd.entity.Sport;
+import org.heigvd.entity.training_plan.DailyPlan;
+import org.heigvd.entity.training_plan.PlanCalendar;
+import org.heigvd.entity.training_plan.TrainingPlan;
+import org.heigvd.entity.training_plan.TrainingPlanPhase;
+import org.heigvd.entity.training_plan.WeeklyPlan;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlanCalendarTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 9, 3);
+
+    private static TrainingPlan plan(int weeks) {
+        TrainingPlan tp = new TrainingPlan();
+        tp.setStartDate(START);
+        tp.setEndDate(START.plusWeeks(weeks).minusDays(1));
+        List<WeeklyPlan> weeklyPlans = new ArrayList<>();
+        for (int week = 1; week <= weeks; week++) {
+            List<DailyPlan> dailyPlans = new ArrayList<>();
+            dailyPlans.add(new DailyPlan(DayOfWeek.TUESDAY, Sport.RUNNING));
+            if (week % 2 == 0) {
+                dailyPlans.add(new DailyPlan(DayOfWeek.SATURDAY, Sport.CYCLING));
+            }
+            weeklyPlans.add(new WeeklyPlan(dailyPlans, week, null));
+        }
+        tp.setWeeklyPlans(weeklyPlans);
+        return tp;
+    }
+
+    @Test
+    void testWeekNumbersMatchChronoUnit() {
+        TrainingPlan tp = plan(10);
+        PlanCalendar calendar = PlanCalendar.of(tp);
+
+        for (LocalDate date = START.minusDays(20); date.isBefore(START.plusWeeks(12)); date = date.plusDays(1)) {
+            int expected = (int) ChronoUnit.WEEKS.between(START, date) + 1;
+            assertEquals(expected, calendar.currentWeekNumber(date), date.toString());
+            boolean inPlan = !date.isBefore(tp.getStartDate()) && !date.isAfter(tp.getEndDate());
+            assertEquals(inPlan ? Integer.valueOf(expected) : null, calendar.weekNumber(date), date.toString());
+        }
+    }
+
+    @Test
+    void testPhasesAndSlots() {
+        PlanCalendar calendar = PlanCalendar.of(plan(10));
+
+        assertEquals(10, calendar.getWeekCount());
+        assertEquals(15, calendar.getTotalSessions());
+        assertEquals(TrainingPlanPhase.BASE, calendar.phase(5));
+        assertEquals(TrainingPlanPhase.SPECIFIC, calendar.phase(8));
+        assertEquals(TrainingPlanPhase.SHARPENING, calendar.phase(9));
+        assertEquals(0.5, calendar.progression(5));
+
+        assertEquals(List.of(new PlanCalendar.Slot(DayOfWeek.TUESDAY, Sport.RUNNING),
+                new PlanCalendar.Slot(DayOfWeek.SATURDAY, Sport.CYCLING)), calendar.slotsAt(START.plusWeeks(1)));
+        assertTrue(calendar.slots(11).isEmpty());
+        assertTrue(calendar.isLastWeek(10));
+    }
+}
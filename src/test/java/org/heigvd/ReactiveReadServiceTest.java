@@ -0,0 +1,58 @@
+package org.heigvd;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.heigvd.dto.workout_dto.WorkoutLightDto;
+import org.heigvd.entity.Sport;
+import org.heigvd.entity.workout.Workout;
+import org.heigvd.service.ReactiveReadService;
+import org.heigvd.service.WorkoutService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+public class ReactiveReadServiceTest {
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    WorkoutService workoutService;
+
+    @Inject
+    ReactiveReadService reactiveReadService;
+
+    @Test
+    void testReactiveReadsMatchBlockingReads() {
+        UUID accountId = QuarkusTransaction.requiringNew().call(() -> em.createQuery("SELECT a.id FROM Account a", UUID.class)
+                .setMaxResults(1)
+                .getSingleResult());
+
+        List<UUID> blocking = QuarkusTransaction.requiringNew().call(() -> workoutService.findByAccountIdAndSport(accountId, Sport.RUNNING)
+                .stream()
+                .map(Workout::getId)
+                .toList());
+        List<UUID> reactive = reactiveReadService.findByAccountIdAndSport(accountId, Sport.RUNNING)
+                .map(WorkoutLightDto::getId)
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(10));
+        assertEquals(blocking, reactive);
+
+        List<UUID> blockingWeek = QuarkusTransaction.requiringNew().call(() -> workoutService.getCurrentWeekWorkouts(accountId)
+                .stream()
+                .map(Workout::getId)
+                .toList());
+        List<UUID> reactiveWeek = reactiveReadService.getCurrentWeekWorkouts(accountId)
+                .map(WorkoutLightDto::getId)
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(10));
+        assertEquals(blockingWeek, reactiveWeek);
+    }
+}
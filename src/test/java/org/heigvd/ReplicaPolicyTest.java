@@ -0,0 +1,60 @@
+package org.heigvd;
+
+import org.heigvd.service.ReplicaPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaPolicyTest {
+
+    private static final ReplicaPolicy POLICY = new ReplicaPolicy(true, Duration.ofSeconds(5), Duration.ofSeconds(10));
+
+    @Test
+    void testGetOutsideTransactionOnFreshReplicaIsRouted() {
+        assertTrue(POLICY.allowsRequest("GET", false, 0));
+        assertTrue(POLICY.allowsRequest("GET", false, 5_000));
+    }
+
+    @Test
+    void testNonGetRequestsStayOnPrimary() {
+        for (String method : new String[] {"POST", "PUT", "DELETE", "PATCH", "HEAD"}) {
+            assertFalse(POLICY.allowsRequest(method, false, 0), method);
+        }
+    }
+
+    @Test
+    void testActiveTransactionStaysOnPrimary() {
+        assertFalse(POLICY.allowsRequest("GET", true, 0));
+    }
+
+    @Test
+    void testLagAboveMaxLagStaysOnPrimary() {
+        assertFalse(POLICY.allowsRequest("GET", false, 5_001));
+        // Retard pas encore mesuré
+        assertFalse(POLICY.allowsRequest("GET", false, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testDisabledReplicaIsNeverUsed() {
+        ReplicaPolicy disabled = new ReplicaPolicy(false, Duration.ofSeconds(5), Duration.ofSeconds(10));
+        assertFalse(disabled.allowsRequest("GET", false, 0));
+    }
+
+    @Test
+    void testRecentWriteByAccountStaysOnPrimary() {
+        assertTrue(POLICY.allowsAfterWrite(null));
+        assertFalse(POLICY.allowsAfterWrite(0L));
+        assertFalse(POLICY.allowsAfterWrite(10_000L));
+        assertTrue(POLICY.allowsAfterWrite(10_001L));
+    }
+
+    @Test
+    void testReadYourWritesWindowCoversMaxLag() {
+        ReplicaPolicy shortWindow = new ReplicaPolicy(true, Duration.ofSeconds(30), Duration.ofSeconds(10));
+        assertEquals(Duration.ofSeconds(30), shortWindow.readYourWritesWindow());
+        assertFalse(shortWindow.allowsAfterWrite(20_000L));
+        assertTrue(shortWindow.allowsAfterWrite(30_001L));
+    }
+}
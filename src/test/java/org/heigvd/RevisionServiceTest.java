@@ -0,0 +1,60 @@
+package org.heigvd;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.heigvd.entity.Account;
+import org.heigvd.entity.Sport;
+import org.heigvd.entity.workout.Workout;
+import org.heigvd.entity.workout.WorkoutStatus;
+import org.heigvd.service.RevisionService;
+import org.heigvd.service.WorkoutService;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+public class RevisionServiceTest {
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    RevisionService revisionService;
+
+    @Inject
+    WorkoutService workoutService;
+
+    @Test
+    void testWorkoutWritesBumpRevisionAndVersion() {
+        Account account = QuarkusTransaction.requiringNew().call(() -> em.createQuery("SELECT a FROM Account a", Account.class)
+                .setMaxResults(1)
+                .getSingleResult());
+        long before = QuarkusTransaction.requiringNew().call(() -> revisionService.current(account.getId()));
+
+        UUID workoutId = QuarkusTransaction.requiringNew().call(() -> {
+            Workout workout = new Workout();
+            workout.setAccount(em.find(Account.class, account.getId()));
+            workout.setSport(Sport.RUNNING);
+            workout.setStatus(WorkoutStatus.PLANNED);
+            workout.setStartTime(OffsetDateTime.now());
+            workout.setEndTime(OffsetDateTime.now().plusHours(1));
+            return workoutService.create(workout).getId();
+        });
+        long afterCreate = QuarkusTransaction.requiringNew().call(() -> revisionService.current(account.getId()));
+        assertEquals(before + 1, afterCreate);
+
+        long version = QuarkusTransaction.requiringNew().call(() -> workoutService.getWorkoutVersion(workoutId).orElseThrow().version());
+        QuarkusTransaction.requiringNew().run(() -> em.find(Workout.class, workoutId).setStatus(WorkoutStatus.COMPLETED));
+        long updated = QuarkusTransaction.requiringNew().call(() -> workoutService.getWorkoutVersion(workoutId).orElseThrow().version());
+        assertTrue(updated > version);
+
+        QuarkusTransaction.requiringNew().run(() -> workoutService.delete(workoutId));
+        assertEquals(afterCreate + 1, (long) QuarkusTransaction.requiringNew().call(() -> revisionService.current(account.getId())));
+    }
+}
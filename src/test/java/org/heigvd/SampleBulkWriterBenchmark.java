@@ -0,0 +1,107 @@
+package org.heigvd;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutBPMDataPointDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutSpeedDataPointDto;
+import org.heigvd.entity.Sport;
+import org.heigvd.entity.workout.Workout;
+import org.heigvd.entity.workout.WorkoutStatus;
+import org.heigvd.entity.workout.data_point.SampleBuffer;
+import org.heigvd.service.SampleBulkWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compare l'insertion des échantillons d'un workout de 10'000 points (BPM + vitesse) par la
+ * cascade JPA et par {@link SampleBulkWriter}.
+ *
+ * Lancement : {@code mvn test -Dtest=SampleBulkWriterBenchmark -Dbenchmark=true}
+ */
+@QuarkusTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class SampleBulkWriterBenchmark {
+
+    private static final int SAMPLES = 10_000;
+    private static final int WARMUP = 2;
+    private static final int RUNS = 5;
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 9, 1, 18, 0, 0, 0, ZoneOffset.ofHours(2));
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    SampleBulkWriter writer;
+
+    @Test
+    void benchmarkSampleInserts() {
+        List<WorkoutBPMDataPointDto> bpm = new ArrayList<>(SAMPLES);
+        List<WorkoutSpeedDataPointDto> speed = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            bpm.add(new WorkoutBPMDataPointDto(START.plusSeconds(i), 120.0 + (i % 50)));
+            speed.add(new WorkoutSpeedDataPointDto(START.plusSeconds(i), 10.0 + (i % 20) * 0.1, 6.0 - (i % 20) * 0.05));
+        }
+        SampleBuffer bpmBuffer = SampleBuffer.fromBpmDataPoints(bpm);
+        SampleBuffer speedBuffer = SampleBuffer.fromSpeedDataPoints(speed);
+
+        for (int i = 0; i < WARMUP; i++) {
+            insertWithCascade(bpm, speed);
+            insertWithBulkWriter(bpmBuffer, speedBuffer);
+        }
+
+        long cascadeNanos = 0;
+        long bulkNanos = 0;
+        for (int i = 0; i < RUNS; i++) {
+            cascadeNanos += insertWithCascade(bpm, speed);
+            bulkNanos += insertWithBulkWriter(bpmBuffer, speedBuffer);
+        }
+
+        System.out.printf("Cascade JPA : %,.0f samples/s%n", samplesPerSecond(cascadeNanos));
+        System.out.printf("Bulk writer : %,.0f samples/s%n", samplesPerSecond(bulkNanos));
+    }
+
+    private long insertWithCascade(List<WorkoutBPMDataPointDto> bpm, List<WorkoutSpeedDataPointDto> speed) {
+        long start = System.nanoTime();
+        QuarkusTransaction.requiringNew().run(() -> {
+            Workout workout = newWorkout();
+            workout.setActualBPMDataPoints(bpm);
+            workout.setActualSpeedDataPoints(speed);
+            em.persist(workout);
+        });
+        return System.nanoTime() - start;
+    }
+
+    private long insertWithBulkWriter(SampleBuffer bpm, SampleBuffer speed) {
+        long start = System.nanoTime();
+        QuarkusTransaction.requiringNew().run(() -> {
+            Workout workout = newWorkout();
+            em.persist(workout);
+            assertEquals(SAMPLES, writer.replaceBpmRows(workout, bpm, START.getOffset()));
+            assertEquals(SAMPLES, writer.replaceSpeedRows(workout, speed, START.getOffset()));
+        });
+        return System.nanoTime() - start;
+    }
+
+    private static Workout newWorkout() {
+        Workout workout = new Workout();
+        workout.setSport(Sport.RUNNING);
+        workout.setStatus(WorkoutStatus.COMPLETED);
+        workout.setStartTime(START);
+        workout.setEndTime(START.plusSeconds(SAMPLES));
+        workout.setDurationSec(SAMPLES);
+        return workout;
+    }
+
+    private static double samplesPerSecond(long nanos) {
+        return 2.0 * SAMPLES * RUNS / (nanos / 1e9);
+    }
+}
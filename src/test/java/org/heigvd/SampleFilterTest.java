@@ -0,0 +1,67 @@
+package org.heigvd;
+
+import org.heigvd.analysis.filter.HampelFilter;
+import org.heigvd.analysis.filter.MaxDeltaFilter;
+import org.heigvd.analysis.filter.RangeFilter;
+import org.heigvd.analysis.filter.SampleFilterChain;
+import org.heigvd.entity.workout.data_point.SampleBuffer;
+import org.heigvd.entity.workout.data_point.SampleSeries;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SampleFilterTest {
+
+    private static SampleSeries filter(long[] ts, double[] values) {
+        SampleBuffer out = new SampleBuffer(1);
+        SampleFilterChain chain = new SampleFilterChain(
+                List.of(new RangeFilter(30, 240), new MaxDeltaFilter(20), new HampelFilter(3, 3, 5)),
+                10_000, out::add);
+        for (int i = 0; i < ts.length; i++) {
+            chain.add(ts[i], values[i]);
+        }
+        chain.finish();
+        return out.toSeries(0);
+    }
+
+    @Test
+    void testSpikesAndDropoutsAreRemoved() {
+        int n = 60;
+        long[] ts = new long[n];
+        double[] bpm = new double[n];
+        for (int i = 0; i < n; i++) {
+            ts[i] = 1_000L * i;
+            bpm[i] = 140 + (i % 3);
+        }
+        bpm[10] = 0;      // décrochage
+        bpm[20] = 225;    // pic isolé
+        bpm[30] = 158;    // écart sous la variation max, corrigé par Hampel
+
+        SampleSeries cleaned = filter(ts, bpm);
+
+        assertEquals(n, cleaned.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(ts[i], cleaned.epochMillis(i));
+        }
+        assertTrue(Double.isNaN(cleaned.value(10)));
+        assertTrue(Double.isNaN(cleaned.value(20)));
+        assertEquals(141, cleaned.value(30), 1.0);
+        assertEquals(bpm[0], cleaned.value(0));
+        assertEquals(bpm[n - 1], cleaned.value(n - 1));
+    }
+
+    @Test
+    void testLevelChangeAfterGapIsKept() {
+        // Deux segments séparés de 60 s : la référence de variation max est oubliée au trou
+        long[] ts = {0, 1_000, 2_000, 3_000, 63_000, 64_000, 65_000, 66_000};
+        double[] bpm = {100, 101, 100, 101, 170, 171, 170, 171};
+
+        SampleSeries cleaned = filter(ts, bpm);
+
+        for (int i = 0; i < ts.length; i++) {
+            assertEquals(bpm[i], cleaned.value(i));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.heigvd;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compte les requêtes SQL préparées par Hibernate pendant une action, pour détecter les
+ * chargements N+1. Nécessite {@code quarkus.hibernate-orm.statistics=true} (activé dans le profil
+ * de test).
+ */
+public final class SqlStatementCounter {
+
+    private final Statistics statistics;
+
+    public SqlStatementCounter(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Exécute l'action et vérifie le nombre de requêtes SQL émises.
+     * @param expected nombre de requêtes attendu
+     * @param description nom du chemin mesuré, pour le message d'erreur
+     * @param action action mesurée
+     * @return le résultat de l'action
+     */
+    public <T> T assertStatementCount(long expected, String description, Supplier<T> action) {
+        statistics.clear();
+        T result = action.get();
+        assertEquals(expected, statistics.getPrepareStatementCount(), "SQL statements for " + description);
+        return result;
+    }
+
+    /**
+     * Exécute l'action et renvoie le nombre de requêtes SQL émises.
+     * @param action action mesurée
+     * @return nombre de requêtes préparées
+     */
+    public long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,74 @@
+package org.heigvd;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.heigvd.dto.sync_dto.SyncResponseDto;
+import org.heigvd.dto.sync_dto.SyncToken;
+import org.heigvd.dto.workout_dto.WorkoutLightDto;
+import org.heigvd.entity.Account;
+import org.heigvd.entity.Sport;
+import org.heigvd.entity.workout.Workout;
+import org.heigvd.entity.workout.WorkoutStatus;
+import org.heigvd.service.SyncService;
+import org.heigvd.service.WorkoutService;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class SyncServiceTest {
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    SyncService syncService;
+
+    @Inject
+    WorkoutService workoutService;
+
+    @Test
+    void testDeltaSyncReturnsOnlyChangesSinceToken() {
+        UUID accountId = QuarkusTransaction.requiringNew().call(() -> em.createQuery("SELECT a.id FROM Account a", UUID.class)
+                .setMaxResults(1)
+                .getSingleResult());
+
+        SyncResponseDto first = QuarkusTransaction.requiringNew().call(() -> syncService.sync(accountId, null));
+        assertTrue(first.isFull());
+
+        SyncResponseDto idle = QuarkusTransaction.requiringNew().call(() -> syncService.sync(accountId, SyncToken.decode(first.getToken())));
+        assertFalse(idle.isFull());
+        assertEquals(first.getToken(), idle.getToken());
+        assertTrue(idle.getWorkouts().isEmpty());
+
+        UUID workoutId = QuarkusTransaction.requiringNew().call(() -> {
+            Workout workout = new Workout();
+            workout.setAccount(em.find(Account.class, accountId));
+            workout.setSport(Sport.RUNNING);
+            workout.setStatus(WorkoutStatus.PLANNED);
+            workout.setStartTime(OffsetDateTime.now());
+            workout.setEndTime(OffsetDateTime.now().plusHours(1));
+            return workoutService.create(workout).getId();
+        });
+        SyncResponseDto created = QuarkusTransaction.requiringNew().call(() -> syncService.sync(accountId, SyncToken.decode(idle.getToken())));
+        assertFalse(created.isFull());
+        assertEquals(List.of(workoutId), created.getWorkouts().stream().map(WorkoutLightDto::getId).toList());
+        assertTrue(created.getDeletedWorkouts().isEmpty());
+
+        QuarkusTransaction.requiringNew().run(() -> workoutService.delete(workoutId));
+        SyncResponseDto deleted = QuarkusTransaction.requiringNew().call(() -> syncService.sync(accountId, SyncToken.decode(created.getToken())));
+        assertTrue(deleted.getWorkouts().isEmpty());
+        assertEquals(List.of(workoutId), deleted.getDeletedWorkouts());
+
+        // Jeton d'un autre compte : resynchronisation complète
+        SyncResponseDto foreign = QuarkusTransaction.requiringNew().call(() ->
+                syncService.sync(accountId, new SyncToken(UUID.randomUUID(), 0)));
+        assertTrue(foreign.isFull());
+    }
+}
@@ -0,0 +1,42 @@
+package org.heigvd;
+
+import org.heigvd.analysis.TrainingLoad;
+import org.heigvd.entity.workout.data_point.SampleSeries;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrainingLoadTest {
+
+    @Test
+    void testEdwardsTrimp() {
+        // 30 min à 75 % (poids 3) puis 10 min à 92 % (poids 5) avec FC max 200
+        int seconds = 40 * 60;
+        long[] ts = new long[seconds];
+        double[] bpm = new double[seconds];
+        for (int s = 0; s < seconds; s++) {
+            ts[s] = s * 1000L;
+            bpm[s] = s < 30 * 60 ? 150 : 184;
+        }
+
+        assertEquals(30 * 3 + 10 * 5, TrainingLoad.edwardsTrimp(SampleSeries.of(ts, bpm), 200), 1e-9);
+        assertEquals(0, TrainingLoad.edwardsWeight(0.49));
+        assertEquals(1, TrainingLoad.edwardsWeight(0.5));
+        assertEquals(5, TrainingLoad.edwardsWeight(1.05));
+    }
+
+    @Test
+    void testDecayMatchesDaysWithoutLoad() {
+        TrainingLoad.State state = TrainingLoad.State.ZERO.next(120).next(80);
+
+        TrainingLoad.State stepByStep = state;
+        for (int i = 0; i < 10; i++) {
+            stepByStep = stepByStep.next(0);
+        }
+        TrainingLoad.State decayed = state.decay(10);
+
+        assertEquals(stepByStep.atl(), decayed.atl(), 1e-9);
+        assertEquals(stepByStep.ctl(), decayed.ctl(), 1e-9);
+        assertTrue(decayed.tsb() > state.tsb());
+    }
+}
@@ -0,0 +1,141 @@
+package org.heigvd;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jdk.jfr.consumer.RecordingStream;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.heigvd.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Charge un endpoint de lecture (GET /dashboard par défaut, JPA + JDBC, ressource bloquante) avec
+ * 50, 500 puis 5000 clients simultanés et mesure le débit et la latence p99, ainsi que les erreurs
+ * (pool JDBC épuisé) et les épinglages de threads virtuels relevés par JFR.
+ *
+ * À lancer une fois par mode d'exécution pour comparer :
+ * {@code mvn test -Dtest=VirtualThreadLoadBenchmark -Dbenchmark=true -Dquarkus.virtual-threads.enabled=true}
+ * {@code mvn test -Dtest=VirtualThreadLoadBenchmark -Dbenchmark=true -Dquarkus.virtual-threads.enabled=false}
+ *
+ * L'endpoint se choisit avec {@code -Dbenchmark.path}, par exemple {@code /training-plan} puis
+ * {@code /reactive/training-plan} pour comparer les lectures bloquante et réactive.
+ */
+@QuarkusTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class VirtualThreadLoadBenchmark {
+
+    private static final int[] CLIENTS = {50, 500, 5000};
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final int WARMUP = 2_000;
+
+    @TestHTTPResource("/")
+    URI baseUri;
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    JwtService jwtService;
+
+    @Test
+    void benchmarkReadUnderLoad() throws Exception {
+        UUID accountId = QuarkusTransaction.requiringNew().call(() -> em.createQuery("SELECT a.id FROM Account a", UUID.class)
+                .setMaxResults(1)
+                .getSingleResult());
+        String path = System.getProperty("benchmark.path", "/dashboard");
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Authorization", "Bearer " + jwtService.generateToken(accountId))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        boolean virtualThreads = ConfigProvider.getConfig()
+                .getOptionalValue("quarkus.virtual-threads.enabled", Boolean.class)
+                .orElse(false);
+        System.out.printf("GET %s, mode d'exécution : %s%n", path, virtualThreads ? "threads virtuels" : "pool de workers");
+
+        AtomicLong pinned = new AtomicLong();
+        try (RecordingStream pinning = new RecordingStream();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clients)
+                     .build()) {
+            pinning.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            pinning.onEvent("jdk.VirtualThreadPinned", event -> pinned.incrementAndGet());
+            pinning.startAsync();
+
+            run(http, clients, request, 50, WARMUP / 50);
+
+            for (int concurrency : CLIENTS) {
+                pinned.set(0);
+                Result result = run(http, clients, request, concurrency, REQUESTS_PER_CLIENT);
+                long[] latencies = result.latencies();
+                Arrays.sort(latencies);
+                System.out.printf("%5d clients : %,8.0f req/s, p50 %6.1f ms, p99 %7.1f ms, erreurs %d, épinglages %d%n",
+                        concurrency,
+                        latencies.length / (result.elapsedNanos() / 1e9),
+                        percentile(latencies, 0.50) / 1e6,
+                        percentile(latencies, 0.99) / 1e6,
+                        result.errors(),
+                        pinned.get());
+            }
+        }
+    }
+
+    private static Result run(HttpClient http, ExecutorService clients, HttpRequest request,
+                              int concurrency, int requestsPerClient) throws Exception {
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> futures = new ArrayList<>(concurrency);
+        long start = System.nanoTime();
+        for (int c = 0; c < concurrency; c++) {
+            futures.add(clients.submit(() -> {
+                long[] latencies = new long[requestsPerClient];
+                for (int i = 0; i < requestsPerClient; i++) {
+                    long sent = System.nanoTime();
+                    try {
+                        if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - sent;
+                }
+                return latencies;
+            }));
+        }
+
+        long[] all = new long[concurrency * requestsPerClient];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        return new Result(all, System.nanoTime() - start, errors.get());
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private record Result(long[] latencies, long elapsedNanos, long errors) {}
+}
@@ -0,0 +1,118 @@
+package org.heigvd;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.heigvd.dto.workout_dto.WorkoutFullDto;
+import org.heigvd.entity.Account;
+import org.heigvd.entity.Sport;
+import org.heigvd.entity.workout.IntensityZone;
+import org.heigvd.entity.workout.Workout;
+import org.heigvd.entity.workout.WorkoutStatus;
+import org.heigvd.entity.workout.WorkoutType;
+import org.heigvd.entity.workout.details.WorkoutPlan;
+import org.heigvd.entity.workout.details.WorkoutPlanDetails;
+import org.heigvd.service.WorkoutFetchPlan;
+import org.heigvd.service.WorkoutService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+public class WorkoutFetchPlanTest {
+
+    private static final int PLANS = 3;
+    private static final int DETAILS_PER_PLAN = 3;
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    EntityManagerFactory emf;
+
+    @Inject
+    WorkoutService workoutService;
+
+    private SqlStatementCounter counter;
+    private UUID workoutId;
+
+    @BeforeEach
+    void setUp() {
+        counter = new SqlStatementCounter(emf);
+        workoutId = QuarkusTransaction.requiringNew().call(() -> {
+            Account account = em.createQuery("SELECT a FROM Account a", Account.class)
+                    .setMaxResults(1)
+                    .getSingleResult();
+
+            List<WorkoutPlan> plans = new ArrayList<>();
+            for (int p = 1; p <= PLANS; p++) {
+                List<WorkoutPlanDetails> details = new ArrayList<>();
+                for (int d = 1; d <= DETAILS_PER_PLAN; d++) {
+                    details.add(new WorkoutPlanDetails(d, 300, IntensityZone.values()[d % IntensityZone.values().length]));
+                }
+                plans.add(new WorkoutPlan(p, 2, details, WorkoutType.EF));
+            }
+
+            OffsetDateTime start = OffsetDateTime.of(2025, 9, 1, 18, 0, 0, 0, ZoneOffset.UTC);
+            Workout workout = new Workout();
+            workout.setAccount(account);
+            workout.setSport(Sport.RUNNING);
+            workout.setStatus(WorkoutStatus.PLANNED);
+            workout.setStartTime(start);
+            workout.setEndTime(start.plusHours(1));
+            workout.setPlans(plans);
+            em.persist(workout);
+            return workout.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        QuarkusTransaction.requiringNew().run(() -> em.remove(em.find(Workout.class, workoutId)));
+    }
+
+    @Test
+    void testListLoadsWorkoutAndAccountInOneStatement() {
+        int fcMax = QuarkusTransaction.requiringNew().call(() ->
+                counter.assertStatementCount(1, "workout list", () -> workoutService
+                        .getWorkoutByID(workoutId, WorkoutFetchPlan.LIST).orElseThrow()
+                        .getAccount().getFCMax()));
+
+        assertTrue(fcMax > 0);
+    }
+
+    @Test
+    void testDetailLoadsWorkoutPlansAndResultsInTwoStatements() {
+        WorkoutFullDto dto = QuarkusTransaction.requiringNew().call(() ->
+                counter.assertStatementCount(2, "workout detail", () -> {
+                    Workout workout = workoutService.getWorkoutByID(workoutId, WorkoutFetchPlan.DETAIL).orElseThrow();
+                    return workoutService.toWorkoutFullDto(workout, workout.getAccount().getFCMax());
+                }));
+
+        assertEquals(PLANS, dto.getPlan().size());
+        assertEquals(DETAILS_PER_PLAN, dto.getPlan().getFirst().getDetails().size());
+    }
+
+    @Test
+    void testPlanViewLoadsInOneStatement() {
+        int details = QuarkusTransaction.requiringNew().call(() ->
+                counter.assertStatementCount(1, "plan view", () -> workoutService
+                        .getWorkoutByID(workoutId, WorkoutFetchPlan.PLAN).orElseThrow()
+                        .getPlans().stream()
+                        .mapToInt(plan -> plan.getDetails().size())
+                        .sum()));
+
+        assertEquals(PLANS * DETAILS_PER_PLAN, details);
+    }
+}
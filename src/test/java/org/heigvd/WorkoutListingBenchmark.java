@@ -0,0 +1,108 @@
+package org.heigvd;
+
+import com.sun.management.ThreadMXBean;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.heigvd.dto.workout_dto.WorkoutLightDto;
+import org.heigvd.entity.Account;
+import org.heigvd.entity.Sport;
+import org.heigvd.entity.workout.Workout;
+import org.heigvd.entity.workout.WorkoutStatus;
+import org.heigvd.service.WorkoutService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compare la mémoire allouée pour lister une page de 200 workouts en chargeant les entités puis en
+ * les convertissant, et par la projection JPQL de {@link WorkoutService#getWorkoutPage}.
+ *
+ * Lancement : {@code mvn test -Dtest=WorkoutListingBenchmark -Dbenchmark=true}
+ */
+@QuarkusTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class WorkoutListingBenchmark {
+
+    private static final int WORKOUTS = 2_000;
+    private static final int PAGE = 200;
+    private static final int WARMUP = 20;
+    private static final int RUNS = 100;
+    private static final OffsetDateTime START = OffsetDateTime.of(2020, 1, 1, 7, 0, 0, 0, ZoneOffset.UTC);
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    WorkoutService workoutService;
+
+    @Test
+    void benchmarkWorkoutListing() {
+        UUID accountId = QuarkusTransaction.requiringNew().call(() -> {
+            Account account = em.createQuery("SELECT a FROM Account a", Account.class)
+                    .setMaxResults(1)
+                    .getSingleResult();
+            for (int i = 0; i < WORKOUTS; i++) {
+                Workout workout = new Workout();
+                workout.setAccount(account);
+                workout.setSport(Sport.RUNNING);
+                workout.setStatus(WorkoutStatus.COMPLETED);
+                workout.setStartTime(START.plusDays(i));
+                workout.setEndTime(START.plusDays(i).plusHours(1));
+                workout.setDurationSec(3600);
+                em.persist(workout);
+            }
+            return account.getId();
+        });
+
+        for (int i = 0; i < WARMUP; i++) {
+            listWithEntities(accountId);
+            listWithProjection(accountId);
+        }
+
+        long entityBytes = 0;
+        long projectionBytes = 0;
+        for (int i = 0; i < RUNS; i++) {
+            entityBytes += allocatedBytes(() -> listWithEntities(accountId));
+            projectionBytes += allocatedBytes(() -> listWithProjection(accountId));
+        }
+
+        System.out.printf("Entités + conversion : %,d octets/requête%n", entityBytes / RUNS);
+        System.out.printf("Projection JPQL      : %,d octets/requête%n", projectionBytes / RUNS);
+    }
+
+    private void listWithEntities(UUID accountId) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            List<WorkoutLightDto> dtos = em.createQuery(
+                            "SELECT w FROM Workout w WHERE w.account.id = :accountId " +
+                                    "ORDER BY w.startTime DESC, w.id DESC",
+                            Workout.class)
+                    .setParameter("accountId", accountId)
+                    .setMaxResults(PAGE)
+                    .getResultStream()
+                    .map(WorkoutLightDto::new)
+                    .toList();
+            assertEquals(PAGE, dtos.size());
+        });
+    }
+
+    private void listWithProjection(UUID accountId) {
+        QuarkusTransaction.requiringNew().run(() ->
+                assertEquals(PAGE, workoutService.getWorkoutPage(accountId, null, null, PAGE, true).workouts().size()));
+    }
+
+    private static long allocatedBytes(Runnable action) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        action.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+}
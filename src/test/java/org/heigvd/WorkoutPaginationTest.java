@@ -0,0 +1,179 @@
+package org.heigvd;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.heigvd.dto.workout_dto.WorkoutCursor;
+import org.heigvd.entity.Account;
+import org.heigvd.entity.Sport;
+import org.heigvd.entity.workout.Workout;
+import org.heigvd.entity.workout.WorkoutStatus;
+import org.heigvd.service.AccountService;
+import org.heigvd.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class WorkoutPaginationTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 5, 5, 7, 0, 0, 0, ZoneOffset.UTC);
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    AccountService accountService;
+
+    @Inject
+    JwtService jwtService;
+
+    private UUID accountId;
+    private String token;
+
+    /**
+     * Workouts de course attendus, du plus ancien au plus récent, départagés par id (ordre du
+     * texte de l'UUID, comme PostgreSQL, et non {@link UUID#compareTo} qui compare en signé).
+     */
+    private List<UUID> runs;
+
+    @BeforeEach
+    void setUp() {
+        List<Workout> created = new ArrayList<>();
+        accountId = QuarkusTransaction.requiringNew().call(() -> {
+            Account account = new Account();
+            account.setEmail("pagination-" + UUID.randomUUID() + "@example.com");
+            account.setPassword("secret");
+            account.setFirstName("Page");
+            account.setLastName("Nation");
+            account.setFCMax(190);
+            em.persist(account);
+
+            // Trois séances le même jour à la même heure : seul l'id les départage
+            for (int i = 0; i < 7; i++) {
+                created.add(persistWorkout(account, Sport.RUNNING, START.plusDays(i < 3 ? 0 : i)));
+            }
+            persistWorkout(account, Sport.CYCLING, START.plusDays(1));
+            return account.getId();
+        });
+        token = jwtService.generateToken(accountId);
+        runs = created.stream()
+                .sorted(Comparator.comparing(Workout::getStartTime).thenComparing(w -> w.getId().toString()))
+                .map(Workout::getId)
+                .toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountService.delete(accountId);
+    }
+
+    @Test
+    void testWithoutLimitOrCursorReturnsFullList() {
+        Response response = get("");
+        assertEquals(200, response.statusCode());
+        assertNull(response.header(NEXT_CURSOR));
+        assertEquals(runs, ids(response));
+    }
+
+    @Test
+    void testCursorRoundTripVisitsEveryWorkoutOnce() {
+        List<UUID> visited = new ArrayList<>();
+        int pages = 0;
+        String query = "?limit=2";
+        while (query != null) {
+            Response response = get(query);
+            assertEquals(200, response.statusCode());
+            List<UUID> page = ids(response);
+            assertTrue(page.size() <= 2);
+            visited.addAll(page);
+            pages++;
+
+            String next = response.header(NEXT_CURSOR);
+            query = next != null ? "?limit=2&cursor=" + next : null;
+        }
+
+        // 7 workouts par pages de 2 : la dernière page n'a qu'un élément et pas de curseur
+        assertEquals(4, pages);
+        assertEquals(runs, visited);
+    }
+
+    @Test
+    void testCursorAloneUsesDefaultPageSize() {
+        Response first = get("?limit=3");
+        String cursor = first.header(NEXT_CURSOR);
+        assertNotNull(cursor);
+        assertEquals(runs.subList(0, 3), ids(first));
+
+        Response rest = get("?cursor=" + cursor);
+        assertEquals(200, rest.statusCode());
+        assertNull(rest.header(NEXT_CURSOR));
+        assertEquals(runs.subList(3, runs.size()), ids(rest));
+    }
+
+    @Test
+    void testLastPageHasNoNextCursor() {
+        Response response = get("?limit=" + runs.size());
+        assertEquals(200, response.statusCode());
+        assertNull(response.header(NEXT_CURSOR));
+        assertEquals(runs, ids(response));
+    }
+
+    @Test
+    void testLimitBounds() {
+        assertEquals(400, get("?limit=0").statusCode());
+        assertEquals(400, get("?limit=-1").statusCode());
+        assertEquals(400, get("?limit=201").statusCode());
+        assertEquals(200, get("?limit=1").statusCode());
+        assertEquals(200, get("?limit=200").statusCode());
+    }
+
+    @Test
+    void testInvalidOrTamperedCursorIsRejected() {
+        String valid = new WorkoutCursor(START, runs.getFirst()).encode();
+        String tampered = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((START + "|not-a-uuid").getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(200, get("?cursor=" + valid).statusCode());
+        assertEquals(400, get("?cursor=***").statusCode());
+        assertEquals(400, get("?cursor=" + tampered).statusCode());
+        assertEquals(400, get("?cursor=" + valid.substring(0, valid.length() / 2)).statusCode());
+    }
+
+    private Response get(String query) {
+        return given().auth().oauth2(token)
+                .urlEncodingEnabled(false)
+                .when().get("/workouts/my/sport/running" + query);
+    }
+
+    private static List<UUID> ids(Response response) {
+        return response.jsonPath().getList("id", String.class).stream().map(UUID::fromString).toList();
+    }
+
+    private Workout persistWorkout(Account account, Sport sport, OffsetDateTime start) {
+        Workout workout = new Workout();
+        workout.setAccount(account);
+        workout.setSport(sport);
+        workout.setStatus(WorkoutStatus.COMPLETED);
+        workout.setStartTime(start);
+        workout.setEndTime(start.plusHours(1));
+        workout.setDurationSec(3600);
+        em.persist(workout);
+        return workout;
+    }
+}
@@ -0,0 +1,242 @@
+package org.heigvd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.heigvd.dto.workout_dto.WorkoutUploadDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutBPMDataPointDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutSpeedDataPointDto;
+import org.heigvd.entity.Account;
+import org.heigvd.entity.workout.ProcessingJob;
+import org.heigvd.entity.workout.ProcessingJobStatus;
+import org.heigvd.entity.workout.Workout;
+import org.heigvd.service.JwtService;
+import org.heigvd.service.WorkoutProcessingService;
+import org.heigvd.service.WorkoutService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class WorkoutProcessingServiceTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2020, 3, 14, 8, 0, 0, 0, ZoneOffset.UTC);
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    WorkoutProcessingService processingService;
+
+    @InjectSpy
+    WorkoutService workoutService;
+
+    @Inject
+    JwtService jwtService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private UUID accountId;
+    private final List<UUID> workoutIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        accountId = QuarkusTransaction.requiringNew().call(() -> em.createQuery("SELECT a.id FROM Account a", UUID.class)
+                .setMaxResults(1)
+                .getSingleResult());
+    }
+
+    @AfterEach
+    void tearDown() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            em.createQuery("DELETE FROM ProcessingJob j WHERE j.workoutId IN :ids")
+                    .setParameter("ids", workoutIds)
+                    .executeUpdate();
+            workoutIds.forEach(workoutService::delete);
+        });
+        workoutIds.clear();
+    }
+
+    @Test
+    void testPendingJobIsClaimedAndProcessed() {
+        UUID jobId = newJob(ProcessingJobStatus.PENDING, null, null, 0);
+
+        assertTrue(processingService.run(jobId));
+
+        ProcessingJob job = findJob(jobId);
+        assertEquals(ProcessingJobStatus.DONE, job.getStatus());
+        assertEquals(1, job.getAttempts());
+        assertNull(job.getClaimedBy());
+        assertNull(job.getLastError());
+
+        // Un job terminé n'est plus repris
+        assertFalse(processingService.run(jobId));
+    }
+
+    @Test
+    void testLiveLeaseIsNotStolen() {
+        UUID jobId = newJob(ProcessingJobStatus.RUNNING, "other-instance", OffsetDateTime.now(), 1);
+
+        assertFalse(processingService.run(jobId));
+
+        ProcessingJob job = findJob(jobId);
+        assertEquals(ProcessingJobStatus.RUNNING, job.getStatus());
+        assertEquals("other-instance", job.getClaimedBy());
+        assertEquals(1, job.getAttempts());
+    }
+
+    @Test
+    void testExpiredLeaseIsReclaimed() {
+        UUID jobId = newJob(ProcessingJobStatus.RUNNING, "crashed-instance", OffsetDateTime.now().minusHours(1), 1);
+
+        assertTrue(processingService.run(jobId));
+
+        ProcessingJob job = findJob(jobId);
+        assertEquals(ProcessingJobStatus.DONE, job.getStatus());
+        assertEquals(2, job.getAttempts());
+        assertNull(job.getClaimedBy());
+    }
+
+    @Test
+    void testFailedJobIsRetriedThenMarkedFailed() {
+        UUID jobId = newJob(ProcessingJobStatus.PENDING, null, null, 0);
+        UUID workoutId = findJob(jobId).getWorkoutId();
+        Mockito.doThrow(new IllegalStateException("analysis failed"))
+                .when(workoutService).analysePerformance(ArgumentMatchers.argThat(w -> w != null && workoutId.equals(w.getId())));
+
+        OffsetDateTime beforeRun = OffsetDateTime.now();
+        assertTrue(processingService.run(jobId));
+
+        ProcessingJob retried = findJob(jobId);
+        assertEquals(ProcessingJobStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertEquals("analysis failed", retried.getLastError());
+        assertNull(retried.getClaimedBy());
+        assertTrue(retried.getNextAttemptAt().isAfter(beforeRun));
+
+        // Dernière tentative autorisée : le job passe en échec définitif
+        QuarkusTransaction.requiringNew().run(() -> em.find(ProcessingJob.class, jobId).setAttempts(4));
+        assertTrue(processingService.run(jobId));
+
+        ProcessingJob failed = findJob(jobId);
+        assertEquals(ProcessingJobStatus.FAILED, failed.getStatus());
+        assertEquals(5, failed.getAttempts());
+        assertFalse(processingService.run(jobId));
+    }
+
+    @Test
+    void testDeletingWorkoutRemovesItsJobs() {
+        UUID jobId = newJob(ProcessingJobStatus.PENDING, null, null, 0);
+        UUID workoutId = findJob(jobId).getWorkoutId();
+
+        assertTrue(QuarkusTransaction.requiringNew().call(() -> workoutService.delete(workoutId)));
+
+        assertNull(findJob(jobId));
+        assertTrue(QuarkusTransaction.requiringNew().call(() -> processingService.findLatestJob(workoutId)).isEmpty());
+    }
+
+    @Test
+    void testJobWithoutWorkoutIsRemoved() {
+        UUID jobId = QuarkusTransaction.requiringNew().call(() -> {
+            ProcessingJob job = new ProcessingJob(UUID.randomUUID());
+            em.persist(job);
+            return job.getId();
+        });
+
+        assertTrue(processingService.run(jobId));
+        assertNull(findJob(jobId));
+    }
+
+    @Test
+    void testFinishedJobsArePurgedAfterRetention() {
+        UUID oldDone = newJob(ProcessingJobStatus.DONE, null, null, 1);
+        UUID oldFailed = newJob(ProcessingJobStatus.FAILED, null, null, 5);
+        UUID recentDone = newJob(ProcessingJobStatus.DONE, null, null, 1);
+        UUID oldPending = newJob(ProcessingJobStatus.PENDING, null, null, 0);
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (UUID id : List.of(oldDone, oldFailed, oldPending)) {
+                em.find(ProcessingJob.class, id).setUpdatedAt(OffsetDateTime.now().minusDays(30));
+            }
+        });
+
+        assertTrue(processingService.purgeFinishedJobs() >= 2);
+
+        assertNull(findJob(oldDone));
+        assertNull(findJob(oldFailed));
+        assertNotNull(findJob(recentDone));
+        assertNotNull(findJob(oldPending));
+    }
+
+    @Test
+    void testUploadBecomesProcessedWorkout() throws Exception {
+        String workoutId = given().auth().oauth2(jwtService.generateToken(accountId))
+                .contentType("application/json")
+                .body(objectMapper.writeValueAsString(upload()))
+                .when().post("/workouts")
+                .then().statusCode(202)
+                .extract().path("id");
+        workoutIds.add(UUID.fromString(workoutId));
+
+        // Le job est traité par le pool de workers après la validation de l'upload
+        ProcessingJob job = null;
+        for (int i = 0; i < 100 && (job == null || job.getStatus() != ProcessingJobStatus.DONE); i++) {
+            Thread.sleep(100);
+            job = QuarkusTransaction.requiringNew().call(() -> processingService.findLatestJob(UUID.fromString(workoutId)).orElse(null));
+        }
+        assertNotNull(job);
+        assertEquals(ProcessingJobStatus.DONE, job.getStatus());
+
+        int[] zoneSeconds = QuarkusTransaction.requiringNew().call(() -> em.find(Workout.class, UUID.fromString(workoutId)).getZoneSeconds());
+        assertNotNull(zoneSeconds);
+    }
+
+    /**
+     * Workout réalisé avec son job, échéance lointaine pour que le balayage ne le prenne pas.
+     */
+    private UUID newJob(ProcessingJobStatus status, String claimedBy, OffsetDateTime claimedAt, int attempts) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            Workout workout = workoutService.createWorkoutOutOfTP(em.find(Account.class, accountId), upload());
+            workoutIds.add(workout.getId());
+
+            ProcessingJob job = new ProcessingJob(workout.getId());
+            job.setStatus(status);
+            job.setClaimedBy(claimedBy);
+            job.setClaimedAt(claimedAt);
+            job.setAttempts(attempts);
+            job.setNextAttemptAt(OffsetDateTime.now().plusDays(1));
+            em.persist(job);
+            return job.getId();
+        });
+    }
+
+    private ProcessingJob findJob(UUID jobId) {
+        return QuarkusTransaction.requiringNew().call(() -> em.find(ProcessingJob.class, jobId));
+    }
+
+    private static WorkoutUploadDto upload() {
+        List<WorkoutBPMDataPointDto> bpm = new ArrayList<>();
+        List<WorkoutSpeedDataPointDto> speed = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            OffsetDateTime ts = START.plusSeconds(i);
+            bpm.add(new WorkoutBPMDataPointDto(ts, 120.0 + i % 40));
+            speed.add(new WorkoutSpeedDataPointDto(ts, 10.0, 6.0));
+        }
+        return new WorkoutUploadDto(START, START.plusSeconds(600), "RUNNING", 1_650.0, 120.0,
+                10.0, 139.0, 159.0, bpm, speed, "watch");
+    }
+}
@@ -0,0 +1,117 @@
+package org.heigvd;
+
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutBPMDataPointDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutSpeedDataPointDto;
+import org.heigvd.entity.workout.data_point.SampleSeries;
+import org.heigvd.entity.workout.data_point.WorkoutSamples;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkoutSamplesTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 9, 1, 18, 0, 0, 0, ZoneOffset.ofHours(2));
+
+    @Test
+    void testBpmRoundTrip() {
+        List<WorkoutBPMDataPointDto> points = new ArrayList<>();
+        for (int i = 0; i < 3600; i++) {
+            points.add(new WorkoutBPMDataPointDto(START.plusSeconds(i), 120.0 + (i % 40) * 0.5));
+        }
+        points.add(new WorkoutBPMDataPointDto(START.plusSeconds(3600), null));
+
+        WorkoutSamples samples = new WorkoutSamples(START);
+        samples.setBpmDataPoints(points);
+
+        assertEquals(points.size(), samples.getBpmCount());
+        // 1 h à 1 Hz doit tenir en quelques kilo-octets
+        assertTrue(samples.getBpmData().length < 3 * points.size());
+
+        List<WorkoutBPMDataPointDto> decoded = samples.getBpmDataPoints();
+        assertEquals(points.size(), decoded.size());
+        for (int i = 0; i < points.size(); i++) {
+            assertTrue(points.get(i).getTs().isEqual(decoded.get(i).getTs()));
+            assertEquals(points.get(i).getBpm(), decoded.get(i).getBpm());
+        }
+    }
+
+    @Test
+    void testSpeedRoundTripWithQuantization() {
+        List<WorkoutSpeedDataPointDto> points = List.of(
+                new WorkoutSpeedDataPointDto(START, 10.123, 5.927),
+                new WorkoutSpeedDataPointDto(START.plusNanos(1_500_000_000L), 11.0, null),
+                new WorkoutSpeedDataPointDto(START.minusSeconds(2), 9.5, 6.32)
+        );
+
+        WorkoutSamples samples = new WorkoutSamples(START);
+        samples.setSpeedDataPoints(points);
+
+        List<WorkoutSpeedDataPointDto> decoded = samples.getSpeedDataPoints();
+        assertEquals(3, decoded.size());
+        assertEquals(10.12, decoded.get(0).getKmh(), 1e-9);
+        assertEquals(5.93, decoded.get(0).getPaceMinPerKm(), 1e-9);
+        assertTrue(START.plusNanos(1_500_000_000L).isEqual(decoded.get(1).getTs()));
+        assertNull(decoded.get(1).getPaceMinPerKm());
+        assertTrue(START.minusSeconds(2).isEqual(decoded.get(2).getTs()));
+        assertEquals(6.32, decoded.get(2).getPaceMinPerKm(), 1e-9);
+    }
+
+    @Test
+    void testEmptySeries() {
+        WorkoutSamples samples = new WorkoutSamples(START);
+        samples.setBpmDataPoints(null);
+        assertEquals(0, samples.getBpmCount());
+        assertTrue(samples.getBpmDataPoints().isEmpty());
+        assertTrue(samples.getSpeedDataPoints().isEmpty());
+    }
+
+    @Test
+    void testSeriesSlicingByTime() {
+        List<WorkoutBPMDataPointDto> points = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            points.add(new WorkoutBPMDataPointDto(START.plusSeconds(i), 100.0 + i));
+        }
+        WorkoutSamples samples = new WorkoutSamples(START);
+        samples.setBpmDataPoints(points);
+
+        SampleSeries series = samples.getBpmSeries();
+        assertEquals(600, series.size());
+
+        long startMs = START.toInstant().toEpochMilli();
+        SampleSeries slice = series.slice(startMs + 60_000, startMs + 120_000);
+        assertEquals(60, slice.size());
+        assertEquals(160.0, slice.value(0));
+        assertEquals(219.0, slice.value(59));
+
+        SampleSeries nested = slice.slice(startMs + 100_000, Long.MAX_VALUE);
+        assertEquals(20, nested.size());
+        assertEquals(200.0, nested.value(0));
+        assertTrue(series.slice(startMs + 700_000, startMs + 800_000).isEmpty());
+        assertTrue(series.slice(startMs + 120_000, startMs + 60_000).isEmpty());
+        assertTrue(series.slice(startMs + 60_000, startMs + 60_000).isEmpty());
+    }
+
+    @Test
+    void testSeriesFromUnsortedDtos() {
+        SampleSeries series = SampleSeries.fromBpmDataPoints(List.of(
+                new WorkoutBPMDataPointDto(START.plusSeconds(2), 130.0),
+                new WorkoutBPMDataPointDto(START, 110.0),
+                new WorkoutBPMDataPointDto(null, 999.0),
+                new WorkoutBPMDataPointDto(START.plusSeconds(1), null)
+        ));
+
+        assertEquals(3, series.size());
+        assertEquals(110.0, series.value(0));
+        assertTrue(Double.isNaN(series.value(1)));
+        assertEquals(130.0, series.value(2));
+
+        List<WorkoutBPMDataPointDto> back = series.toBpmDataPoints(ZoneOffset.UTC);
+        assertTrue(START.isEqual(back.get(0).getTs()));
+        assertNull(back.get(1).getBpm());
+    }
+}
@@ -0,0 +1,123 @@
+package org.heigvd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.heigvd.dto.workout_dto.WorkoutUploadDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutBPMDataPointDto;
+import org.heigvd.dto.workout_dto.data_point_dto.WorkoutSpeedDataPointDto;
+import org.heigvd.entity.workout.data_point.SampleBuffer;
+import org.heigvd.service.JwtService;
+import org.heigvd.service.SampleFilterService;
+import org.heigvd.service.WorkoutUploadParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+public class WorkoutUploadParserTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 9, 1, 7, 0, 0, 0, ZoneOffset.ofHours(2));
+
+    @Inject
+    WorkoutUploadParser parser;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    SampleFilterService sampleFilterService;
+
+    @Inject
+    JwtService jwtService;
+
+    @Inject
+    EntityManager em;
+
+    @Test
+    void testStreamingMatchesDatabind() throws Exception {
+        byte[] payload = objectMapper.writeValueAsBytes(oneHourRun());
+
+        WorkoutUploadDto streamed = parser.parse(new ByteArrayInputStream(payload));
+        WorkoutUploadDto bound = objectMapper.readValue(payload, WorkoutUploadDto.class);
+
+        assertTrue(bound.getStart().isEqual(streamed.getStart()));
+        assertTrue(bound.getEnd().isEqual(streamed.getEnd()));
+        assertEquals(bound.getSport(), streamed.getSport());
+        assertEquals(bound.getSource(), streamed.getSource());
+        assertEquals(bound.getDistance(), streamed.getDistance());
+        assertEquals(bound.getCaloriesKcal(), streamed.getCaloriesKcal());
+
+        // Le chemin databind filtre les BPM dans WorkoutService : même chaîne de filtres
+        assertSameSamples(sampleFilterService.filterBpm(SampleBuffer.fromBpmDataPoints(bound.getBpmDataPoints())),
+                streamed.getBpmSamples());
+        assertSameSamples(SampleBuffer.fromSpeedDataPoints(bound.getSpeedDataPoints()), streamed.getSpeedSamples());
+    }
+
+    @Test
+    void testUnexpectedTokensAreRejected() {
+        String start = "{\"start\":\"2025-09-01T07:00:00+02:00\",\"bpmDataPoints\":[" +
+                "{\"ts\":\"2025-09-01T07:00:00+02:00\",\"bpm\":140}";
+        // Un échantillon qui n'est pas un objet, et un flux tronqué au milieu du tableau
+        assertThrows(IOException.class, () -> parser.parse(stream(start + ",42],\"sport\":\"RUNNING\"}")));
+        assertThrows(IOException.class, () -> parser.parse(stream(start)));
+        assertThrows(IOException.class, () -> parser.parse(stream("{\"sport\":\"RUNNING\",]")));
+    }
+
+    @Test
+    void testMalformedStreamUploadReturns400() {
+        UUID accountId = QuarkusTransaction.requiringNew().call(() -> em.createQuery("SELECT a.id FROM Account a", UUID.class)
+                .setMaxResults(1)
+                .getSingleResult());
+
+        given().auth().oauth2(jwtService.generateToken(accountId))
+                .contentType("application/json")
+                .body("{\"start\":\"2025-09-01T07:00:00+02:00\",\"bpmDataPoints\":[{\"ts\":\"2025-09-01T07:00:00+02:00\",\"bpm\":140},42]}")
+                .when().post("/workouts/stream")
+                .then().statusCode(400);
+    }
+
+    private static void assertSameSamples(SampleBuffer expected, SampleBuffer actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.nbColumns(), actual.nbColumns());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.epochMillis(i), actual.epochMillis(i));
+            for (int c = 0; c < expected.nbColumns(); c++) {
+                assertEquals(expected.value(c, i), actual.value(c, i));
+            }
+        }
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Sortie d'une heure à 1 Hz, avec quelques décrochages du capteur et des points incomplets. */
+    private static WorkoutUploadDto oneHourRun() {
+        Random random = new Random(7);
+        List<WorkoutBPMDataPointDto> bpm = new ArrayList<>();
+        List<WorkoutSpeedDataPointDto> speed = new ArrayList<>();
+        for (int i = 0; i < 3600; i++) {
+            OffsetDateTime ts = START.plusSeconds(i);
+            Double value = i % 500 == 0 ? Double.valueOf(0) : (double) Math.round(135 + 15 * Math.sin(i / 400.0) + random.nextGaussian() * 2);
+            bpm.add(new WorkoutBPMDataPointDto(ts, i % 900 == 17 ? null : value));
+            double kmh = 10.5 + Math.sin(i / 250.0) + random.nextGaussian() * 0.2;
+            speed.add(new WorkoutSpeedDataPointDto(ts, kmh, i % 700 == 3 ? null : 60 / kmh));
+        }
+        return new WorkoutUploadDto(START, START.plusSeconds(3600), "RUNNING", 10_400.0, 780.0,
+                10.4, 138.0, 162.0, bpm, speed, "watch");
+    }
+}
@@ -0,0 +1,89 @@
+package org.heigvd;
+
+import org.heigvd.analysis.ZoneHistogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compare le calcul du temps par zone de FC : noyau SIMD, boucle scalaire et implémentation naïve
+ * à base de streams, sur 10'000, 100'000 et 1'000'000 échantillons.
+ *
+ * Lancement : {@code mvn test -Dtest=ZoneHistogramBenchmark -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ZoneHistogramBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int samples;
+
+    long[] epochMillis;
+    double[] bpm;
+    double[] bounds;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        epochMillis = new long[samples];
+        bpm = new double[samples];
+        long t = 1_756_742_400_000L;
+        for (int i = 0; i < samples; i++) {
+            t += 1_000;
+            epochMillis[i] = t;
+            bpm[i] = 100 + 80 * Math.sin(i / 300.0) + random.nextGaussian() * 5;
+        }
+        bounds = ZoneHistogram.lowerBounds(190);
+    }
+
+    @Benchmark
+    public long[] vector() {
+        return ZoneHistogram.timeInZones(epochMillis, bpm, 0, samples, bounds);
+    }
+
+    @Benchmark
+    public long[] scalar() {
+        return ZoneHistogram.timeInZonesScalar(epochMillis, bpm, 0, samples, bounds);
+    }
+
+    @Benchmark
+    public Map<Integer, Long> naiveStream() {
+        return IntStream.range(0, samples)
+                .filter(i -> bpm[i] >= bounds[0])
+                .boxed()
+                .collect(Collectors.groupingBy(
+                        i -> IntStream.range(0, bounds.length).filter(z -> bpm[i] >= bounds[z]).max().orElse(0),
+                        Collectors.summingLong(i -> Math.min(i + 1 < samples ? epochMillis[i + 1] - epochMillis[i] : 1_000, 5_000))));
+    }
+
+    @Test
+    void runBenchmark() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ZoneHistogramBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
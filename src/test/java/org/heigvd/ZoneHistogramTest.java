@@ -0,0 +1,47 @@
+package org.heigvd;
+
+import org.heigvd.analysis.ZoneHistogram;
+import org.heigvd.entity.workout.IntensityZone;
+import org.heigvd.entity.workout.data_point.SampleSeries;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZoneHistogramTest {
+
+    @Test
+    void testTimeInZonesCountsGapsAndSkipsInvalidSamples() {
+        int fcMax = 200;
+        // Z1 dès 100 BPM, puis un trou de 60 s borné à 5 s, un NaN et un échantillon sous Z1
+        long[] ts = {0, 1_000, 2_000, 62_000, 63_000, 64_000};
+        double[] bpm = {110, 195, 130, Double.NaN, 80, 150};
+
+        long[] result = ZoneHistogram.timeInZones(SampleSeries.of(ts, bpm), fcMax);
+
+        assertEquals(IntensityZone.values().length, result.length);
+        assertEquals(1_000 + 1_000 + 5_000 + 1_000, java.util.Arrays.stream(result).sum());
+        assertEquals(1_000, result[IntensityZone.values().length - 1]);
+    }
+
+    @Test
+    void testVectorAndScalarAgree() {
+        Random random = new Random(42);
+        int n = 10_007;
+        long[] ts = new long[n];
+        double[] bpm = new double[n];
+        long t = 0;
+        for (int i = 0; i < n; i++) {
+            t += 500 + random.nextInt(8_000);
+            ts[i] = t;
+            bpm[i] = random.nextInt(50) == 0 ? Double.NaN : 60 + random.nextDouble() * 150;
+        }
+        double[] bounds = ZoneHistogram.lowerBounds(190);
+
+        assertArrayEquals(ZoneHistogram.timeInZonesScalar(ts, bpm, 0, n, bounds),
+                ZoneHistogram.timeInZones(ts, bpm, 0, n, bounds));
+        assertArrayEquals(ZoneHistogram.timeInZonesScalar(ts, bpm, 3, n - 5, bounds),
+                ZoneHistogram.timeInZones(ts, bpm, 3, n - 5, bounds));
+    }
+}